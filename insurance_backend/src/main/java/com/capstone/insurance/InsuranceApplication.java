@@ -27,12 +27,17 @@ public class InsuranceApplication {
                                 PasswordEncoder passwordEncoder) {
         return args -> {
             LocalDateTime now = LocalDateTime.now();
-            
+            boolean createAdmin = !userRepository.existsByUsername("admin@exe.in");
+            boolean createCustomer = !userRepository.existsByUsername("customer@exe.in");
+
+            // Both seeded accounts share a password; hash it once, and only if something is missing
+            String seededPassword = createAdmin || createCustomer ? passwordEncoder.encode("Admin@123") : null;
+
             // Create admin user
-            if (!userRepository.existsByUsername("admin@exe.in")) {
+            if (createAdmin) {
                 User admin = User.builder()
                         .username("admin@exe.in")
-                        .password(passwordEncoder.encode("Admin@123"))
+                        .password(seededPassword)
                         .role(Role.ADMIN)
                         .enabled(true)
                         .createdAt(now)
@@ -43,10 +48,10 @@ public class InsuranceApplication {
             }
 
             // Create customer user and customer record
-            if (!userRepository.existsByUsername("customer@exe.in")) {
+            if (createCustomer) {
                 User customerUser = User.builder()
                         .username("customer@exe.in")
-                        .password(passwordEncoder.encode("Admin@123"))
+                        .password(seededPassword)
                         .role(Role.CUSTOMER)
                         .enabled(true)
                         .createdAt(now)
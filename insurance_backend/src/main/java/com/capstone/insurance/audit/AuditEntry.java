@@ -0,0 +1,15 @@
+package com.capstone.insurance.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit event as stored in the journal, mirroring the columns of activity_logs.
+ */
+public record AuditEntry(Long userId,
+                         String actionType,
+                         String details,
+                         Long claimId,
+                         String oldStatus,
+                         String newStatus,
+                         LocalDateTime createdAt) {
+}
@@ -0,0 +1,500 @@
+package com.capstone.insurance.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only audit journal on local disk.
+ *
+ * Records are copied into a memory-mapped segment file; a background flusher forces the
+ * mapping to disk every flush-interval-ms, so all records appended in that window share one
+ * fsync (group commit). Because the mapping lives in the OS page cache, a JVM crash loses
+ * nothing already appended; an OS crash or power loss can lose at most the last interval.
+ *
+ * Each record carries SHA-256(previous hash, sequence, payload), so editing, removing or
+ * reordering a record breaks the chain from that point on. Segments roll over when full and
+ * start with a header holding their first sequence and the hash they continue from, which
+ * keeps each one verifiable after older segments are deleted.
+ *
+ * Segment layout: magic (4) | first sequence (8) | previous hash (32), then records of
+ * payload length (4) | sequence (8) | hash (32) | payload. A zero length ends the data.
+ *
+ * Appends hold the journal's monitor only while copying into the mapping. Readers (read, verify,
+ * segment cleanup) take their own lock, snapshot the last appended sequence and the segment being
+ * written under the monitor, and do their file I/O and hashing outside it, so they never stall
+ * appends.
+ */
+@Slf4j
+@Component
+public class AuditJournal {
+
+    private static final int MAGIC = 0x41554454; // "AUDT"
+    private static final int HASH_SIZE = 32;
+    private static final int HEADER_SIZE = 4 + 8 + HASH_SIZE;
+    private static final int RECORD_OVERHEAD = 4 + 8 + HASH_SIZE;
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    public record Record(long sequence, byte[] payload) {
+    }
+
+    /**
+     * Result of checking the chain across all retained segments.
+     *
+     * @param problem null when every record verified
+     */
+    public record Verification(int segments, long firstSequence, long lastSequence, String problem) {
+    }
+
+    private record SegmentScan(long firstSequence, long lastSequence, byte[] lastHash,
+                               int endPosition, String problem) {
+    }
+
+    // Where the previous read stopped, so the replayer does not rescan a segment from the start
+    private record ReadPosition(Path segment, long position, long nextSequence, byte[] previousHash) {
+    }
+
+    // What a reader may look at: records up to lastSequence, in segments up to lastSegment
+    private record Snapshot(long lastSequence, Path lastSegment) {
+    }
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentSize;
+    private final long flushIntervalMs;
+
+    // Guarded by this
+    private FileChannel channel;
+    private Path currentSegment;
+    private MappedByteBuffer buffer;
+    private long nextSequence = 1;
+    private byte[] lastHash = new byte[HASH_SIZE];
+    private final MessageDigest digest = sha256();
+
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flusher;
+
+    // Serializes readers; never taken while holding the monitor
+    private final Object readLock = new Object();
+    // Guarded by readLock
+    private ReadPosition readPosition;
+
+    public AuditJournal(@Value("${app.audit.journal-enabled:true}") boolean enabled,
+                        @Value("${app.audit.journal-dir:./data/audit-journal}") String dir,
+                        @Value("${app.audit.segment-size-bytes:16777216}") int segmentSize,
+                        @Value("${app.audit.flush-interval-ms:50}") long flushIntervalMs) {
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentSize = segmentSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        List<Path> segments = listSegments();
+
+        // A segment whose header never reached the disk holds no records
+        while (!segments.isEmpty() && !hasHeader(segments.get(segments.size() - 1))) {
+            Files.delete(segments.remove(segments.size() - 1));
+        }
+
+        if (segments.isEmpty()) {
+            startSegment();
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            SegmentScan scan = scanSegment(last, null, null, Long.MAX_VALUE);
+            channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            currentSegment = last;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (scan.problem() != null) {
+                // Only the tail of the newest segment can be torn; clear it and continue after the last good record
+                log.warn("Audit journal {} ends with a damaged record ({}); continuing after sequence {}",
+                        last.getFileName(), scan.problem(), scan.lastSequence());
+                for (int i = scan.endPosition(); i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+            }
+            buffer.position(scan.endPosition());
+            nextSequence = scan.lastSequence() + 1;
+            lastHash = scan.lastHash();
+        }
+        appendedSequence = nextSequence - 1;
+        durableSequence = appendedSequence;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "audit-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Audit journal opened at {} (next sequence {})", dir.toAbsolutePath(), nextSequence);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends a record and returns its sequence. The record is durable after the next flush.
+     */
+    public long append(byte[] payload) {
+        if (!enabled) {
+            throw new IllegalStateException("Audit journal is disabled");
+        }
+        if (HEADER_SIZE + RECORD_OVERHEAD + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Audit record of " + payload.length + " bytes exceeds the segment size");
+        }
+        synchronized (this) {
+            if (buffer.remaining() < RECORD_OVERHEAD + payload.length) {
+                rollSegment();
+            }
+            long sequence = nextSequence;
+            byte[] hash = chainHash(digest, lastHash, sequence, payload);
+            int start = buffer.position();
+            buffer.position(start + 4);
+            buffer.putLong(sequence).put(hash).put(payload);
+            // Length last: a reader that sees it non-zero sees the whole record
+            buffer.putInt(start, payload.length);
+
+            nextSequence = sequence + 1;
+            lastHash = hash;
+            appendedSequence = sequence;
+            return sequence;
+        }
+    }
+
+    /** Forces everything appended so far to disk. */
+    public void flush() {
+        synchronized (flushLock) {
+            MappedByteBuffer target;
+            long sequence;
+            synchronized (this) {
+                target = buffer;
+                sequence = appendedSequence;
+            }
+            if (sequence > durableSequence) {
+                target.force();
+                durableSequence = sequence;
+            }
+        }
+    }
+
+    public long appendedSequence() {
+        return appendedSequence;
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Reads up to {@code max} records starting at {@code fromSequence}, verifying the chain as it
+     * goes. Records missing from disk (older segments deleted) are skipped.
+     *
+     * @throws IllegalStateException if a record does not match its hash
+     */
+    public List<Record> read(long fromSequence, int max) throws IOException {
+        List<Record> result = new ArrayList<>();
+        if (!enabled) {
+            return result;
+        }
+        synchronized (readLock) {
+            Snapshot snapshot = snapshot();
+            if (fromSequence > snapshot.lastSequence()) {
+                return result;
+            }
+            return readFrom(fromSequence, max, snapshot, result);
+        }
+    }
+
+    // Caller holds readLock
+    private List<Record> readFrom(long fromSequence, int max, Snapshot snapshot, List<Record> result)
+            throws IOException {
+        long upTo = snapshot.lastSequence();
+        List<Path> segments = segmentsUpTo(snapshot.lastSegment());
+        int index = 0;
+        ReadPosition position = readPosition;
+        if (position == null || position.nextSequence() != fromSequence || !segments.contains(position.segment())) {
+            position = null;
+            for (int i = 0; i < segments.size(); i++) {
+                if (firstSequenceOf(segments.get(i)) <= fromSequence) {
+                    index = i;
+                }
+            }
+        } else {
+            index = segments.indexOf(position.segment());
+        }
+
+        for (; index < segments.size() && result.size() < max; index++) {
+            Path segment = segments.get(index);
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                long offset;
+                long expected;
+                byte[] previous;
+                if (position != null && position.segment().equals(segment)) {
+                    offset = position.position();
+                    expected = position.nextSequence();
+                    previous = position.previousHash();
+                } else {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                    in.read(header, 0);
+                    header.flip();
+                    header.getInt();
+                    expected = header.getLong();
+                    previous = new byte[HASH_SIZE];
+                    header.get(previous);
+                    offset = HEADER_SIZE;
+                }
+
+                DataInputStream data = new DataInputStream(new BufferedInputStream(
+                        Channels.newInputStream(in.position(offset)), 64 * 1024));
+                MessageDigest readDigest = sha256();
+                while (result.size() < max && expected <= upTo && offset + RECORD_OVERHEAD <= in.size()) {
+                    int length = data.readInt();
+                    if (length == 0) {
+                        break;
+                    }
+                    long sequence = data.readLong();
+                    byte[] hash = data.readNBytes(HASH_SIZE);
+                    byte[] payload = data.readNBytes(length);
+                    if (sequence != expected || !Arrays.equals(hash, chainHash(readDigest, previous, sequence, payload))) {
+                        throw new IllegalStateException("Audit journal record " + expected + " in "
+                                + segment.getFileName() + " does not match its hash");
+                    }
+                    if (sequence >= fromSequence) {
+                        result.add(new Record(sequence, payload));
+                    }
+                    offset += RECORD_OVERHEAD + length;
+                    previous = hash;
+                    expected++;
+                }
+                position = new ReadPosition(segment, offset, expected, previous);
+            }
+        }
+        readPosition = position;
+        return result;
+    }
+
+    /** Checks every retained segment and the links between them, up to the last appended record. */
+    public Verification verify() throws IOException {
+        if (!enabled) {
+            return new Verification(0, 0, 0, "Audit journal is disabled");
+        }
+        synchronized (readLock) {
+            Snapshot snapshot = snapshot();
+            List<Path> segments = segmentsUpTo(snapshot.lastSegment());
+            long first = 0;
+            long last = 0;
+            Long expected = null;
+            byte[] previous = null;
+            for (Path segment : segments) {
+                SegmentScan scan = scanSegment(segment, expected, previous, snapshot.lastSequence());
+                if (first == 0) {
+                    first = scan.firstSequence();
+                }
+                if (scan.problem() != null) {
+                    return new Verification(segments.size(), first, scan.lastSequence(),
+                            segment.getFileName() + ": " + scan.problem());
+                }
+                last = scan.lastSequence();
+                expected = last + 1;
+                previous = scan.lastHash();
+            }
+            return new Verification(segments.size(), first, last, null);
+        }
+    }
+
+    /**
+     * Deletes segments whose records have all been replayed, keeping the newest {@code retain}
+     * of them. The segment being written is never deleted.
+     */
+    public int deleteReplayedSegments(long replayedSequence, int retain) throws IOException {
+        synchronized (readLock) {
+            List<Path> segments = segmentsUpTo(snapshot().lastSegment());
+            List<Path> replayed = new ArrayList<>();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstSequenceOf(segments.get(i + 1)) - 1 <= replayedSequence) {
+                    replayed.add(segments.get(i));
+                }
+            }
+            int deleted = 0;
+            for (int i = 0; i < replayed.size() - retain; i++) {
+                Files.delete(replayed.get(i));
+                deleted++;
+            }
+            return deleted;
+        }
+    }
+
+    private synchronized Snapshot snapshot() {
+        return new Snapshot(appendedSequence, currentSegment);
+    }
+
+    // Segments that existed when the snapshot was taken; later ones hold only newer records
+    private List<Path> segmentsUpTo(Path lastSegment) throws IOException {
+        List<Path> segments = listSegments();
+        segments.removeIf(segment -> segment.compareTo(lastSegment) > 0);
+        return segments;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Audit journal flush failed", ex);
+        }
+    }
+
+    // Caller holds the lock
+    private void rollSegment() {
+        buffer.force();
+        durableSequence = appendedSequence;
+        try {
+            channel.close();
+            startSegment();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not start a new audit journal segment", ex);
+        }
+    }
+
+    private void startSegment() throws IOException {
+        Path segment = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        currentSegment = segment;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.putInt(MAGIC).putLong(nextSequence).put(lastHash);
+        buffer.force();
+    }
+
+    /**
+     * Walks one segment, stopping after {@code lastSequence}. When {@code expectedFirst}/{@code expectedHash}
+     * are given, the header must continue from them.
+     */
+    private SegmentScan scanSegment(Path segment, Long expectedFirst, byte[] expectedHash, long lastSequence)
+            throws IOException {
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (data.capacity() < HEADER_SIZE || data.getInt() != MAGIC) {
+                return new SegmentScan(0, 0, new byte[HASH_SIZE], 0, "missing segment header");
+            }
+            long first = data.getLong();
+            byte[] previous = new byte[HASH_SIZE];
+            data.get(previous);
+            if (expectedFirst != null && (first != expectedFirst || !Arrays.equals(previous, expectedHash))) {
+                return new SegmentScan(first, first - 1, previous, HEADER_SIZE,
+                        "does not continue from sequence " + (expectedFirst - 1));
+            }
+
+            MessageDigest scanDigest = sha256();
+            long expected = first;
+            int end = data.position();
+            while (expected <= lastSequence && data.remaining() >= RECORD_OVERHEAD) {
+                int start = data.position();
+                int length = data.getInt();
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || length > data.remaining() - RECORD_OVERHEAD + 4) {
+                    return new SegmentScan(first, expected - 1, previous, start, "record " + expected + " is truncated");
+                }
+                long sequence = data.getLong();
+                byte[] hash = new byte[HASH_SIZE];
+                data.get(hash);
+                byte[] payload = new byte[length];
+                data.get(payload);
+                if (sequence != expected || !Arrays.equals(hash, chainHash(scanDigest, previous, sequence, payload))) {
+                    return new SegmentScan(first, expected - 1, previous, start,
+                            "record " + expected + " does not match its hash");
+                }
+                previous = hash;
+                expected++;
+                end = data.position();
+            }
+            return new SegmentScan(first, expected - 1, previous, end, null);
+        }
+    }
+
+    private boolean hasHeader(Path segment) throws IOException {
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            return in.read(magic, 0) == 4 && magic.flip().getInt() == MAGIC;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] chainHash(MessageDigest digest, byte[] previous, long sequence, byte[] payload) {
+        digest.reset();
+        digest.update(previous);
+        digest.update(ByteBuffer.allocate(8).putLong(0, sequence).array());
+        digest.update(payload);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
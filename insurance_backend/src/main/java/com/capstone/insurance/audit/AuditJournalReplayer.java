@@ -0,0 +1,160 @@
+package com.capstone.insurance.audit;
+
+import com.capstone.insurance.entities.BatchCheckpoint;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import com.capstone.insurance.repositories.BatchCheckpointRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads journal records into activity_logs in sequence order.
+ *
+ * Each batch is inserted with one JDBC batch and the replayed sequence is stored in the
+ * batch_checkpoints row in the same transaction, so a crash between batches neither loses
+ * nor duplicates rows. Records for users that no longer exist are skipped.
+ */
+@Slf4j
+@Component
+public class AuditJournalReplayer {
+
+    static final String JOB_NAME = "audit-journal-replay";
+
+    private static final String INSERT_SQL = "insert into activity_logs "
+            + "(user_id, action_type, details, claim_id, old_status, new_status, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AuditJournal journal;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final UserRepository userRepository;
+
+    private volatile long replayedSequence = -1;
+
+    @Value("${app.audit.replay-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.audit.retained-segments:2}")
+    private int retainedSegments = 2;
+
+    public AuditJournalReplayer(AuditJournal journal,
+                                ObjectMapper objectMapper,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                BatchCheckpointRepository checkpointRepository,
+                                UserRepository userRepository,
+                                MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.userRepository = userRepository;
+        Gauge.builder("audit.journal.replay.lag", this,
+                        replayer -> Math.max(0, replayer.journal.appendedSequence() - replayer.replayedSequence))
+                .description("Journal records not yet loaded into activity_logs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays everything appended so far and returns the number of records read.
+     */
+    public synchronized long replay() throws IOException {
+        if (!journal.isEnabled()) {
+            return 0;
+        }
+        long from = replayedSequence() + 1;
+        long total = 0;
+        List<AuditJournal.Record> records;
+        while (!(records = journal.read(from, batchSize)).isEmpty()) {
+            List<AuditJournal.Record> batch = records;
+            long last = batch.get(batch.size() - 1).sequence();
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(batch);
+                saveCheckpoint(last, batch.size());
+            });
+            replayedSequence = last;
+            total += batch.size();
+            from = last + 1;
+        }
+
+        int deleted = journal.deleteReplayedSegments(replayedSequence, retainedSegments);
+        if (deleted > 0) {
+            log.info("Deleted {} replayed audit journal segments", deleted);
+        }
+        return total;
+    }
+
+    public long replayedSequence() {
+        if (replayedSequence < 0) {
+            long stored = checkpointRepository.findById(JOB_NAME)
+                    .map(BatchCheckpoint::getLastKey)
+                    .map(Long::parseLong)
+                    .orElse(0L);
+            if (stored > journal.appendedSequence()) {
+                // The journal directory was replaced; its sequences start over
+                log.warn("Audit journal ends at {} but replay checkpoint is at {}; replaying from the start",
+                        journal.appendedSequence(), stored);
+                stored = 0;
+            }
+            replayedSequence = stored;
+        }
+        return replayedSequence;
+    }
+
+    private void insert(List<AuditJournal.Record> records) {
+        List<AuditEntry> entries = new ArrayList<>(records.size());
+        Set<Long> userIds = new HashSet<>();
+        for (AuditJournal.Record record : records) {
+            try {
+                AuditEntry entry = objectMapper.readValue(record.payload(), AuditEntry.class);
+                entries.add(entry);
+                userIds.add(entry.userId());
+            } catch (IOException ex) {
+                log.error("Skipping unreadable audit journal record {}", record.sequence(), ex);
+            }
+        }
+
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(userIds));
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            if (!existing.contains(entry.userId())) {
+                log.warn("Skipping audit entry {} for unknown user {}", entry.actionType(), entry.userId());
+                continue;
+            }
+            rows.add(new Object[]{entry.userId(), entry.actionType(), entry.details(), entry.claimId(),
+                    entry.oldStatus(), entry.newStatus(), entry.createdAt(), entry.createdAt()});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private void saveCheckpoint(long sequence, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> BatchCheckpoint.builder().jobName(JOB_NAME).startedAt(now).build());
+        checkpoint.setRunDate(LocalDate.now());
+        checkpoint.setStatus(BatchJobStatus.RUNNING);
+        checkpoint.setLastKey(Long.toString(sequence));
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + count);
+        checkpoint.setChunkCount(checkpoint.getChunkCount() + 1);
+        checkpointRepository.save(checkpoint);
+    }
+}
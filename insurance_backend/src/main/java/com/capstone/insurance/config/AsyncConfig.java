@@ -0,0 +1,81 @@
+package com.capstone.insurance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Long-running admin jobs (bulk assignment, imports) run here, off the request threads.
+    // They mostly wait on JDBC, so in virtual-thread mode they run on virtual threads; the job
+    // limit and queue stay the same. The password pools below are CPU-bound and stay as they are.
+    @Bean(name = "bulkTaskExecutor")
+    public ThreadPoolTaskExecutor bulkTaskExecutor(
+            @Value("${app.bulk.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${app.bulk.queue-capacity:20}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setThreadNamePrefix("bulk-");
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is CPU-bound; imports hash on this pool so they cannot take every core from request threads.
+    // When the queue is full the submitting job thread hashes itself, which throttles it.
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${app.customer-import.hash-threads:0}") int hashThreads) {
+        int threads = hashThreads > 0
+                ? hashThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("pwhash-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Password checks for logins. Sized to the CPU with a short queue and no caller-runs fallback:
+    // when it is full, logins are turned away with 503 instead of tying up request threads.
+    @Bean(name = "loginPasswordExecutor")
+    public ThreadPoolTaskExecutor loginPasswordExecutor(
+            @Value("${app.auth.password-threads:0}") int passwordThreads,
+            @Value("${app.auth.password-queue-capacity:32}") int queueCapacity) {
+        int threads = passwordThreads > 0 ? passwordThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-pw-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Re-encodes outdated hashes after successful logins. One low-priority thread is enough since
+    // each user is upgraded once; when the queue is full the upgrade is skipped until a later login.
+    @Bean(name = "passwordUpgradeExecutor")
+    public ThreadPoolTaskExecutor passwordUpgradeExecutor(
+            @Value("${app.auth.upgrade-queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("pw-upgrade-");
+        executor.initialize();
+        return executor;
+    }
+}
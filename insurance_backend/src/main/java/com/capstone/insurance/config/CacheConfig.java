@@ -0,0 +1,28 @@
+package com.capstone.insurance.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // "My policies" result per user id, evicted on assignment and policy changes
+    public static final String CUSTOMER_POLICIES = "customerPolicies";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.customer-policies-spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CUSTOMER_POLICIES);
+        cacheManager.setCaffeine(Caffeine.from(spec));
+        // Evictions from inside a transaction wait for its commit, so a read in between cannot
+        // cache the rows it is about to replace
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -35,7 +35,7 @@ public class CorsConfig {
         config.setAllowCredentials(true);
 
         // Expose headers that frontend might need
-        config.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of("Authorization", "Content-Type", "Server-Timing"));
 
         // Cache preflight response for 1 hour
         config.setMaxAge(3600L);
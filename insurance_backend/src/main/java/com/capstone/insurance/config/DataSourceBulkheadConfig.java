@@ -0,0 +1,67 @@
+package com.capstone.insurance.config;
+
+import com.capstone.insurance.datasource.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link BulkheadDataSource} in front of the Hikari pool. Permits default to the pool's
+ * maximum size, so the bulkhead only changes how callers wait, not how many connections exist.
+ * Data sources that are not Hikari (embedded test databases) are left alone.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceBulkheadConfig {
+
+    // Runs before post-processors that wrap the pool further, such as read/write routing
+    static final int ORDER = 0;
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    // Static so the post-processor does not pull this configuration into early initialization
+    @Bean
+    static BeanPostProcessor dataSourceBulkheadPostProcessor(Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BulkheadPostProcessor(environment, meterRegistry);
+    }
+
+    private record BulkheadPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int configuredPermits = environment.getProperty("app.db.bulkhead.permits", Integer.class, 0);
+            int permits = configuredPermits > 0 ? configuredPermits : poolSize(hikari);
+            int maxWaiting = environment.getProperty("app.db.bulkhead.max-waiting", Integer.class, 500);
+            Duration acquireTimeout = Duration.ofMillis(
+                    environment.getProperty("app.db.bulkhead.acquire-timeout-ms", Long.class, 5000L));
+            log.info("Connection bulkhead on {}: {} permits, up to {} waiting for {} ms",
+                    beanName, permits, maxWaiting, acquireTimeout.toMillis());
+            return new BulkheadDataSource(hikari, permits, maxWaiting, acquireTimeout, meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+
+    // Hikari reports -1 until the pool starts when no size is configured, then uses its default of 10
+    private static int poolSize(HikariDataSource hikari) {
+        return hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,105 @@
+package com.capstone.insurance.config;
+
+import com.capstone.insurance.datasource.ReadWriteRoutingDataSource;
+import com.capstone.insurance.datasource.ReplicaReadDataSource;
+import com.capstone.insurance.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas when
+ * app.db.replicas.urls lists any; everything else stays on the primary.
+ *
+ * The primary data source is wrapped in a {@link ReadWriteRoutingDataSource} behind a
+ * {@link LazyConnectionDataSourceProxy}, so the choice is made at the first statement, once the
+ * transaction is known to be read-only. Read-only transactions go through
+ * {@link ReplicaReadDataSource}. Hibernate has to give the connection back at the end of every
+ * transaction, because open session in view otherwise keeps a request's first connection for
+ * all of its transactions.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("!'${app.db.replicas.urls:}'.isBlank()")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    ReplicaSet replicaSet(@Value("${app.db.replicas.urls}") String urls,
+                          @Value("${app.db.replicas.username:${spring.datasource.username:}}") String username,
+                          @Value("${app.db.replicas.password:${spring.datasource.password:}}") String password,
+                          @Value("${app.db.replicas.pool-size:10}") int poolSize,
+                          @Value("${app.db.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                          @Value("${app.db.replicas.max-lag-seconds:5}") long maxLagSeconds,
+                          @Value("${app.db.replicas.lag-query:}") String lagQuery,
+                          MeterRegistry meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // A replica that is down or saturated should send reads to the primary quickly
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            // Start even when a replica is down; the health check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+            pools.put(pool.getPoolName(), pool);
+        }
+        log.info("Read-only transactions routed to {} replica(s), up to {} s behind the primary",
+                pools.size(), maxLagSeconds);
+        return new ReplicaSet(pools, Duration.ofSeconds(maxLagSeconds), lagQuery, meterRegistry);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    static BeanPostProcessor readWriteRoutingPostProcessor(ObjectProvider<ReplicaSet> replicaSet,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RoutingPostProcessor(replicaSet, meterRegistry);
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<ReplicaSet> replicaSet, ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!beanName.equals("dataSource") || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            DataSource reads = new ReplicaReadDataSource(replicaSet.getObject(), primary, meterRegistry.getObject());
+            return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, reads));
+        }
+
+        // Wraps the pool after the connection bulkhead has, so primary connections still pass through it
+        @Override
+        public int getOrder() {
+            return DataSourceBulkheadConfig.ORDER + 1;
+        }
+    }
+}
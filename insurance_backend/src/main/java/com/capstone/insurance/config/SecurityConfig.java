@@ -1,8 +1,13 @@
 package com.capstone.insurance.config;
 
+import com.capstone.insurance.security.BCryptCostCalibrator;
 import com.capstone.insurance.security.CustomUserDetailsService;
+import com.capstone.insurance.security.TimedPasswordEncoder;
 import com.capstone.insurance.security.jwt.JwtAuthenticationFilter;
+import com.capstone.insurance.security.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,9 +17,17 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.Map;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 @Configuration
 @EnableMethodSecurity
@@ -23,17 +36,35 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
+    /**
+     * Hashes are stored as {bcrypt}$2a$&lt;cost&gt;$..., so each records its algorithm and cost.
+     * The cost is calibrated at startup to app.password.target-ms unless app.password.cost is
+     * set. Hashes from before the prefix, or with a lower cost, are upgraded on the next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password.cost:0}") int fixedCost,
+            @Value("${app.password.target-ms:250}") long targetMs,
+            @Value("${app.password.min-cost:10}") int minCost,
+            @Value("${app.password.max-cost:14}") int maxCost,
+            MeterRegistry meterRegistry) {
+        int cost = fixedCost > 0
+                ? fixedCost
+                : BCryptCostCalibrator.calibrate(Duration.ofMillis(targetMs), minCost, maxCost);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes written before the prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -43,8 +74,22 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Actuator endpoints are served on management.server.port. Only scrapes arriving on that port
+     * reach the Prometheus endpoint without a token, so it stays private if that port is unset
+     * or ends up equal to the public one.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   DaoAuthenticationProvider authenticationProvider,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort)
+            throws Exception {
+
+        RequestMatcher prometheusScrape = new AndRequestMatcher(
+                AntPathRequestMatcher.antMatcher("/actuator/prometheus"),
+                request -> managementPort > 0 && managementPort != serverPort
+                        && request.getLocalPort() == managementPort);
 
         http
             .cors(withDefaults())
@@ -54,14 +99,20 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers(
                             "/api/auth/**",
+                            "/actuator/health",
                             "/v3/api-docs/**",
                             "/swagger-ui.html",
                             "/swagger-ui/**"
                     ).permitAll()
+                    .requestMatchers(prometheusScrape).permitAll()
+                    // Profiling and any other actuator endpoint beyond health and metrics
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // After JWT authentication so the limiter knows the user and role
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
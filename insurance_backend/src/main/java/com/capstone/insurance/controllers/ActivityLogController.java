@@ -1,15 +1,25 @@
 package com.capstone.insurance.controllers;
 
+import com.capstone.insurance.dto.activity.ActivityArchiveReport;
+import com.capstone.insurance.dto.activity.ActivityArchiveSegmentDto;
 import com.capstone.insurance.dto.activity.ActivityLogCreateRequest;
 import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.activity.ActivityLogSearchCriteria;
+import com.capstone.insurance.dto.activity.AuditJournalStatusDto;
+import com.capstone.insurance.dto.common.CursorPage;
 import com.capstone.insurance.dto.common.PaginatedResponse;
+import com.capstone.insurance.services.ActivityLogArchiveService;
 import com.capstone.insurance.services.ActivityLogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/api/admin/activity-logs")
@@ -17,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 public class ActivityLogController {
 
     private final ActivityLogService activityLogService;
+    private final ActivityLogArchiveService activityLogArchiveService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
@@ -25,11 +36,50 @@ public class ActivityLogController {
         return ResponseEntity.ok(activityLogService.getAllActivityLogsPaginated(page));
     }
 
+    // Filtered, newest-first listing; pass nextCursor back as cursor for the next page
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ActivityLogDto>> searchActivityLogs(
+            @ModelAttribute ActivityLogSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(activityLogService.searchActivityLogs(criteria, cursor, size));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<ActivityLogDto> createActivityLog(
             @Valid @RequestBody ActivityLogCreateRequest request) {
         return ResponseEntity.ok(activityLogService.createActivityLog(request));
     }
-}
 
+    // Read-only scan of one archived month; pass nextCursor back as cursor for the next page
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/archive")
+    public ResponseEntity<CursorPage<ActivityLogDto>> scanArchive(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(activityLogArchiveService.scanArchive(month, actionType, userId, cursor, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/archive/segments")
+    public ResponseEntity<List<ActivityArchiveSegmentDto>> listArchiveSegments() {
+        return ResponseEntity.ok(activityLogArchiveService.listSegments());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/archive/run")
+    public ResponseEntity<ActivityArchiveReport> runArchive() {
+        return ResponseEntity.ok(activityLogArchiveService.archiveExpired());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/journal")
+    public ResponseEntity<AuditJournalStatusDto> getJournalStatus() {
+        return ResponseEntity.ok(activityLogService.getJournalStatus());
+    }
+}
@@ -1,23 +1,20 @@
 package com.capstone.insurance.controllers;
 
 import com.capstone.insurance.dto.auth.AuthResponse;
+import com.capstone.insurance.dto.auth.IssuedRefreshToken;
 import com.capstone.insurance.dto.auth.LoginRequest;
 import com.capstone.insurance.dto.auth.RefreshTokenRequest;
-import com.capstone.insurance.entities.Customer;
-import com.capstone.insurance.entities.RefreshToken;
 import com.capstone.insurance.entities.User;
-import com.capstone.insurance.repositories.CustomerRepository;
-import com.capstone.insurance.repositories.UserRepository;
 import com.capstone.insurance.security.CustomUserDetailsService;
 import com.capstone.insurance.security.jwt.JwtTokenProvider;
 import com.capstone.insurance.security.model.UserPrincipal;
+import com.capstone.insurance.services.AuthService;
 import com.capstone.insurance.services.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -28,10 +25,8 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final AuthService authService;
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
-    private final CustomerRepository customerRepository;
     private final RefreshTokenService refreshTokenService;
     private final CustomUserDetailsService customUserDetailsService;
 
@@ -40,49 +35,26 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request,
             HttpServletResponse httpResponse) {
 
-        Authentication authentication;
-        try {
-            authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
-                    )
-            );
-        } catch (BadCredentialsException ex) {
-            throw new BadCredentialsException("Invalid username or password");
-        }
-
-        String accessToken = jwtTokenProvider.generateToken(authentication);
+        // Resolves the user (by username or customer email) once and checks the password
+        UserPrincipal principal = authService.authenticate(request.getUsername(), request.getPassword());
 
-        // Find user by username or email
-        // The authentication already succeeded, so we need to find the user
-        // Try username first, then email (for customers)
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElse(null);
-        
-        // If not found by username, try to find by email (for customers)
-        if (user == null) {
-            Customer customer = customerRepository.findByEmail(request.getUsername())
-                    .orElseThrow(() -> new BadCredentialsException("User not found"));
-            user = customer.getUser();
-        }
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
 
-        // Create refresh token
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
+        String accessToken = jwtTokenProvider.generateToken(authentication);
 
-        // Set refresh token in HTTP-only cookie
-        Cookie refreshTokenCookie = new Cookie("refreshToken", refreshToken.getToken());
-        refreshTokenCookie.setHttpOnly(true);
-        refreshTokenCookie.setSecure(false); // Set to true in production with HTTPS
-        refreshTokenCookie.setPath("/");
-        refreshTokenCookie.setMaxAge(7 * 24 * 60 * 60); // 7 days in seconds
-        httpResponse.addCookie(refreshTokenCookie);
+        // Create refresh token and set it in an HTTP-only cookie
+        IssuedRefreshToken refreshToken = refreshTokenService.createRefreshToken(principal.getId());
+        addRefreshTokenCookie(httpResponse, refreshToken);
 
         AuthResponse response = new AuthResponse(
                 accessToken,
-                user.getUsername(),
-                user.getRole().name(),
-                user.getId()
+                principal.getUsername(),
+                principal.getRole().name(),
+                principal.getId()
         );
 
         return ResponseEntity.ok(response);
@@ -91,7 +63,8 @@ public class AuthController {
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refreshToken(
             @CookieValue(value = "refreshToken", required = false) String refreshToken,
-            @RequestBody(required = false) RefreshTokenRequest request) {
+            @RequestBody(required = false) RefreshTokenRequest request,
+            HttpServletResponse httpResponse) {
 
         // Try to get refresh token from cookie first, then from request body
         String token = refreshToken != null ? refreshToken : 
@@ -101,15 +74,15 @@ public class AuthController {
             throw new BadCredentialsException("Refresh token is required");
         }
 
-        // Verify and get refresh token
-        RefreshToken refreshTokenEntity = refreshTokenService.verifyExpiration(
-                refreshTokenService.findByToken(token)
-        );
+        // Verify the refresh token and replace it with a new one; the old one stops working.
+        // Disabled accounts are rejected before anything is rotated.
+        IssuedRefreshToken rotated = refreshTokenService.rotate(token);
+
+        // rotate already loaded the user and checked it is enabled
+        User user = rotated.getUser();
+        UserPrincipal userPrincipal = customUserDetailsService.principalFor(user);
+        addRefreshTokenCookie(httpResponse, rotated);
 
-        // Get user and generate new access token
-        User user = refreshTokenEntity.getUser();
-        UserPrincipal userPrincipal = (UserPrincipal) customUserDetailsService.loadUserByUsername(user.getUsername());
-        
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userPrincipal,
                 null,
@@ -134,12 +107,8 @@ public class AuthController {
             HttpServletResponse httpResponse) {
 
         if (refreshToken != null && !refreshToken.isEmpty()) {
-            try {
-                RefreshToken token = refreshTokenService.findByToken(refreshToken);
-                refreshTokenService.deleteByUserId(token.getUser().getId());
-            } catch (Exception e) {
-                // Token might already be deleted, ignore
-            }
+            // Deletes nothing when the token was already rotated or removed
+            refreshTokenService.revoke(refreshToken);
         }
 
         // Clear refresh token cookie
@@ -152,4 +121,13 @@ public class AuthController {
 
         return ResponseEntity.ok().build();
     }
+
+    private void addRefreshTokenCookie(HttpServletResponse httpResponse, IssuedRefreshToken refreshToken) {
+        Cookie refreshTokenCookie = new Cookie("refreshToken", refreshToken.getToken());
+        refreshTokenCookie.setHttpOnly(true);
+        refreshTokenCookie.setSecure(false); // Set to true in production with HTTPS
+        refreshTokenCookie.setPath("/");
+        refreshTokenCookie.setMaxAge(7 * 24 * 60 * 60); // 7 days in seconds
+        httpResponse.addCookie(refreshTokenCookie);
+    }
 }
@@ -3,13 +3,21 @@ package com.capstone.insurance.controllers;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.customer.CustomerCreateRequest;
 import com.capstone.insurance.dto.customer.CustomerDto;
+import com.capstone.insurance.dto.customer.CustomerImportJobDto;
+import com.capstone.insurance.dto.customer.CustomerOverviewDto;
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
 import com.capstone.insurance.dto.customer.CustomerUpdateRequest;
+import com.capstone.insurance.services.CustomerImportService;
 import com.capstone.insurance.services.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 
 @RestController
@@ -18,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -33,12 +42,38 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getAllCustomersPaginated(page));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CustomerImportJobDto> importCustomers(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(customerImportService.startImport(file));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<CustomerImportJobDto> getImportJob(@PathVariable java.util.UUID jobId) {
+        return ResponseEntity.ok(customerImportService.getJob(jobId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CustomerSuggestionDto>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(customerService.suggestCustomers(q, limit));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDto> getCustomerById(@PathVariable java.util.UUID id) {
         return ResponseEntity.ok(customerService.getCustomerById(id));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<CustomerOverviewDto> getCustomerOverview(@PathVariable java.util.UUID id) {
+        return ResponseEntity.ok(customerService.getCustomerOverview(id));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<CustomerDto> updateCustomer(
@@ -1,9 +1,15 @@
 package com.capstone.insurance.controllers;
 
+import com.capstone.insurance.dto.batch.BatchRunReport;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.policy.AssignPolicyRequest;
+import com.capstone.insurance.dto.policy.BulkAssignPolicyRequest;
+import com.capstone.insurance.dto.policy.BulkAssignmentJobDto;
 import com.capstone.insurance.dto.policy.PolicyCreateRequest;
 import com.capstone.insurance.dto.policy.PolicyDto;
+import com.capstone.insurance.dto.policy.PolicySearchCriteria;
+import com.capstone.insurance.services.BulkPolicyAssignmentService;
+import com.capstone.insurance.services.PolicyLifecycleService;
 import com.capstone.insurance.services.PolicyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 public class PolicyController {
 
     private final PolicyService policyService;
+    private final PolicyLifecycleService policyLifecycleService;
+    private final BulkPolicyAssignmentService bulkPolicyAssignmentService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -32,6 +40,15 @@ public class PolicyController {
         return ResponseEntity.ok(policyService.getAllPoliciesPaginated(page));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<PaginatedResponse<PolicyDto>> searchPolicies(
+            @ModelAttribute PolicySearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(policyService.searchPolicies(criteria, page, size));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<PolicyDto> getPolicyById(@PathVariable java.util.UUID id) {
@@ -55,4 +72,28 @@ public class PolicyController {
         return ResponseEntity.ok().build();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk-assign")
+    public ResponseEntity<BulkAssignmentJobDto> bulkAssignPolicy(
+            @Valid @RequestBody BulkAssignPolicyRequest request) {
+        return ResponseEntity.accepted().body(bulkPolicyAssignmentService.startBulkAssignment(request));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/bulk-assign/{jobId}")
+    public ResponseEntity<BulkAssignmentJobDto> getBulkAssignmentJob(@PathVariable java.util.UUID jobId) {
+        return ResponseEntity.ok(bulkPolicyAssignmentService.getJob(jobId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/lifecycle/expire")
+    public ResponseEntity<BatchRunReport> runExpiryJob() {
+        return ResponseEntity.ok(policyLifecycleService.runExpiryJob());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/lifecycle/expire/last-run")
+    public ResponseEntity<BatchRunReport> getLastExpiryRun() {
+        return ResponseEntity.ok(policyLifecycleService.getLastExpiryRun());
+    }
 }
@@ -0,0 +1,34 @@
+package com.capstone.insurance.controllers;
+
+import com.capstone.insurance.dto.user.UserAccountDto;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.services.UserAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class UserAccountController {
+
+    private final UserAccountService userAccountService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/enabled")
+    public ResponseEntity<UserAccountDto> setEnabled(
+            @PathVariable Long id,
+            @RequestParam boolean enabled) {
+        return ResponseEntity.ok(userAccountService.setEnabled(id, enabled));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserAccountDto> changeRole(
+            @PathVariable Long id,
+            @RequestParam Role role) {
+        return ResponseEntity.ok(userAccountService.changeRole(id, role));
+    }
+}
@@ -0,0 +1,45 @@
+package com.capstone.insurance.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out read connections inside read-only transactions started by application code, i.e.
+ * {@code @Transactional(readOnly = true)} service methods or a read-only TransactionTemplate,
+ * and primary connections everywhere else. The transaction manager only marks a transaction
+ * read-only after beginning it, so this has to sit behind a LazyConnectionDataSourceProxy,
+ * which fetches the real connection at the first statement.
+ *
+ * Spring Data's CRUD methods are read-only transactional themselves. Called outside a
+ * transaction, e.g. the findById a write method runs before it saves, they begin their own
+ * read-only transaction, named after the repository implementation. Those stay on the primary,
+ * so a write is never based on what a lagging replica returned.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Route { READ, WRITE }
+
+    // Transactions begun by a repository proxy are named after SimpleJpaRepository's methods
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource reads) {
+        setTargetDataSources(Map.of(Route.READ, reads, Route.WRITE, primary));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !startedByRepository()
+                ? Route.READ
+                : Route.WRITE;
+    }
+
+    private static boolean startedByRepository() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(REPOSITORY_TRANSACTION_PREFIX);
+    }
+}
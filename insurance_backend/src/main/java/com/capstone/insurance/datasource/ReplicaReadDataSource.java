@@ -0,0 +1,62 @@
+package com.capstone.insurance.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where read-only transactions get their connection: the next available replica in the
+ * {@link ReplicaSet}, trying the others if it fails, and the primary when none can serve.
+ * Each connection handed out is counted in db.replica.reads, tagged with the replica name or
+ * {@code primary}.
+ */
+public class ReplicaReadDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicas;
+    private final DataSource primary;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> reads = new ConcurrentHashMap<>();
+
+    public ReplicaReadDataSource(ReplicaSet replicas, DataSource primary, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.primary = primary;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (ReplicaSet.Replica replica : replicas.candidates()) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                count(replica.name);
+                return connection;
+            } catch (SQLException ex) {
+                replicas.markUnavailable(replica, ex);
+            }
+        }
+        Connection connection = primary.getConnection();
+        count(PRIMARY);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica reads use the configured replica credentials");
+    }
+
+    private void count(String target) {
+        reads.computeIfAbsent(target, key -> Counter.builder("db.replica.reads")
+                .description("Connections handed to read-only transactions")
+                .tag("target", key)
+                .register(meterRegistry)).increment();
+    }
+}
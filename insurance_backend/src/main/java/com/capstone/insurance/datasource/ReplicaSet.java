@@ -0,0 +1,166 @@
+package com.capstone.insurance.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas behind {@link ReplicaReadDataSource} and which of them may serve reads.
+ * A replica is taken out when a check cannot reach it, when it lags the primary by more than
+ * {@code maxLag}, or when handing out a connection fails; the next check that finds it healthy
+ * puts it back. Replicas start out of rotation until their first check.
+ *
+ * Lag comes from {@code lagQuery}: a Seconds_Behind_Source (or Seconds_Behind_Master) column if
+ * the result has one, as with SHOW REPLICA STATUS, otherwise the first column. No row or a null
+ * value means replication is not running. Without a lag query a replica only has to answer.
+ *
+ * Meters: db.replica.available (1 or 0) and db.replica.lag (seconds), tagged with the replica.
+ */
+@Slf4j
+public class ReplicaSet implements DisposableBean {
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    public ReplicaSet(Map<String, DataSource> dataSources, Duration maxLag, String lagQuery,
+                      MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        dataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether the replica is serving reads")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last check")
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    /** Available replicas, starting from the next one in round-robin order. */
+    List<Replica> candidates() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        List<Replica> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                candidates.add(replica);
+            }
+        }
+        return candidates;
+    }
+
+    void markUnavailable(Replica replica, SQLException ex) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, ex.getMessage());
+        }
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.db.replicas.check-interval-ms:5000}",
+               initialDelayString = "${app.db.replicas.check-interval-ms:5000}")
+    public void check() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            String problem;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Double lag = lagSeconds(connection);
+                replica.lagSeconds = lag == null ? Double.NaN : lag;
+                if (lag == null) {
+                    problem = "replication is not running";
+                } else if (lag > maxLag.toSeconds()) {
+                    problem = "lagging " + lag.longValue() + " s behind the primary";
+                } else {
+                    problem = null;
+                }
+            } catch (SQLException ex) {
+                replica.lagSeconds = Double.NaN;
+                problem = ex.getMessage();
+            }
+            replica.available = problem == null;
+            if (wasAvailable && problem != null) {
+                log.warn("Replica {} taken out of rotation: {}", replica.name, problem);
+            } else if (!wasAvailable && problem == null) {
+                log.info("Replica {} serving reads", replica.name);
+            } else if (problem != null) {
+                log.debug("Replica {} still out of rotation: {}", replica.name, problem);
+            }
+        }
+    }
+
+    private Double lagSeconds(Connection connection) throws SQLException {
+        if (lagQuery.isEmpty()) {
+            if (!connection.isValid(CHECK_TIMEOUT_SECONDS)) {
+                throw new SQLException("Connection is not valid");
+            }
+            return 0.0;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                double lag = resultSet.getDouble(lagColumn(resultSet.getMetaData()));
+                return resultSet.wasNull() ? null : lag;
+            }
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            String label = metaData.getColumnLabel(column);
+            if (label.equalsIgnoreCase("Seconds_Behind_Source") || label.equalsIgnoreCase("Seconds_Behind_Master")) {
+                return column;
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    static final class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        volatile boolean available;
+        volatile double lagSeconds = Double.NaN;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
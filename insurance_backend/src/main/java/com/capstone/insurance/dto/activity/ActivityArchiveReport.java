@@ -0,0 +1,19 @@
+package com.capstone.insurance.dto.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ActivityArchiveReport {
+    private List<String> monthsArchived;
+    private int segmentsWritten;
+    private long rowsArchived;
+    // Rows deleted for segments left unfinished by an interrupted run
+    private long rowsRecovered;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.capstone.insurance.dto.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ActivityArchiveSegmentDto {
+    private String month;
+    private String name;
+    private long rows;
+    private long sizeBytes;
+}
@@ -1,18 +1,25 @@
 package com.capstone.insurance.dto.activity;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ActivityLogDto {
     private Long id;
     private Long userId;
     private String username;
     private String actionType;
     private String details;
+    private Long claimId;
+    private String oldStatus;
+    private String newStatus;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,28 @@
+package com.capstone.insurance.dto.activity;
+
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class ActivityLogSearchCriteria {
+
+    private Long userId;
+
+    private String actionType;
+
+    private Long claimId;
+
+    // Matches the status a claim was moved to
+    private ClaimStatus newStatus;
+
+    // Inclusive lower and exclusive upper bound on createdAt
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
@@ -0,0 +1,19 @@
+package com.capstone.insurance.dto.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class AuditJournalStatusDto {
+    private boolean enabled;
+    private int segments;
+    private long firstSequence;
+    private long lastSequence;
+    private long durableSequence;
+    private long replayedSequence;
+    private boolean chainValid;
+    private String problem;
+}
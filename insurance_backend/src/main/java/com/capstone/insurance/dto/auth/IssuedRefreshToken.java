@@ -0,0 +1,20 @@
+package com.capstone.insurance.dto.auth;
+
+import com.capstone.insurance.entities.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A freshly issued refresh token. Only its hash is stored, so this is the one place the
+ * raw value exists on the server.
+ */
+@Getter
+@AllArgsConstructor
+public class IssuedRefreshToken {
+
+    private String token;
+    private Instant expiryDate;
+    private User user;
+}
@@ -0,0 +1,24 @@
+package com.capstone.insurance.dto.batch;
+
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BatchRunReport {
+    private String jobName;
+    private LocalDate runDate;
+    private BatchJobStatus status;
+    private boolean resumed;
+    private long processed;
+    private long renewed;
+    private int chunks;
+    private long durationMs;
+    private double itemsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
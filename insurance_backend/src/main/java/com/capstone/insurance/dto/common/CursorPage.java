@@ -0,0 +1,20 @@
+package com.capstone.insurance.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Unlike PaginatedResponse there is no total count,
+ * so fetching the next page costs the same no matter how deep the client has paged.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    // Pass back as cursor to continue; null once there is nothing more
+    private String nextCursor;
+}
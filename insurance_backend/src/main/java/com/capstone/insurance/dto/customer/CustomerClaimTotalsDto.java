@@ -0,0 +1,17 @@
+package com.capstone.insurance.dto.customer;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class CustomerClaimTotalsDto {
+    private long totalClaims;
+    private long pendingClaims; // Submitted or in review
+    private long approvedClaims;
+    private long rejectedClaims;
+    private BigDecimal totalClaimedAmount;
+    private BigDecimal approvedAmount;
+}
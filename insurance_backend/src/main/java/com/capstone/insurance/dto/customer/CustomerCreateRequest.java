@@ -2,6 +2,7 @@ package com.capstone.insurance.dto.customer;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,14 +11,18 @@ import lombok.Setter;
 public class CustomerCreateRequest {
 
     @NotBlank(message = "Name is required")
+    @Size(max = 150, message = "Name must be at most 150 characters")
     private String name;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
+    @Size(max = 150, message = "Email must be at most 150 characters")
     private String email;
 
+    @Size(max = 20, message = "Phone must be at most 20 characters")
     private String phone;
 
     @NotBlank(message = "Address is required")
+    @Size(max = 255, message = "Address must be at most 255 characters")
     private String address;
 }
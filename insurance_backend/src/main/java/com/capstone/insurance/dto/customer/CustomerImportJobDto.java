@@ -0,0 +1,27 @@
+package com.capstone.insurance.dto.customer;
+
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class CustomerImportJobDto {
+    private UUID jobId;
+    private String fileName;
+    private BatchJobStatus status;
+    private long processedRows;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+    private List<CustomerImportRowError> errors;
+    private boolean errorsTruncated;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
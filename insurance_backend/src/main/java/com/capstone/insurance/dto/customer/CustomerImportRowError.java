@@ -0,0 +1,12 @@
+package com.capstone.insurance.dto.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CustomerImportRowError {
+    private long line;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.capstone.insurance.dto.customer;
+
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.claim.ClaimDto;
+import com.capstone.insurance.dto.policy.CustomerPolicyDto;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CustomerOverviewDto {
+    private CustomerDto customer;
+    private List<CustomerPolicyDto> policies;
+    private CustomerClaimTotalsDto claimTotals;
+    private List<ClaimDto> recentClaims; // Newest first
+    private List<ActivityLogDto> recentActivity; // Newest first
+}
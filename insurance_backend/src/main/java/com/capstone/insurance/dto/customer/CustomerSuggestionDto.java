@@ -0,0 +1,18 @@
+package com.capstone.insurance.dto.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class CustomerSuggestionDto {
+    private UUID id;
+    private String customerCode;
+    private String name;
+    private String email;
+    private String phone;
+}
@@ -0,0 +1,24 @@
+package com.capstone.insurance.dto.policy;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class BulkAssignPolicyRequest {
+
+    @NotNull
+    private UUID policyId;
+
+    // Explicit customer ids; combined with emailDomain when both are given
+    @Size(max = 100000)
+    private List<UUID> customerIds;
+
+    // Selects every customer whose email ends with @<emailDomain>, e.g. "acme.com"
+    private String emailDomain;
+}
@@ -0,0 +1,24 @@
+package com.capstone.insurance.dto.policy;
+
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class BulkAssignmentJobDto {
+    private UUID jobId;
+    private UUID policyId;
+    private BatchJobStatus status;
+    private long requested;
+    private long processed;
+    private long assigned;
+    private long alreadyAssigned;
+    private long unknownCustomers;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -2,26 +2,29 @@ package com.capstone.insurance.dto.policy;
 
 import com.capstone.insurance.entities.enums.PolicyStatus;
 import com.capstone.insurance.entities.enums.PolicyType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Value;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Data
+// Immutable because instances are shared through the customer policies cache
+@Value
 @Builder
+@AllArgsConstructor
 public class CustomerPolicyDto {
-    private UUID policyId;
-    private String policyCode;
-    private String policyNumber; // The assigned policy number from CustomerPolicy
-    private PolicyType policyType;
-    private BigDecimal coverageAmount;
-    private LocalDate startDate;
-    private LocalDate endDate;
-    private PolicyStatus status;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    UUID policyId;
+    String policyCode;
+    String policyNumber; // The assigned policy number from CustomerPolicy
+    PolicyType policyType;
+    BigDecimal coverageAmount;
+    LocalDate startDate;
+    LocalDate endDate;
+    PolicyStatus status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
 }
 
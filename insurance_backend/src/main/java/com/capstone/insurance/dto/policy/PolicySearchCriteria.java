@@ -0,0 +1,35 @@
+package com.capstone.insurance.dto.policy;
+
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class PolicySearchCriteria {
+
+    private PolicyType policyType;
+
+    private PolicyStatus status;
+
+    private BigDecimal minCoverage;
+    private BigDecimal maxCoverage;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endTo;
+
+    // Matches policy codes starting with this value, e.g. "POL01"
+    private String codePrefix;
+}
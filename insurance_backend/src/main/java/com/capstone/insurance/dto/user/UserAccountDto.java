@@ -0,0 +1,14 @@
+package com.capstone.insurance.dto.user;
+
+import com.capstone.insurance.entities.enums.Role;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UserAccountDto {
+    private Long id;
+    private String username;
+    private Role role;
+    private boolean enabled;
+}
@@ -6,7 +6,17 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(
+    name = "activity_logs",
+    indexes = {
+        @Index(name = "idx_activity_logs_user_created_at", columnList = "user_id, created_at"),
+        // Time-based access path used to find and archive whole months
+        @Index(name = "idx_activity_logs_created_at", columnList = "created_at"),
+        // Filtered, newest-first listings; InnoDB appends the id, which keeps keyset paging on the index
+        @Index(name = "idx_activity_logs_action_created_at", columnList = "action_type, created_at"),
+        @Index(name = "idx_activity_logs_claim_created_at", columnList = "claim_id, created_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +38,16 @@ public class ActivityLog {
     @Column(columnDefinition = "TEXT")
     private String details;
 
+    // Structured context for claim actions, so they can be filtered without searching details
+    @Column(name = "claim_id")
+    private Long claimId;
+
+    @Column(name = "old_status", length = 30)
+    private String oldStatus;
+
+    @Column(name = "new_status", length = 30)
+    private String newStatus;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
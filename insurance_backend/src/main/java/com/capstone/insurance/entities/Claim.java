@@ -9,7 +9,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claims")
+@Table(
+    name = "claims",
+    indexes = {
+        @Index(name = "idx_claims_customer_created_at", columnList = "customer_id, created_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,7 +13,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "policies")
+@Table(
+    name = "policies",
+    indexes = {
+        @Index(name = "idx_policies_status_end_date", columnList = "status, end_date"),
+        @Index(name = "idx_policies_type_status_start_date", columnList = "policy_type, status, start_date"),
+        @Index(name = "idx_policies_coverage_amount", columnList = "coverage_amount"),
+        @Index(name = "idx_policies_created_at", columnList = "created_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
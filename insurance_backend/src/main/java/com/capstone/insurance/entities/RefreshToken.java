@@ -7,7 +7,10 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_previous_hash", columnList = "previous_token_hash"),
+        @Index(name = "idx_refresh_tokens_expiry", columnList = "expiry_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,8 +26,13 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 hex of the token handed to the client; the raw value is never stored
+    @Column(name = "token", nullable = false, unique = true, length = 500)
+    private String tokenHash;
+
+    // Hash of the token this one replaced, kept to detect a rotated-out token being replayed
+    @Column(name = "previous_token_hash", length = 64)
+    private String previousTokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
@@ -3,6 +3,7 @@ package com.capstone.insurance.entities;
 import com.capstone.insurance.entities.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -33,6 +34,13 @@ public class User {
     @Builder.Default
     private Boolean enabled = true;
 
+    // Bumped whenever the account is disabled, re-enabled or changes role; access tokens
+    // carry the version they were issued with and older ones are refused
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
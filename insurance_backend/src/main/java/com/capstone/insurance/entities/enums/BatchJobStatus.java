@@ -0,0 +1,7 @@
+package com.capstone.insurance.entities.enums;
+
+public enum BatchJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
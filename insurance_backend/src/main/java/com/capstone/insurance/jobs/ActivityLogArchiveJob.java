@@ -0,0 +1,25 @@
+package com.capstone.insurance.jobs;
+
+import com.capstone.insurance.services.ActivityLogArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActivityLogArchiveJob {
+
+    private final ActivityLogArchiveService activityLogArchiveService;
+
+    // Set app.activity-log.archive-cron to "-" to disable the nightly run
+    @Scheduled(cron = "${app.activity-log.archive-cron:0 45 1 * * *}")
+    public void archiveExpiredLogs() {
+        try {
+            activityLogArchiveService.archiveExpired();
+        } catch (Exception ex) {
+            log.error("Scheduled activity log archive run did not complete", ex);
+        }
+    }
+}
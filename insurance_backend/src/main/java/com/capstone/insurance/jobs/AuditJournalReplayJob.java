@@ -0,0 +1,27 @@
+package com.capstone.insurance.jobs;
+
+import com.capstone.insurance.audit.AuditJournalReplayer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditJournalReplayJob {
+
+    private final AuditJournalReplayer replayer;
+
+    @Scheduled(fixedDelayString = "${app.audit.replay-interval-ms:1000}")
+    public void replayJournal() {
+        try {
+            long replayed = replayer.replay();
+            if (replayed > 0) {
+                log.debug("Replayed {} audit journal records", replayed);
+            }
+        } catch (Exception ex) {
+            log.error("Audit journal replay did not complete", ex);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.capstone.insurance.jobs;
+
+import com.capstone.insurance.services.PolicyLifecycleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicyExpiryJob {
+
+    private final PolicyLifecycleService policyLifecycleService;
+
+    // Set app.policy-lifecycle.cron to "-" to disable the nightly run
+    @Scheduled(cron = "${app.policy-lifecycle.cron:0 15 0 * * *}")
+    public void expirePolicies() {
+        try {
+            policyLifecycleService.runExpiryJob();
+        } catch (Exception ex) {
+            log.error("Scheduled policy expiry run did not complete", ex);
+        }
+    }
+}
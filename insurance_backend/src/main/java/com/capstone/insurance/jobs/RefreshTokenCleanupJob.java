@@ -0,0 +1,28 @@
+package com.capstone.insurance.jobs;
+
+import com.capstone.insurance.services.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleanupJob {
+
+    private final RefreshTokenService refreshTokenService;
+
+    // Set app.jwt.refresh-cleanup-cron to "-" to disable the sweep
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 30 * * * *}")
+    public void deleteExpiredTokens() {
+        try {
+            int deleted = refreshTokenService.deleteExpired();
+            if (deleted > 0) {
+                log.info("Deleted {} expired refresh tokens", deleted);
+            }
+        } catch (Exception ex) {
+            log.error("Scheduled refresh token cleanup did not complete", ex);
+        }
+    }
+}
@@ -0,0 +1,508 @@
+package com.capstone.insurance.perf;
+
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.search.CustomerSuggestIndex;
+import com.capstone.insurance.services.impl.CustomerIdentifiers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills an empty database with synthetic, high-volume data for local performance work.
+ * Only active under the "perf" profile.
+ *
+ * Everything is derived from app.perf.seed and app.perf.as-of, so two runs with the same
+ * settings against the same starting database produce the same rows (UUIDs, codes, amounts,
+ * dates and statuses included). Rows go in through JDBC batches, one transaction per batch, in
+ * dependency order: users and customers, policies, customer policy links, claims, then activity
+ * logs. Customer and policy codes use the application's formats and continue after the highest
+ * existing code, so customers and policies created afterwards get the next free code.
+ *
+ * Claims lean towards recent months (volume grows by month-growth per month) and their
+ * status follows their age: recent claims are mostly SUBMITTED or IN_REVIEW, older ones
+ * mostly decided. Every generated customer can log in as perf.NNNNNNN@example.com with
+ * the password in app.perf.password.
+ *
+ * Generation is skipped when the first generated user already exists, so a file-backed
+ * database is filled once and reused across restarts. The customer typeahead index is reloaded
+ * once generation finishes, since its own startup load may have run while rows were still going in.
+ */
+@Slf4j
+@Component
+@Profile("perf")
+public class PerfDataGenerator {
+
+    private static final String INSERT_USER_SQL =
+            "insert into users (username, password, role, enabled, token_version, created_at, updated_at) " +
+            "values (?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_CUSTOMER_SQL =
+            "insert into customers (id, customer_code, name, email, phone, address, user_id, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_POLICY_SQL =
+            "insert into policies (id, policy_code, coverage_amount, policy_type, start_date, end_date, status, " +
+            "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINK_SQL =
+            "insert into customer_policies (customer_id, policy_id, policy_number, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?)";
+    private static final String INSERT_CLAIM_SQL =
+            "insert into claims (customer_id, policy_id, claim_date, claim_amount, status, description, remarks, " +
+            "evidence_url, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACTIVITY_SQL =
+            "insert into activity_logs (user_id, action_type, details, claim_id, old_status, new_status, " +
+            "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun",
+            "Kavya", "Rohan", "Meera", "John", "Emma", "Liam", "Olivia", "Noah", "Sophia", "Ethan", "Isabella"};
+    private static final String[] LAST_NAMES = {"Sharma", "Iyer", "Patel", "Reddy", "Nair", "Gupta", "Singh",
+            "Menon", "Rao", "Das", "Smith", "Johnson", "Brown", "Williams", "Jones", "Miller", "Davis", "Wilson"};
+    private static final String[] CITIES = {"Mumbai", "Bengaluru", "Chennai", "Pune", "Hyderabad", "Delhi",
+            "Kolkata", "Kochi", "Austin", "Denver"};
+    private static final String[] CLAIM_REASONS = {"Hospitalisation after an accident", "Rear-end collision",
+            "Water damage from a burst pipe", "Theft of personal property", "Outpatient surgery",
+            "Windscreen replacement", "Storm damage to the roof", "Fire in the kitchen"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final PolicyRepository policyRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final CustomerSuggestIndex customerSuggestIndex;
+
+    @Value("${app.perf.generate:true}")
+    private boolean generate = true;
+
+    @Value("${app.perf.seed:42}")
+    private long seed = 42;
+
+    @Value("${app.perf.customers:100000}")
+    private int customers = 100_000;
+
+    @Value("${app.perf.policies:5000}")
+    private int policies = 5_000;
+
+    // Each customer holds between 1 and this many policies
+    @Value("${app.perf.max-policies-per-customer:3}")
+    private int maxPoliciesPerCustomer = 3;
+
+    @Value("${app.perf.claims:300000}")
+    private int claims = 300_000;
+
+    // LOGIN entries added on top of the claim history entries
+    @Value("${app.perf.login-activity-logs:500000}")
+    private int loginActivityLogs = 500_000;
+
+    @Value("${app.perf.months:24}")
+    private int months = 24;
+
+    // Each month has this much more claim volume than the month before it
+    @Value("${app.perf.month-growth:0.05}")
+    private double monthGrowth = 0.05;
+
+    // Date the generated history ends on; empty means today. Fix it to get identical rows on every run.
+    @Value("${app.perf.as-of:}")
+    private String asOf = "";
+
+    @Value("${app.perf.batch-size:5000}")
+    private int batchSize = 5_000;
+
+    @Value("${app.perf.password:Perf@123}")
+    private String password = "Perf@123";
+
+    // Per-customer data kept between phases; parallel arrays keep a million customers in tens of MB
+    private long[] customerIdHigh;
+    private long[] customerIdLow;
+    private long[] customerUserIds;
+    private long[] policyIdHigh;
+    private long[] policyIdLow;
+    private String[] policyCodes;
+    private int[] linkCustomer;
+    private int[] linkPolicy;
+
+    public PerfDataGenerator(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             UserRepository userRepository,
+                             CustomerRepository customerRepository,
+                             PolicyRepository policyRepository,
+                             PasswordEncoder passwordEncoder,
+                             CustomerSuggestIndex customerSuggestIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.customerRepository = customerRepository;
+        this.policyRepository = policyRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.customerSuggestIndex = customerSuggestIndex;
+    }
+
+    // After the runners, so the seeded admin exists to own the claim decisions
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!generate) {
+            return;
+        }
+        if (userRepository.existsByUsername(username(1))) {
+            log.info("Performance data already present; set app.perf.generate=false to skip this check");
+            return;
+        }
+        generateAll();
+    }
+
+    public void generateAll() {
+        long started = System.nanoTime();
+        log.info("Generating performance data (seed {}): {} customers, {} policies, {} claims, {} login events",
+                seed, customers, policies, claims, loginActivityLogs);
+
+        long adminId = userRepository.findByUsername("admin@exe.in")
+                .map(user -> user.getId())
+                .orElseThrow(() -> new IllegalStateException("Seeded admin user is missing"));
+        LocalDateTime now = asOf.isBlank() ? LocalDateTime.now().withNano(0) : LocalDate.parse(asOf).atTime(18, 0);
+
+        // Each phase has its own stream so changing one volume leaves the others' rows unchanged
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom customerRandom = root.split();
+        SplittableRandom policyRandom = root.split();
+        SplittableRandom linkRandom = root.split();
+        SplittableRandom claimRandom = root.split();
+        SplittableRandom activityRandom = root.split();
+
+        int lastCustomerCode = CustomerIdentifiers.codeNumber(
+                customerRepository.findLatestCustomerCodes(PageRequest.of(0, 1)).stream().findFirst().orElse(null));
+        int lastPolicyCode = policyCodeNumber(
+                policyRepository.findLatestPolicyCodes(PageRequest.of(0, 1)).stream().findFirst().orElse(null));
+
+        timed("customers", () -> insertCustomers(customerRandom, now, lastCustomerCode));
+        timed("policies", () -> insertPolicies(policyRandom, now, lastPolicyCode));
+        timed("customer policies", () -> insertLinks(linkRandom, now));
+        long firstClaimId = nextId("claims");
+        timed("claims", () -> insertClaims(claimRandom, now));
+        timed("activity logs", () -> insertActivityLogs(activityRandom, adminId, firstClaimId, now));
+
+        log.info("Performance data generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        customerIdHigh = customerIdLow = customerUserIds = policyIdHigh = policyIdLow = null;
+        policyCodes = null;
+        linkCustomer = linkPolicy = null;
+
+        customerSuggestIndex.reload();
+    }
+
+    private void insertCustomers(SplittableRandom random, LocalDateTime now, int lastCode) {
+        customerIdHigh = new long[customers];
+        customerIdLow = new long[customers];
+        customerUserIds = new long[customers];
+        // One hash for every generated account: hashing per user would take longer than the rest of the load
+        String passwordHash = passwordEncoder.encode(password);
+
+        for (int from = 0; from < customers; from += batchSize) {
+            int to = Math.min(customers, from + batchSize);
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> users = new ArrayList<>(to - start);
+                List<String> usernames = new ArrayList<>(to - start);
+                for (int i = start; i < to; i++) {
+                    Timestamp createdAt = Timestamp.valueOf(now.minusDays(random.nextInt(months * 30 + 1)));
+                    usernames.add(username(i + 1));
+                    users.add(new Object[]{username(i + 1), passwordHash, Role.CUSTOMER.name(), true, createdAt, createdAt});
+                }
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, users);
+
+                Map<String, Long> userIds = new HashMap<>(usernames.size() * 2);
+                for (Object[] row : userRepository.findIdsByUsernames(usernames)) {
+                    userIds.put((String) row[0], (Long) row[1]);
+                }
+
+                List<Object[]> rows = new ArrayList<>(to - start);
+                for (int i = start; i < to; i++) {
+                    UUID id = uuid(random);
+                    customerIdHigh[i] = id.getMostSignificantBits();
+                    customerIdLow[i] = id.getLeastSignificantBits();
+                    customerUserIds[i] = userIds.get(username(i + 1));
+                    Object[] user = users.get(i - start);
+                    String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    rows.add(new Object[]{id.toString(), CustomerIdentifiers.customerCode(lastCode + i + 1), name, username(i + 1),
+                            String.format("9%09d", random.nextInt(1_000_000_000)),
+                            (1 + random.nextInt(400)) + " Main Road, " + CITIES[random.nextInt(CITIES.length)],
+                            customerUserIds[i], user[4], user[5]});
+                }
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, rows);
+            });
+            progress("customers", to, customers);
+        }
+    }
+
+    private void insertPolicies(SplittableRandom random, LocalDateTime now, int lastCode) {
+        policyIdHigh = new long[policies];
+        policyIdLow = new long[policies];
+        policyCodes = new String[policies];
+        PolicyType[] types = PolicyType.values();
+        LocalDate today = now.toLocalDate();
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < policies; i++) {
+            UUID id = uuid(random);
+            policyIdHigh[i] = id.getMostSignificantBits();
+            policyIdLow[i] = id.getLeastSignificantBits();
+            policyCodes[i] = policyCode(lastCode + i + 1);
+            LocalDate start = today.minusDays(random.nextInt(months * 30 + 365));
+            LocalDate end = start.plusYears(1 + random.nextInt(3));
+            Timestamp createdAt = Timestamp.valueOf(start.atStartOfDay());
+            rows.add(new Object[]{id.toString(), policyCodes[i],
+                    BigDecimal.valueOf(50_000L + 5_000L * random.nextInt(200)),
+                    types[random.nextInt(types.length)].name(),
+                    Date.valueOf(start), Date.valueOf(end),
+                    end.isBefore(today) ? PolicyStatus.EXPIRED.name() : PolicyStatus.ACTIVE.name(),
+                    createdAt, createdAt});
+            if (rows.size() == batchSize || i == policies - 1) {
+                flush(INSERT_POLICY_SQL, rows);
+            }
+        }
+    }
+
+    private void insertLinks(SplittableRandom random, LocalDateTime now) {
+        int[] counts = new int[customers];
+        int total = 0;
+        for (int i = 0; i < customers; i++) {
+            counts[i] = 1 + random.nextInt(Math.min(maxPoliciesPerCustomer, policies));
+            total += counts[i];
+        }
+        linkCustomer = new int[total];
+        linkPolicy = new int[total];
+
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        int link = 0;
+        for (int c = 0; c < customers; c++) {
+            // Distinct policies per customer: a random start and stride over the policy list
+            int first = random.nextInt(policies);
+            int stride = 1 + random.nextInt(Math.max(1, policies / Math.max(1, counts[c])));
+            for (int k = 0; k < counts[c]; k++, link++) {
+                int p = (int) ((first + (long) k * stride) % policies);
+                linkCustomer[link] = c;
+                linkPolicy[link] = p;
+                rows.add(new Object[]{customerId(c), policyId(p), policyNumber(link), createdAt, createdAt});
+                if (rows.size() == batchSize) {
+                    flush(INSERT_LINK_SQL, rows);
+                }
+            }
+            if (c == customers - 1 && !rows.isEmpty()) {
+                flush(INSERT_LINK_SQL, rows);
+            }
+        }
+    }
+
+    private void insertClaims(SplittableRandom random, LocalDateTime now) {
+        // Cumulative month weights, oldest month first, growing by monthGrowth each month;
+        // the current month only counts the days that have passed
+        YearMonth current = YearMonth.from(now);
+        double[] cumulative = new double[months];
+        double sum = 0;
+        for (int m = 0; m < months; m++) {
+            double weight = Math.pow(1 + monthGrowth, m);
+            if (m == months - 1) {
+                weight *= (double) now.getDayOfMonth() / current.lengthOfMonth();
+            }
+            sum += weight;
+            cumulative[m] = sum;
+        }
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < claims; i++) {
+            int link = random.nextInt(linkCustomer.length);
+            int month = pickMonth(cumulative, random.nextDouble() * sum);
+            int ageInMonths = months - 1 - month;
+            YearMonth yearMonth = current.minusMonths(ageInMonths);
+            int lastDay = ageInMonths == 0 ? now.getDayOfMonth() : yearMonth.lengthOfMonth();
+            LocalDateTime createdAt = yearMonth.atDay(1 + random.nextInt(lastDay)).atTime(
+                    8 + random.nextInt(12), random.nextInt(60), random.nextInt(60));
+            if (createdAt.isAfter(now)) {
+                createdAt = now;
+            }
+            ClaimStatus status = statusForAge(random, ageInMonths);
+            LocalDateTime updatedAt = status == ClaimStatus.SUBMITTED ? createdAt
+                    : min(createdAt.plusDays(1 + random.nextInt(20)), now);
+            // Log-normal amounts: most claims are small, a few are very large
+            double amount = Math.min(5_000_000, Math.exp(9.5 + 1.1 * random.nextGaussian()));
+
+            rows.add(new Object[]{customerId(linkCustomer[link]), policyId(linkPolicy[link]),
+                    Date.valueOf(createdAt.toLocalDate().minusDays(random.nextInt(15))),
+                    BigDecimal.valueOf(Math.round(amount * 100), 2), status.name(),
+                    CLAIM_REASONS[random.nextInt(CLAIM_REASONS.length)],
+                    status == ClaimStatus.REJECTED ? "Not covered under the policy terms"
+                            : status == ClaimStatus.APPROVED ? "Approved after review" : null,
+                    random.nextInt(3) == 0 ? null : "https://files.example.com/evidence/" + (i + 1) + ".pdf",
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)});
+            if (rows.size() == batchSize || i == claims - 1) {
+                flush(INSERT_CLAIM_SQL, rows);
+                progress("claims", i + 1, claims);
+            }
+        }
+    }
+
+    private void insertActivityLogs(SplittableRandom random, long adminId, long firstClaimId, LocalDateTime now) {
+        // Claim history first: a submission by the customer, then the admin's decision if there was one
+        long afterId = firstClaimId - 1;
+        long written = 0;
+        while (true) {
+            List<Object[]> claimRows = jdbcTemplate.query(
+                    "select c.id, c.status, c.claim_amount, c.created_at, c.updated_at, cu.user_id " +
+                    "from claims c join customers cu on cu.id = c.customer_id where c.id > ? order by c.id limit ?",
+                    (rs, n) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getBigDecimal(3),
+                            rs.getTimestamp(4), rs.getTimestamp(5), rs.getLong(6)},
+                    afterId, batchSize);
+            if (claimRows.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>(claimRows.size() * 2);
+            for (Object[] claim : claimRows) {
+                long claimId = (Long) claim[0];
+                String status = (String) claim[1];
+                rows.add(new Object[]{claim[5], "CLAIM_SUBMITTED",
+                        "Claim " + claimId + " submitted. Amount: $" + claim[2],
+                        claimId, null, ClaimStatus.SUBMITTED.name(), claim[3], claim[3]});
+                if (!ClaimStatus.SUBMITTED.name().equals(status)) {
+                    rows.add(new Object[]{adminId, "CLAIM_STATUS_UPDATED",
+                            "Claim " + claimId + " status changed from " + ClaimStatus.SUBMITTED + " to " + status,
+                            claimId, ClaimStatus.SUBMITTED.name(), status, claim[4], claim[4]});
+                }
+                afterId = claimId;
+            }
+            flush(INSERT_ACTIVITY_SQL, rows);
+            written += claimRows.size();
+            progress("claim histories", written, claims);
+        }
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < loginActivityLogs; i++) {
+            Timestamp at = Timestamp.valueOf(now.minusSeconds(random.nextLong((long) months * 30 * 24 * 3600)));
+            rows.add(new Object[]{customerUserIds[random.nextInt(customers)], "LOGIN", "User logged in",
+                    null, null, null, at, at});
+            if (rows.size() == batchSize || i == loginActivityLogs - 1) {
+                flush(INSERT_ACTIVITY_SQL, rows);
+                progress("login events", i + 1, loginActivityLogs);
+            }
+        }
+    }
+
+    private static ClaimStatus statusForAge(SplittableRandom random, int ageInMonths) {
+        double r = random.nextDouble();
+        if (ageInMonths == 0) {
+            return r < 0.55 ? ClaimStatus.SUBMITTED : r < 0.85 ? ClaimStatus.IN_REVIEW
+                    : r < 0.95 ? ClaimStatus.APPROVED : ClaimStatus.REJECTED;
+        }
+        if (ageInMonths < 3) {
+            return r < 0.15 ? ClaimStatus.SUBMITTED : r < 0.35 ? ClaimStatus.IN_REVIEW
+                    : r < 0.80 ? ClaimStatus.APPROVED : ClaimStatus.REJECTED;
+        }
+        return r < 0.02 ? ClaimStatus.SUBMITTED : r < 0.05 ? ClaimStatus.IN_REVIEW
+                : r < 0.75 ? ClaimStatus.APPROVED : ClaimStatus.REJECTED;
+    }
+
+    private static int pickMonth(double[] cumulative, double target) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        rows.clear();
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private String customerId(int index) {
+        return new UUID(customerIdHigh[index], customerIdLow[index]).toString();
+    }
+
+    private String policyId(int index) {
+        return new UUID(policyIdHigh[index], policyIdLow[index]).toString();
+    }
+
+    // Same format as PolicyServiceImpl.generatePolicyCode
+    static String policyCode(int number) {
+        return String.format("POL%04d", number);
+    }
+
+    static int policyCodeNumber(String code) {
+        if (code == null || !code.startsWith("POL")) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(code.substring(3));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static String username(int number) {
+        return String.format("perf.%07d@example.com", number);
+    }
+
+    // Base 36 of the link index, padded to the 10 characters PolicyNumbers produces
+    static String policyNumber(int link) {
+        String digits = Long.toString(link + 1L, 36).toUpperCase();
+        return "P" + "0".repeat(9 - digits.length()) + digits;
+    }
+
+    // Version 4 UUID drawn from the seeded stream instead of SecureRandom
+    static UUID uuid(SplittableRandom random) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private void progress(String what, long done, long total) {
+        long step = Math.max(batchSize, total / 10);
+        if (done % step < batchSize || done == total) {
+            log.info("  {} {}/{}", what, done, total);
+        }
+    }
+
+    private void timed(String phase, Runnable work) {
+        long started = System.nanoTime();
+        work.run();
+        log.info("Inserted {} in {} ms", phase, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,218 @@
+package com.capstone.insurance.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * On-demand Flight Recorder profiling at /actuator/jfr, admin-only like every non-public
+ * actuator path:
+ * <ul>
+ *   <li>POST {"profile": "cpu|allocation|locks", "durationSeconds": 60} starts a recording;</li>
+ *   <li>GET lists recordings, GET /{id} shows one;</li>
+ *   <li>GET /{id}/summary ranks hot methods, allocation sites and contention sites;</li>
+ *   <li>GET /{id}/jfr downloads the recording for JDK Mission Control;</li>
+ *   <li>DELETE /{id} stops it early.</li>
+ * </ul>
+ * Running recordings are snapshotted for summary and download. One recording runs at a time,
+ * every recording stops on its own after its duration, and only the most recent few are kept.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint implements DisposableBean {
+
+    private final Path directory;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final int retained;
+    private final int topN;
+    // Recordings by id, oldest first; guarded by this
+    private final Map<Long, Managed> recordings = new LinkedHashMap<>();
+
+    private record Managed(Recording recording, JfrProfile profile, Path file) {
+    }
+
+    public JfrEndpoint(@Value("${app.jfr.dir:./data/jfr}") String directory,
+                       @Value("${app.jfr.default-duration-seconds:60}") long defaultDurationSeconds,
+                       @Value("${app.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+                       @Value("${app.jfr.max-size-bytes:104857600}") long maxSizeBytes,
+                       @Value("${app.jfr.retained-recordings:5}") int retained,
+                       @Value("${app.jfr.top-n:20}") int topN) {
+        this.directory = Paths.get(directory);
+        this.defaultDuration = Duration.ofSeconds(defaultDurationSeconds);
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeBytes;
+        this.retained = retained;
+        this.topN = topN;
+    }
+
+    @WriteOperation
+    public synchronized JfrRecordingStatus start(String profile, @Nullable Long durationSeconds) {
+        JfrProfile jfrProfile = JfrProfile.parse(profile)
+                .orElseThrow(() -> invalid("Unknown profile " + profile + "; use cpu, allocation or locks"));
+        Duration duration = durationSeconds == null ? defaultDuration : Duration.ofSeconds(durationSeconds);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw invalid("durationSeconds must be between 1 and " + maxDuration.toSeconds());
+        }
+        if (recordings.values().stream().anyMatch(managed -> managed.recording().getState() == RecordingState.RUNNING)) {
+            throw invalid("A recording is already running; stop it first");
+        }
+        evictOldRecordings();
+
+        Recording recording = new Recording(jfrProfile.settings());
+        Path file = directory.resolve("recording-" + recording.getId() + "-"
+                + jfrProfile.name().toLowerCase(Locale.ROOT) + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.setName("insurance-" + jfrProfile.name().toLowerCase(Locale.ROOT));
+            recording.setToDisk(true);
+            recording.setMaxSize(maxSizeBytes);
+            recording.setDuration(duration);
+            // Written here when the recording stops, whether by duration or on request
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException ex) {
+            recording.close();
+            throw new UncheckedIOException("Could not start recording in " + directory, ex);
+        }
+        recordings.put(recording.getId(), new Managed(recording, jfrProfile, file));
+        log.info("Started JFR recording {} ({}) for {} s", recording.getId(), jfrProfile, duration.toSeconds());
+        return status(recordings.get(recording.getId()));
+    }
+
+    @ReadOperation
+    public synchronized List<JfrRecordingStatus> recordings() {
+        return recordings.values().stream().map(JfrEndpoint::status).toList();
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<JfrRecordingStatus> recording(@Selector long id) {
+        Managed managed = recordings.get(id);
+        return managed == null
+                ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                : new WebEndpointResponse<>(status(managed));
+    }
+
+    /** {@code summary} for the ranked report, {@code jfr} for the recording file itself. */
+    @ReadOperation
+    public synchronized WebEndpointResponse<?> recording(@Selector long id, @Selector String view) throws IOException {
+        if (!view.equals("summary") && !view.equals("jfr")) {
+            throw invalid("Unknown view " + view + "; use summary or jfr");
+        }
+        Managed managed = recordings.get(id);
+        Path file = managed == null ? null : readableFile(managed);
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return view.equals("summary")
+                ? new WebEndpointResponse<>(JfrSummarizer.summarize(id, managed.profile(), file, topN))
+                : new WebEndpointResponse<Resource>(new FileSystemResource(file), MimeTypeUtils.APPLICATION_OCTET_STREAM);
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<JfrRecordingStatus> stop(@Selector long id) {
+        Managed managed = recordings.get(id);
+        if (managed == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (managed.recording().getState() == RecordingState.RUNNING) {
+            managed.recording().stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return new WebEndpointResponse<>(status(managed));
+    }
+
+    // A running recording is read from a snapshot. Stopping writes a recording to its file and
+    // closes it, so a stopped one is read from there; null if that file is gone
+    private Path readableFile(Managed managed) throws IOException {
+        if (managed.recording().getState() != RecordingState.RUNNING) {
+            return Files.exists(managed.file()) ? managed.file() : null;
+        }
+        Path snapshot = directory.resolve("recording-" + managed.recording().getId() + "-snapshot.jfr");
+        managed.recording().dump(snapshot);
+        return snapshot;
+    }
+
+    private void evictOldRecordings() {
+        Iterator<Managed> oldestFirst = recordings.values().iterator();
+        while (recordings.size() >= retained && oldestFirst.hasNext()) {
+            Managed managed = oldestFirst.next();
+            oldestFirst.remove();
+            discard(managed);
+        }
+    }
+
+    private void discard(Managed managed) {
+        long id = managed.recording().getId();
+        managed.recording().close();
+        try {
+            Files.deleteIfExists(managed.file());
+            Files.deleteIfExists(directory.resolve("recording-" + id + "-snapshot.jfr"));
+        } catch (IOException ex) {
+            log.warn("Could not delete files of JFR recording {}: {}", id, ex.getMessage());
+        }
+    }
+
+    private static InvalidEndpointRequestException invalid(String message) {
+        // The reason is what the caller sees in the 400 response
+        return new InvalidEndpointRequestException(message, message);
+    }
+
+    private static JfrRecordingStatus status(Managed managed) {
+        Recording recording = managed.recording();
+        Duration duration = recording.getDuration();
+        long size = recording.getSize();
+        if (recording.getState() != RecordingState.RUNNING) {
+            try {
+                size = Files.exists(managed.file()) ? Files.size(managed.file()) : size;
+            } catch (IOException ex) {
+                // Keep what the recording reported
+            }
+        }
+        return new JfrRecordingStatus(
+                recording.getId(),
+                managed.profile().name().toLowerCase(Locale.ROOT),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getState() == RecordingState.RUNNING ? null : recording.getStopTime(),
+                duration == null ? 0 : duration.toSeconds(),
+                size);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        for (Managed managed : new ArrayList<>(recordings.values())) {
+            managed.recording().close();
+        }
+        recordings.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package com.capstone.insurance.profiling;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Preset JDK Flight Recorder settings. Each enables only the events its report needs, so a
+ * recording can run against production traffic: CPU sampling every 10 ms, throttled allocation
+ * samples, or monitor and park waits longer than 10 ms.
+ */
+public enum JfrProfile {
+
+    CPU(Map.of(
+            "jdk.ExecutionSample#enabled", "true",
+            "jdk.ExecutionSample#period", "10 ms")),
+
+    ALLOCATION(Map.of(
+            "jdk.ObjectAllocationSample#enabled", "true",
+            "jdk.ObjectAllocationSample#throttle", "150/s",
+            "jdk.ObjectAllocationSample#stackTrace", "true",
+            "jdk.GarbageCollection#enabled", "true")),
+
+    LOCKS(Map.of(
+            "jdk.JavaMonitorEnter#enabled", "true",
+            "jdk.JavaMonitorEnter#threshold", "10 ms",
+            "jdk.JavaMonitorEnter#stackTrace", "true",
+            "jdk.ThreadPark#enabled", "true",
+            "jdk.ThreadPark#threshold", "10 ms",
+            "jdk.ThreadPark#stackTrace", "true"));
+
+    private final Map<String, String> settings;
+
+    JfrProfile(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public Map<String, String> settings() {
+        return settings;
+    }
+
+    public static Optional<JfrProfile> parse(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        return Arrays.stream(values()).filter(profile -> profile.name().equals(normalized)).findFirst();
+    }
+}
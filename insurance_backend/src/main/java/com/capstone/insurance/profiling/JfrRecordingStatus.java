@@ -0,0 +1,17 @@
+package com.capstone.insurance.profiling;
+
+import java.time.Instant;
+
+/**
+ * A recording as the jfr endpoint reports it. State is NEW, RUNNING, STOPPED or CLOSED as JFR
+ * defines them; sizeBytes is what the recording has written so far.
+ */
+public record JfrRecordingStatus(
+        long id,
+        String profile,
+        String state,
+        Instant startTime,
+        Instant stopTime,
+        long durationSeconds,
+        long sizeBytes) {
+}
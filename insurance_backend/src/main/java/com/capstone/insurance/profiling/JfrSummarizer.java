@@ -0,0 +1,125 @@
+package com.capstone.insurance.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a .jfr file once, event by event, and ranks where CPU samples, sampled allocations and
+ * long monitor or park waits came from. Allocation and contention sites are attributed to the
+ * first application frame, since the top frames are nearly always JDK internals such as
+ * Arrays.copyOf or LockSupport.park.
+ */
+final class JfrSummarizer {
+
+    static final String APPLICATION_PACKAGE = "com.capstone.insurance.";
+
+    private JfrSummarizer() {
+    }
+
+    static JfrSummary summarize(long recordingId, JfrProfile profile, Path file, int topN) throws IOException {
+        Tally hotMethods = new Tally();
+        Tally hotApplicationMethods = new Tally();
+        Tally allocationSites = new Tally();
+        Tally contentionSites = new Tally();
+        long events = 0;
+        long executionSamples = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                events++;
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+                    continue;
+                }
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        hotMethods.add(method(stackTrace.getFrames().get(0)), 1);
+                        RecordedFrame applicationFrame = applicationFrame(stackTrace);
+                        if (applicationFrame != null) {
+                            hotApplicationMethods.add(method(applicationFrame), 1);
+                        }
+                    }
+                    case "jdk.ObjectAllocationSample" ->
+                            allocationSites.add(site(className(event, "objectClass"), stackTrace),
+                                    event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter" ->
+                            contentionSites.add(site("monitor " + className(event, "monitorClass"), stackTrace),
+                                    event.getDuration().toMillis());
+                    case "jdk.ThreadPark" ->
+                            contentionSites.add(site("park " + className(event, "parkedClass"), stackTrace),
+                                    event.getDuration().toMillis());
+                    default -> {
+                        // Other events only count towards the total
+                    }
+                }
+            }
+        }
+        return new JfrSummary(recordingId, profile.name().toLowerCase(Locale.ROOT), events, executionSamples,
+                hotMethods.top(topN), hotApplicationMethods.top(topN),
+                allocationSites.top(topN), contentionSites.top(topN));
+    }
+
+    private static String site(String what, RecordedStackTrace stackTrace) {
+        RecordedFrame frame = applicationFrame(stackTrace);
+        return what + " at " + method(frame != null ? frame : stackTrace.getFrames().get(0));
+    }
+
+    private static RecordedFrame applicationFrame(RecordedStackTrace stackTrace) {
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method != null && method.getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    private static String method(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        return method == null ? "<unknown>" : method.getType().getName() + "." + method.getName();
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        if (!event.hasField(field)) {
+            return "<unknown>";
+        }
+        RecordedClass recordedClass = event.getValue(field);
+        return recordedClass == null ? "<unknown>" : recordedClass.getName();
+    }
+
+    private static final class Tally {
+
+        private final Map<String, long[]> sites = new HashMap<>();
+        private long total;
+
+        void add(String site, long amount) {
+            long[] counts = sites.computeIfAbsent(site, key -> new long[2]);
+            counts[0]++;
+            counts[1] += amount;
+            total += amount;
+        }
+
+        List<JfrSummary.Site> top(int limit) {
+            return sites.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                    .limit(limit)
+                    .map(entry -> new JfrSummary.Site(entry.getKey(), entry.getValue()[0], entry.getValue()[1],
+                            total == 0 ? 0 : (double) entry.getValue()[1] / total))
+                    .toList();
+        }
+    }
+}
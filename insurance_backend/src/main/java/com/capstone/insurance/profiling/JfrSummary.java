@@ -0,0 +1,27 @@
+package com.capstone.insurance.profiling;
+
+import java.util.List;
+
+/**
+ * What a recording found, ranked. Hot methods are the top frames of CPU samples and hot
+ * application methods the first frame inside com.capstone.insurance, which is usually the
+ * more useful of the two. Allocation sites are weighted by sampled bytes and contention
+ * sites by time spent blocked or parked.
+ */
+public record JfrSummary(
+        long recordingId,
+        String profile,
+        long eventCount,
+        long executionSamples,
+        List<Site> hotMethods,
+        List<Site> hotApplicationMethods,
+        List<Site> allocationSites,
+        List<Site> contentionSites) {
+
+    /**
+     * @param total samples for CPU, bytes for allocation, milliseconds for contention
+     * @param share fraction of the list's total, 0 to 1
+     */
+    public record Site(String site, long events, long total, double share) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.capstone.insurance.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches for virtual threads that block while pinned to their carrier thread, typically inside
+ * synchronized blocks in JDBC drivers or libraries, by streaming the jdk.VirtualThreadPinned
+ * JFR event in-process. Each occurrence is recorded in the virtual.threads.pinned timer and
+ * logged at WARN with the stack frame that holds the monitor, at most once a minute per site.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final long LOG_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+    // Sites remembered for log throttling; beyond this, sites are logged without throttling
+    private static final int MAX_TRACKED_SITES = 1000;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Map<String, Long> lastLogged = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinning-monitor-enabled:false}") boolean enabled,
+                                       @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinned = Timer.builder("virtual.threads.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recordingStream.startAsync();
+        stream = recordingStream;
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String site = site(event.getStackTrace());
+        long now = System.nanoTime();
+        Long previous = lastLogged.get(site);
+        if (previous != null && now - previous < LOG_INTERVAL_NANOS) {
+            return;
+        }
+        if (lastLogged.size() < MAX_TRACKED_SITES) {
+            lastLogged.put(site, now);
+        }
+        log.warn("Virtual thread {} pinned for {} ms at {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), site);
+    }
+
+    // The innermost frame outside the JDK, which is where the monitor is usually held
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack trace>";
+        }
+        RecordedFrame fallback = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method != null && !isJdk(method.getType().getName())) {
+                return format(frame);
+            }
+        }
+        return format(fallback);
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String format(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        if (method == null) {
+            return "<unknown>";
+        }
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
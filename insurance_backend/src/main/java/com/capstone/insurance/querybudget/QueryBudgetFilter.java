@@ -0,0 +1,100 @@
+package com.capstone.insurance.querybudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each HTTP request runs, including those made by the security
+ * filters, and publishes them as sql.statements (a summary per URI pattern). A request is
+ * logged at WARN when it runs more than max-statements, or when one statement shape runs
+ * repeat-threshold times or more, which is what an N+1 lookup looks like; those requests
+ * also count towards sql.repeated.requests.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    // Longest statement shape written to the log
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxStatements;
+    private final int repeatThreshold;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry,
+                             @Value("${app.query-budget.enabled:true}") boolean enabled,
+                             @Value("${app.query-budget.max-statements:30}") int maxStatements,
+                             @Value("${app.query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.Recording recording = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recording.close();
+            report(request, recording);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Recording recording) {
+        // The mapped pattern, not the raw path, so ids do not turn into separate series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("sql.statements")
+                .description("SQL statements run per HTTP request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(recording.total());
+
+        Map.Entry<String, Integer> repeated = recording.mostRepeated().orElse(null);
+        boolean repeatedShape = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (repeatedShape) {
+            Counter.builder("sql.repeated.requests")
+                    .description("Requests that ran one statement shape at least repeat-threshold times")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (repeatedShape || recording.total() > maxStatements) {
+            log.warn("{} {} ran {} SQL statements ({} distinct, budget {}); most repeated {}x: {}",
+                    request.getMethod(), uri, recording.total(), recording.distinct(), maxStatements,
+                    repeated.getValue(), abbreviate(repeated.getKey()));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} ran {} SQL statements ({} distinct)",
+                    request.getMethod(), uri, recording.total(), recording.distinct());
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL ? sql : sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+}
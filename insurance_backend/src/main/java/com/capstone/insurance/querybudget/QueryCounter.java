@@ -0,0 +1,144 @@
+package com.capstone.insurance.querybudget;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements prepared on the current thread while a {@link Recording} is open.
+ * Recordings nest: a statement counts towards every open recording on the thread, so a test
+ * can wrap a MockMvc call that the request filter also records. Work handed to other threads
+ * is only counted when the task is wrapped with {@link #propagate(Callable)}.
+ *
+ * Statements are grouped by shape, i.e. the SQL with literals and IN-list lengths blanked out,
+ * so the same query issued once per row of a result shows up as one shape with a high count.
+ */
+public final class QueryCounter {
+
+    // Distinct shapes kept per recording; beyond this only the total is counted
+    static final int MAX_SHAPES = 256;
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryCounter() {
+    }
+
+    /** Opens a recording on this thread; close it on the same thread. */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * Wraps a task so the statements it runs count towards the recordings open on the calling
+     * thread, wherever the task ends up running. Returns the task itself when nothing is recording.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Recording recording = CURRENT.get();
+        if (recording == null) {
+            return task;
+        }
+        return () -> {
+            Recording previous = CURRENT.get();
+            CURRENT.set(recording);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    static void record(String sql) {
+        Recording current = CURRENT.get();
+        if (current == null || sql == null) {
+            return;
+        }
+        String shape = shape(sql);
+        for (Recording recording = current; recording != null; recording = recording.parent) {
+            recording.add(shape);
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /** Safe to add to from several threads once tasks have been {@linkplain #propagate propagated}. */
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private int total;
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private synchronized void add(String shape) {
+            if (closed) {
+                return;
+            }
+            total++;
+            if (shapes.size() < MAX_SHAPES || shapes.containsKey(shape)) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public synchronized int total() {
+            return total;
+        }
+
+        public synchronized int distinct() {
+            return shapes.size();
+        }
+
+        /** Statement shapes in first-seen order with how often each ran. */
+        public synchronized Map<String, Integer> shapes() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(shapes));
+        }
+
+        /** The shape that ran most often, if any ran at all. */
+        public synchronized Optional<Map.Entry<String, Integer>> mostRepeated() {
+            return shapes.entrySet().stream()
+                    .max(Comparator.comparingInt(Map.Entry::getValue))
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()));
+        }
+
+        /** Stops counting and makes the enclosing recording, if any, current again. */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.capstone.insurance.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every SQL statement Hibernate prepares to {@link QueryCounter}, unchanged. Registered
+ * through hibernate.session_factory.statement_inspector, so it also runs in JPA test slices.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not counted; only background
+ * jobs use it.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
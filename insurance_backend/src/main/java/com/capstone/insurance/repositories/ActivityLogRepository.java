@@ -1,7 +1,51 @@
 package com.capstone.insurance.repositories;
 
+import com.capstone.insurance.dto.activity.ActivityLogDto;
 import com.capstone.insurance.entities.ActivityLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>,
+        JpaSpecificationExecutor<ActivityLog> {
+
+    // Latest activity of a customer's login user, resolved through the customer in the same query
+    @Query("select new com.capstone.insurance.dto.activity.ActivityLogDto(" +
+           "a.id, u.id, u.username, a.actionType, a.details, a.claimId, a.oldStatus, a.newStatus, " +
+           "a.createdAt, a.updatedAt) " +
+           "from ActivityLog a join a.user u, Customer c " +
+           "where c.id = :customerId and c.user = u " +
+           "order by a.createdAt desc")
+    List<ActivityLogDto> findRecentDtosByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
+
+    @Query("select min(a.createdAt) from ActivityLog a")
+    LocalDateTime findOldestCreatedAt();
+
+    @Query("select distinct a.actionType from ActivityLog a where a.createdAt >= :from and a.createdAt < :to")
+    List<String> findActionTypesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Row of [min id, max id] in a time range, so archive chunks can walk the primary key
+    @Query("select min(a.id), max(a.id) from ActivityLog a where a.createdAt >= :from and a.createdAt < :to")
+    List<Object[]> findIdRangeBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.capstone.insurance.dto.activity.ActivityLogDto(" +
+           "a.id, u.id, u.username, a.actionType, a.details, a.claimId, a.oldStatus, a.newStatus, " +
+           "a.createdAt, a.updatedAt) " +
+           "from ActivityLog a join a.user u " +
+           "where a.id > :afterId and a.id <= :maxId " +
+           "and a.createdAt >= :from and a.createdAt < :to and a.actionType in :actionTypes " +
+           "order by a.id")
+    List<ActivityLogDto> findArchiveChunk(@Param("afterId") Long afterId,
+                                          @Param("maxId") Long maxId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("actionTypes") Collection<String> actionTypes,
+                                          Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package com.capstone.insurance.repositories;
+
+import com.capstone.insurance.entities.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
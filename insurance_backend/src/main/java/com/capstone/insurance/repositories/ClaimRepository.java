@@ -6,8 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,4 +39,22 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     
     // Find all claims sorted by createdAt descending (newest first)
     List<Claim> findAll(Sort sort);
+
+    // Rows of [Claim, policyNumber]: the customer's latest claims with their policy numbers in one query
+    @Query("select c, cp.policyNumber from Claim c " +
+           "left join CustomerPolicy cp on cp.customer = c.customer and cp.policy = c.policy " +
+           "where c.customer.id = :customerId " +
+           "order by c.createdAt desc")
+    List<Object[]> findRecentWithPolicyNumberByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
+
+    // Rows of [claim id, policyNumber] for the given claims that have a matching assignment
+    @Query("select c.id, cp.policyNumber from Claim c " +
+           "join CustomerPolicy cp on cp.customer = c.customer and cp.policy = c.policy " +
+           "where c.id in :claimIds")
+    List<Object[]> findPolicyNumbersByClaimIds(@Param("claimIds") Collection<Long> claimIds);
+
+    // Rows of [status, count, total amount] for one customer's claims
+    @Query("select c.status, count(c), coalesce(sum(c.claimAmount), 0) from Claim c " +
+           "where c.customer.id = :customerId group by c.status")
+    List<Object[]> summarizeByStatusForCustomer(@Param("customerId") UUID customerId);
 }
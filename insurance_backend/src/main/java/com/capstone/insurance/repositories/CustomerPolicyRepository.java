@@ -1,9 +1,13 @@
 package com.capstone.insurance.repositories;
 
+import com.capstone.insurance.dto.policy.CustomerPolicyDto;
 import com.capstone.insurance.entities.CustomerPolicy;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +22,30 @@ public interface CustomerPolicyRepository extends JpaRepository<CustomerPolicy,
     
     // Find all customer policies sorted by createdAt descending (newest first)
     List<CustomerPolicy> findAll(Sort sort);
+
+    // Which of the given customers already hold the policy (one set-based lookup per chunk)
+    @Query("select cp.customer.id from CustomerPolicy cp " +
+           "where cp.policy.id = :policyId and cp.customer.id in :customerIds")
+    List<UUID> findAssignedCustomerIds(@Param("policyId") UUID policyId,
+                                       @Param("customerIds") Collection<UUID> customerIds);
+
+    // Holders of the given policies, with the customer fetched for copying onto renewed terms
+    @Query("select cp from CustomerPolicy cp join fetch cp.customer where cp.policy.id in :policyIds")
+    List<CustomerPolicy> findWithCustomerByPolicyIds(@Param("policyIds") Collection<UUID> policyIds);
+
+    @Query("select cp.policyNumber from CustomerPolicy cp where cp.policyNumber in :numbers")
+    List<String> findExistingPolicyNumbers(@Param("numbers") Collection<String> numbers);
+
+    // User ids of the customers holding any of the given policies, for evicting their cached policy lists
+    @Query("select distinct cp.customer.user.id from CustomerPolicy cp where cp.policy.id in :policyIds")
+    List<Long> findHolderUserIdsByPolicyIds(@Param("policyIds") Collection<UUID> policyIds);
+
+    // A customer's policies joined with Policy and sorted in SQL, newest assignment first
+    @Query("select new com.capstone.insurance.dto.policy.CustomerPolicyDto(" +
+           "p.id, p.policyCode, cp.policyNumber, p.policyType, p.coverageAmount, " +
+           "p.startDate, p.endDate, p.status, cp.createdAt, cp.updatedAt) " +
+           "from CustomerPolicy cp join cp.policy p " +
+           "where cp.customer.id = :customerId " +
+           "order by cp.createdAt desc")
+    List<CustomerPolicyDto> findPolicyDtosByCustomerId(@Param("customerId") UUID customerId);
 }
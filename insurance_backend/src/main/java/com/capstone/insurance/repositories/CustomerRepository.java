@@ -1,9 +1,14 @@
 package com.capstone.insurance.repositories;
 
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
 import com.capstone.insurance.entities.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,9 +21,39 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
     Optional<Customer> findByUserId(Long userId);
 
-    // Find the highest customer code to generate next one
-    Optional<Customer> findTopByOrderByCustomerCodeDesc();
+    @Query("select c.id from Customer c where c.user.id = :userId")
+    Optional<UUID> findIdByUserId(@Param("userId") Long userId);
+
+    // Highest customer code first; codes are zero-padded to 4 digits, so past CUS9999 the longer code is newer
+    @Query("select c.customerCode from Customer c order by length(c.customerCode) desc, c.customerCode desc")
+    List<String> findLatestCustomerCodes(Pageable pageable);
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
     
     // Find all customers sorted by createdAt descending (newest first)
     List<Customer> findAll(Sort sort);
+
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select c.user.id from Customer c where c.id in :ids")
+    List<Long> findUserIdsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select c.id from Customer c where lower(c.email) like :pattern order by c.id")
+    List<UUID> findIdsByEmailLike(@Param("pattern") String pattern);
+
+    // Keyset page of lightweight rows used to build the typeahead index
+    @Query("select new com.capstone.insurance.dto.customer.CustomerSuggestionDto(" +
+           "c.id, c.customerCode, c.name, c.email, c.phone) " +
+           "from Customer c where c.id > :afterId order by c.id")
+    List<CustomerSuggestionDto> findSuggestionPage(@Param("afterId") UUID afterId, Pageable pageable);
+
+    // Database fallback for typeahead while the in-memory index is still loading
+    @Query("select new com.capstone.insurance.dto.customer.CustomerSuggestionDto(" +
+           "c.id, c.customerCode, c.name, c.email, c.phone) " +
+           "from Customer c where lower(c.customerCode) like :prefix escape '\\' " +
+           "or lower(c.email) like :prefix escape '\\' or lower(c.name) like :prefix escape '\\' " +
+           "or c.phone like :prefix escape '\\' order by c.name")
+    List<CustomerSuggestionDto> findSuggestionsByPrefix(@Param("prefix") String prefix, Pageable pageable);
 }
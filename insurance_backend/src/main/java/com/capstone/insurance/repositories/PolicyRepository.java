@@ -3,14 +3,22 @@ package com.capstone.insurance.repositories;
 import com.capstone.insurance.entities.Policy;
 import com.capstone.insurance.entities.enums.PolicyStatus;
 import com.capstone.insurance.entities.enums.PolicyType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface PolicyRepository extends JpaRepository<Policy, UUID> {
+public interface PolicyRepository extends JpaRepository<Policy, UUID>, JpaSpecificationExecutor<Policy> {
 
     Optional<Policy> findByPolicyCode(String policyCode);
 
@@ -18,8 +26,28 @@ public interface PolicyRepository extends JpaRepository<Policy, UUID> {
 
     List<Policy> findByStatus(PolicyStatus status);
 
-    Optional<Policy> findTopByOrderByPolicyCodeDesc();
+    // Highest POL code first; codes are zero-padded to 4 digits, so past POL9999 the longer code is
+    // newer. Renewal codes (POL0001-R1) are derived from their original and left out
+    @Query("select p.policyCode from Policy p where p.policyCode not like '%-%' " +
+           "order by length(p.policyCode) desc, p.policyCode desc")
+    List<String> findLatestPolicyCodes(Pageable pageable);
     
     // Find all policies sorted by createdAt descending (newest first)
     List<Policy> findAll(Sort sort);
+
+    // Keyset page of policy ids whose term ended before the cutoff, ordered by id
+    @Query("select p.id from Policy p where p.status = :status and p.endDate < :cutoff " +
+           "and p.id > :afterId order by p.id")
+    List<UUID> findIdsEndedBefore(@Param("status") PolicyStatus status,
+                                  @Param("cutoff") LocalDate cutoff,
+                                  @Param("afterId") UUID afterId,
+                                  Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Policy p set p.status = :newStatus, p.updatedAt = :now " +
+           "where p.id in :ids and p.status = :currentStatus")
+    int updateStatusByIds(@Param("ids") Collection<UUID> ids,
+                          @Param("currentStatus") PolicyStatus currentStatus,
+                          @Param("newStatus") PolicyStatus newStatus,
+                          @Param("now") LocalDateTime now);
 }
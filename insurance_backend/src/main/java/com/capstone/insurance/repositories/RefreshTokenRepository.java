@@ -2,20 +2,60 @@ package com.capstone.insurance.repositories;
 
 import com.capstone.insurance.entities.RefreshToken;
 import com.capstone.insurance.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    
-    Optional<RefreshToken> findByToken(String token);
-    
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    Optional<RefreshToken> findByPreviousTokenHash(String tokenHash);
+
     Optional<RefreshToken> findByUser(User user);
-    
+
     @Modifying
     int deleteByUser(User user);
-}
 
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Login: replaces whatever token the user had, in place
+    @Modifying
+    @Query("""
+            update RefreshToken r
+               set r.tokenHash = :tokenHash, r.previousTokenHash = null,
+                   r.expiryDate = :expiryDate, r.updatedAt = :now
+             where r.user.id = :userId
+            """)
+    int replaceForUser(@Param("userId") Long userId,
+                       @Param("tokenHash") String tokenHash,
+                       @Param("expiryDate") Instant expiryDate,
+                       @Param("now") LocalDateTime now);
+
+    // Refresh: only succeeds while the presented token is still the current one
+    @Modifying
+    @Query("""
+            update RefreshToken r
+               set r.tokenHash = :nextHash, r.previousTokenHash = :currentHash,
+                   r.expiryDate = :expiryDate, r.updatedAt = :now
+             where r.tokenHash = :currentHash
+            """)
+    int rotate(@Param("currentHash") String currentHash,
+               @Param("nextHash") String nextHash,
+               @Param("expiryDate") Instant expiryDate,
+               @Param("now") LocalDateTime now);
+
+    @Query("select r.id from RefreshToken r where r.expiryDate < :now order by r.id")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+}
@@ -2,7 +2,13 @@ package com.capstone.insurance.repositories;
 
 import com.capstone.insurance.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +16,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Rows of [id, enabled, tokenVersion] for every account whose older access tokens must be refused
+    @Query("select u.id, u.enabled, u.tokenVersion from User u where u.enabled = false or u.tokenVersion > 0")
+    List<Object[]> findAccessOverrides();
+
+    // Only replaces the hash it was computed from, so a concurrent password change wins
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int upgradePasswordHash(@Param("id") Long id,
+                            @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
+
+    // Rows of [username, id], used to link batch-inserted users to their customers
+    @Query("select u.username, u.id from User u where u.username in :usernames")
+    List<Object[]> findIdsByUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
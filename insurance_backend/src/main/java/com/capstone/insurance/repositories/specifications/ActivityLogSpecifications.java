@@ -0,0 +1,64 @@
+package com.capstone.insurance.repositories.specifications;
+
+import com.capstone.insurance.dto.activity.ActivityLogSearchCriteria;
+import com.capstone.insurance.entities.ActivityLog;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the WHERE clause for activity log search, newest first. Each filter maps to a leading
+ * column of one of the indexes declared on ActivityLog, and the keyset condition continues from
+ * the last row of the previous page instead of skipping over an OFFSET.
+ */
+public final class ActivityLogSpecifications {
+
+    private ActivityLogSpecifications() {
+    }
+
+    /**
+     * @param afterCreatedAt createdAt of the last row already returned, or null for the first page
+     * @param afterId        id of that row
+     */
+    public static Specification<ActivityLog> matching(ActivityLogSearchCriteria c,
+                                                      LocalDateTime afterCreatedAt, Long afterId) {
+        return (root, query, cb) -> {
+            // Usernames are shown for every row; fetch them in the same query
+            if (query.getResultType() == ActivityLog.class) {
+                root.fetch("user", JoinType.INNER);
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (c.getUserId() != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), c.getUserId()));
+            }
+            if (c.getActionType() != null && !c.getActionType().isBlank()) {
+                predicates.add(cb.equal(root.get("actionType"), c.getActionType().trim()));
+            }
+            if (c.getClaimId() != null) {
+                predicates.add(cb.equal(root.get("claimId"), c.getClaimId()));
+            }
+            if (c.getNewStatus() != null) {
+                predicates.add(cb.equal(root.get("newStatus"), c.getNewStatus().name()));
+            }
+            if (c.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), c.getFrom()));
+            }
+            if (c.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), c.getTo()));
+            }
+            if (afterCreatedAt != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), afterCreatedAt),
+                        cb.and(cb.equal(root.get("createdAt"), afterCreatedAt),
+                                cb.lessThan(root.get("id"), afterId))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
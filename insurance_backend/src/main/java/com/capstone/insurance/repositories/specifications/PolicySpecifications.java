@@ -0,0 +1,62 @@
+package com.capstone.insurance.repositories.specifications;
+
+import com.capstone.insurance.dto.policy.PolicySearchCriteria;
+import com.capstone.insurance.entities.Policy;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the WHERE clause for policy search. Only the supplied criteria become predicates,
+ * so the database can pick the narrowest index (see the indexes declared on Policy).
+ */
+public final class PolicySpecifications {
+
+    private PolicySpecifications() {
+    }
+
+    public static Specification<Policy> matching(PolicySearchCriteria c) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (c.getPolicyType() != null) {
+                predicates.add(cb.equal(root.get("policyType"), c.getPolicyType()));
+            }
+            if (c.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), c.getStatus()));
+            }
+            if (c.getMinCoverage() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("coverageAmount"), c.getMinCoverage()));
+            }
+            if (c.getMaxCoverage() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("coverageAmount"), c.getMaxCoverage()));
+            }
+            if (c.getStartFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), c.getStartFrom()));
+            }
+            if (c.getStartTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startDate"), c.getStartTo()));
+            }
+            if (c.getEndFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endDate"), c.getEndFrom()));
+            }
+            if (c.getEndTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), c.getEndTo()));
+            }
+            if (c.getCodePrefix() != null && !c.getCodePrefix().isBlank()) {
+                // Prefix LIKE with no leading wildcard can use the unique index on policy_code
+                String prefix = escapeLike(c.getCodePrefix().trim().toUpperCase(Locale.ROOT));
+                predicates.add(cb.like(root.get("policyCode"), prefix + "%", '\\'));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
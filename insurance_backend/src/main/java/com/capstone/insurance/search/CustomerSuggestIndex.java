@@ -0,0 +1,500 @@
+package com.capstone.insurance.search;
+
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
+import com.capstone.insurance.repositories.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory prefix index for admin customer typeahead over name, email, phone and customer code.
+ *
+ * Terms are not stored as strings. Each term is a long pointer (document, field, offset) into the
+ * customer's own field values, and the base segment is a sorted long[] of those pointers, so a
+ * million customers cost roughly 8 bytes per term on top of the entries themselves. Lookups are a
+ * binary search followed by a forward scan capped at {@code maxScan} pointers, which bounds latency
+ * regardless of index size.
+ *
+ * Writes go to a small sorted delta map and replace the customer's previous entry. When the delta
+ * or the number of replaced entries grows past a threshold the segment is rebuilt on a background
+ * thread; writes keep appending to the old segment meanwhile and are replayed onto the new one
+ * before it is swapped in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerSuggestIndex {
+
+    private static final int NAME = 0;
+    private static final int EMAIL = 1;
+    private static final int PHONE = 2;
+    private static final int CODE = 3;
+
+    private static final int MAX_NAME_TOKENS = 8;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final CustomerRepository customerRepository;
+
+    @Value("${app.customer-suggest.delta-threshold:50000}")
+    private int deltaThreshold = 50_000;
+
+    @Value("${app.customer-suggest.max-scan:500}")
+    private int maxScan = 500;
+
+    @Value("${app.customer-suggest.load-batch-size:10000}")
+    private int loadBatchSize = 10_000;
+
+    // Guards appends and segment swaps; held only briefly, never while a segment is built
+    private final Object writeLock = new Object();
+    // Serializes rebuilds so a reload and a compaction never swap in segments built from the same snapshot
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+    private Executor compactionExecutor = task -> Thread.ofVirtual().name("customer-suggest-compactor").start(task);
+    private volatile Segment segment = Segment.build(List.of());
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("customer-suggest-loader").start(() -> {
+            try {
+                reload();
+            } catch (RuntimeException ex) {
+                log.error("Customer typeahead index failed to load; falling back to database lookups", ex);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the index from the customers table. Loaded rows replace what the index held, but
+     * writes that happen while loading are kept, since they are newer than whatever the load read.
+     */
+    public void reload() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            // Marked before reading, so only documents appended during the load are replayed over it
+            Mark mark = mark();
+            Map<UUID, CustomerSuggestionDto> loaded = new LinkedHashMap<>();
+            UUID afterId = MIN_ID;
+            while (true) {
+                List<CustomerSuggestionDto> page =
+                        customerRepository.findSuggestionPage(afterId, PageRequest.of(0, loadBatchSize));
+                for (CustomerSuggestionDto c : page) {
+                    loaded.put(c.getId(), c);
+                }
+                if (page.size() < loadBatchSize) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+
+            swapIn(mark, loaded);
+            ready = true;
+            log.info("Customer typeahead index loaded {} customers in {} ms",
+                    loaded.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces a customer. Inside a transaction the change is applied after commit,
+     * so rolled-back writes never become visible in suggestions.
+     */
+    public void upsertAfterCommit(CustomerSuggestionDto customer) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    upsert(customer);
+                }
+            });
+        } else {
+            upsert(customer);
+        }
+    }
+
+    public void upsert(CustomerSuggestionDto customer) {
+        Entry entry = Entry.of(customer);
+        int deltaSize;
+        synchronized (writeLock) {
+            Segment seg = segment;
+            seg.append(entry);
+            deltaSize = seg.delta.size();
+        }
+        // Replacements leave dead pointers behind as well, so delta size covers both cases
+        if (deltaSize > deltaThreshold && compactionPending.compareAndSet(false, true)) {
+            compactionExecutor.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        try {
+            long started = System.nanoTime();
+            synchronized (rebuildLock) {
+                // Documents are in write order, so the last one per customer is the live one
+                Mark mark = mark();
+                Map<UUID, CustomerSuggestionDto> live = new LinkedHashMap<>();
+                Entry[] docs = mark.segment().docs;
+                for (int doc = 0; doc < mark.docCount(); doc++) {
+                    live.put(docs[doc].id(), docs[doc].toDto());
+                }
+                swapIn(mark, live);
+            }
+            log.debug("Customer typeahead index compacted in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Customer typeahead index compaction failed; lookups keep using the delta", ex);
+        } finally {
+            compactionPending.set(false);
+        }
+    }
+
+    // The current segment and how many documents it held; callers hold rebuildLock, so no other swap intervenes
+    private Mark mark() {
+        synchronized (writeLock) {
+            Segment seg = segment;
+            return new Mark(seg, seg.docCount);
+        }
+    }
+
+    /**
+     * Builds a new segment from {@code entries} outside the write lock, then replays the documents
+     * appended to the marked segment since the mark and swaps the new one in, so no write is lost.
+     */
+    private void swapIn(Mark mark, Map<UUID, CustomerSuggestionDto> entries) {
+        Segment rebuilt = Segment.build(entries.values());
+        synchronized (writeLock) {
+            Segment seg = mark.segment();
+            Entry[] current = seg.docs;
+            for (int doc = mark.docCount(); doc < seg.docCount; doc++) {
+                rebuilt.append(current[doc]);
+            }
+            segment = rebuilt;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} customers with a name word, email, phone digits or code starting
+     * with the query, ordered by the matched term.
+     */
+    public List<CustomerSuggestionDto> suggest(String query, int limit) {
+        String prefix = lower(query.trim(), 0);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Segment seg = segment;
+        Map<Integer, Match> matches = new HashMap<>();
+        seg.collect(prefix, limit, maxScan, matches);
+
+        String digits = prefix.replaceAll("\\D", "");
+        if (!digits.isEmpty() && !digits.equals(prefix)) {
+            seg.collect(digits, limit, maxScan, matches);
+        }
+
+        return matches.values().stream()
+                .sorted(Comparator.comparing(Match::term).thenComparing(m -> m.entry().id()))
+                .limit(limit)
+                .map(m -> m.entry().toDto())
+                .toList();
+    }
+
+    public int size() {
+        return segment.docIds.size();
+    }
+
+    int deltaSize() {
+        return segment.delta.size();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    private record Match(String term, Entry entry) {
+    }
+
+    private record Mark(Segment segment, int docCount) {
+    }
+
+    private record Entry(UUID id, String customerCode, String name, String email, String phone, String phoneDigits) {
+
+        static Entry of(CustomerSuggestionDto c) {
+            String digits = c.getPhone() == null ? "" : c.getPhone().replaceAll("\\D", "");
+            return new Entry(c.getId(), nullToEmpty(c.getCustomerCode()), nullToEmpty(c.getName()),
+                    nullToEmpty(c.getEmail()), c.getPhone(), digits);
+        }
+
+        String field(int field) {
+            return switch (field) {
+                case NAME -> name;
+                case EMAIL -> email;
+                case PHONE -> phoneDigits;
+                default -> customerCode;
+            };
+        }
+
+        CustomerSuggestionDto toDto() {
+            return new CustomerSuggestionDto(id, customerCode, name, email, phone);
+        }
+    }
+
+    /**
+     * One generation of the index: the entries (including replaced ones), a sorted pointer array
+     * over them, the live document per customer and the delta written since. Readers take a
+     * reference once and use it throughout, so a rebuild never mixes document numbering between
+     * generations.
+     */
+    private static final class Segment {
+
+        // Written under the owner's write lock; readers go without it, so both are volatile
+        private volatile Entry[] docs;
+        private volatile int docCount;
+        private final long[] base;
+        private final Map<UUID, Integer> docIds;
+        private final ConcurrentSkipListMap<String, Long> delta = new ConcurrentSkipListMap<>();
+
+        private Segment(Entry[] docs, int docCount, long[] base, Map<UUID, Integer> docIds) {
+            this.docs = docs;
+            this.docCount = docCount;
+            this.base = base;
+            this.docIds = docIds;
+        }
+
+        static Segment build(Collection<CustomerSuggestionDto> customers) {
+            Entry[] docs = new Entry[Math.max(customers.size() * 5 / 4, 1024)];
+            Map<UUID, Integer> docIds = new ConcurrentHashMap<>(customers.size() * 2);
+            List<Long> pointers = new ArrayList<>(customers.size() * 4);
+            int count = 0;
+            for (CustomerSuggestionDto c : customers) {
+                Entry entry = Entry.of(c);
+                docs[count] = entry;
+                docIds.put(entry.id(), count);
+                addPointers(count, entry, pointers::add);
+                count++;
+            }
+
+            Entry[] finalDocs = docs;
+            Long[] boxed = pointers.toArray(new Long[0]);
+            Arrays.parallelSort(boxed, (a, b) -> comparePointers(finalDocs, a, b));
+
+            long[] base = new long[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                base[i] = boxed[i];
+            }
+            return new Segment(docs, count, base, docIds);
+        }
+
+        // The entry is stored before docCount, docIds and the delta publish it, so a reader that
+        // finds the document through any of them also sees the entry
+        void append(Entry entry) {
+            Entry[] target = docs;
+            int doc = docCount;
+            if (doc == target.length) {
+                target = Arrays.copyOf(target, target.length * 2);
+            }
+            target[doc] = entry;
+            docs = target;
+            docCount = doc + 1;
+            // The previous entry stays in place because base pointers still sort against it;
+            // docIds decides which document is live
+            docIds.put(entry.id(), doc);
+            Entry[] current = docs;
+            addPointers(doc, entry, p -> delta.put(deltaKey(current, p), p));
+        }
+
+        /**
+         * Adds up to {@code limit} matching documents from the base array and the delta into
+         * {@code out}, keeping the smallest matched term per document.
+         */
+        void collect(String prefix, int limit, int maxScan, Map<Integer, Match> out) {
+            Entry[] current = docs;
+
+            int found = 0;
+            int scanned = 0;
+            for (int i = lowerBound(current, prefix); i < base.length && found < limit && scanned < maxScan;
+                 i++, scanned++) {
+                long p = base[i];
+                if (!startsWith(current, p, prefix)) {
+                    break;
+                }
+                if (accept(current, p, out)) {
+                    found++;
+                }
+            }
+
+            found = 0;
+            scanned = 0;
+            for (Map.Entry<String, Long> e : delta.tailMap(prefix).entrySet()) {
+                if (found >= limit || scanned++ >= maxScan || !e.getKey().startsWith(prefix)) {
+                    break;
+                }
+                if (accept(docs, e.getValue(), out)) {
+                    found++;
+                }
+            }
+        }
+
+        private boolean accept(Entry[] docs, long p, Map<Integer, Match> out) {
+            int doc = doc(p);
+            Entry entry = doc < docs.length ? docs[doc] : null;
+            if (entry == null || !Integer.valueOf(doc).equals(docIds.get(entry.id()))) {
+                return false;
+            }
+            String term = lower(entry.field(field(p)), offset(p));
+            Match existing = out.get(doc);
+            if (existing == null || term.compareTo(existing.term()) < 0) {
+                out.put(doc, new Match(term, entry));
+                return existing == null;
+            }
+            return false;
+        }
+
+        private int lowerBound(Entry[] current, String prefix) {
+            int lo = 0;
+            int hi = base.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compareTerm(current, base[mid], prefix) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Pointer layout: document (44 bits) | field (4 bits) | offset into the field value (16 bits)
+
+    private static long pointer(int doc, int field, int offset) {
+        return ((long) doc << 20) | ((long) field << 16) | offset;
+    }
+
+    private static int doc(long p) {
+        return (int) (p >>> 20);
+    }
+
+    private static int field(long p) {
+        return (int) ((p >>> 16) & 0xF);
+    }
+
+    private static int offset(long p) {
+        return (int) (p & 0xFFFF);
+    }
+
+    private interface PointerSink {
+        void add(long pointer);
+    }
+
+    private static void addPointers(int doc, Entry e, PointerSink sink) {
+        // Every word of the name is searchable: "smi" finds "John Smith"
+        String name = e.name();
+        int tokens = 0;
+        for (int i = 0; i < name.length() && i <= MAX_OFFSET && tokens < MAX_NAME_TOKENS; i++) {
+            boolean tokenStart = Character.isLetterOrDigit(name.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)));
+            if (tokenStart) {
+                sink.add(pointer(doc, NAME, i));
+                tokens++;
+            }
+        }
+
+        // Email from the start and from the domain
+        String email = e.email();
+        if (!email.isEmpty()) {
+            sink.add(pointer(doc, EMAIL, 0));
+            int at = email.indexOf('@');
+            if (at >= 0 && at + 1 < email.length() && at + 1 <= MAX_OFFSET) {
+                sink.add(pointer(doc, EMAIL, at + 1));
+            }
+        }
+        if (!e.phoneDigits().isEmpty()) {
+            sink.add(pointer(doc, PHONE, 0));
+        }
+        if (!e.customerCode().isEmpty()) {
+            sink.add(pointer(doc, CODE, 0));
+        }
+    }
+
+    private static int comparePointers(Entry[] docs, long a, long b) {
+        String sa = docs[doc(a)].field(field(a));
+        String sb = docs[doc(b)].field(field(b));
+        int ia = offset(a);
+        int ib = offset(b);
+        while (ia < sa.length() && ib < sb.length()) {
+            int cmp = Character.compare(Character.toLowerCase(sa.charAt(ia++)), Character.toLowerCase(sb.charAt(ib++)));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        int cmp = Integer.compare(sa.length() - ia, sb.length() - ib);
+        return cmp != 0 ? cmp : Long.compare(a, b);
+    }
+
+    // Compares the term a pointer refers to against an already lower-cased string
+    private static int compareTerm(Entry[] docs, long p, String other) {
+        String s = docs[doc(p)].field(field(p));
+        int i = offset(p);
+        int j = 0;
+        while (i < s.length() && j < other.length()) {
+            int cmp = Character.compare(Character.toLowerCase(s.charAt(i++)), other.charAt(j++));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(s.length() - i, other.length() - j);
+    }
+
+    private static boolean startsWith(Entry[] docs, long p, String prefix) {
+        String s = docs[doc(p)].field(field(p));
+        int off = offset(p);
+        if (s.length() - off < prefix.length()) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length(); j++) {
+            if (Character.toLowerCase(s.charAt(off + j)) != prefix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Delta keys sort like base terms: lower-cased term, then the pointer for uniqueness
+    private static String deltaKey(Entry[] docs, long p) {
+        return lower(docs[doc(p)].field(field(p)), offset(p)) + '\u0000' + String.format("%016x", p);
+    }
+
+    // Char-by-char lower-casing, matching the comparisons above (String.toLowerCase can change length)
+    private static String lower(String s, int from) {
+        char[] out = new char[s.length() - from];
+        for (int i = from; i < s.length(); i++) {
+            out[i - from] = Character.toLowerCase(s.charAt(i));
+        }
+        return new String(out);
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
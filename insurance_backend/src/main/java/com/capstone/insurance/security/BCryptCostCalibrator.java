@@ -0,0 +1,40 @@
+package com.capstone.insurance.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost for this machine. One hash is timed at the minimum cost; since each
+ * extra cost step doubles the work, the highest cost whose estimated time fits the target is
+ * derived from that single measurement. The result never goes below the minimum, so a slow
+ * host gets slower logins rather than weaker hashes.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        // Warm up the JIT so the timed run measures hashing, not class loading
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(minCost));
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        int cost = minCost;
+        long estimate = elapsed;
+        while (cost < maxCost && estimate * 2 <= target.toNanos()) {
+            cost++;
+            estimate *= 2;
+        }
+        log.info("BCrypt cost {} selected: cost {} took {} ms, target {} ms, estimated {} ms",
+                cost, minCost, elapsed / 1_000_000, target.toMillis(), estimate / 1_000_000);
+        return cost;
+    }
+}
@@ -2,6 +2,7 @@ package com.capstone.insurance.security;
 
 import com.capstone.insurance.entities.Customer;
 import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.Role;
 import com.capstone.insurance.repositories.CustomerRepository;
 import com.capstone.insurance.repositories.UserRepository;
 import com.capstone.insurance.security.model.UserPrincipal;
@@ -12,6 +13,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,16 +30,29 @@ public class CustomUserDetailsService implements UserDetailsService {
         Optional<User> userOpt = userRepository.findByUsername(usernameOrEmail);
         
         // If not found by username, try to find by email (for customers)
+        UUID customerId = null;
         if (userOpt.isEmpty()) {
             Optional<Customer> customerOpt = customerRepository.findByEmail(usernameOrEmail);
             if (customerOpt.isPresent()) {
                 userOpt = Optional.of(customerOpt.get().getUser());
+                customerId = customerOpt.get().getId();
             }
         }
 
         User user = userOpt.orElseThrow(() ->
                 new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
 
-        return new UserPrincipal(user);
+        return customerId != null ? new UserPrincipal(user, customerId) : principalFor(user);
+    }
+
+    /**
+     * Principal for a user that is already loaded, e.g. the owner of a rotated refresh token.
+     * Only the customer id is looked up; it goes into the access token so requests never have to.
+     */
+    public UserPrincipal principalFor(User user) {
+        UUID customerId = user.getRole() == Role.CUSTOMER
+                ? customerRepository.findIdByUserId(user.getId()).orElse(null)
+                : null;
+        return new UserPrincipal(user, customerId);
     }
 }
@@ -0,0 +1,55 @@
+package com.capstone.insurance.security;
+
+import com.capstone.insurance.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the few accounts whose access tokens must be refused: disabled users and
+ * users whose token version was bumped by a role change. Requests are authenticated from token
+ * claims alone and only consult this map.
+ *
+ * Changes made on this instance are applied right away; a periodic reload picks up changes made
+ * elsewhere. Versions only grow, so a reload never replaces newer state with older state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationCache {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, AccessState> overrides = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.security.revocation-refresh-ms:30000}",
+               initialDelayString = "${app.security.revocation-refresh-ms:30000}")
+    public void refresh() {
+        int count = 0;
+        for (Object[] row : userRepository.findAccessOverrides()) {
+            apply((Long) row[0], Boolean.TRUE.equals(row[1]), (Integer) row[2]);
+            count++;
+        }
+        log.debug("Token revocation cache refreshed with {} accounts", count);
+    }
+
+    public void apply(long userId, boolean enabled, int tokenVersion) {
+        overrides.merge(userId, new AccessState(enabled, tokenVersion),
+                (current, update) -> update.tokenVersion() >= current.tokenVersion() ? update : current);
+    }
+
+    /** Whether a token issued with {@code tokenVersion} is still good for this user. */
+    public boolean isAccepted(long userId, int tokenVersion) {
+        AccessState state = overrides.get(userId);
+        return state == null || (state.enabled() && tokenVersion >= state.tokenVersion());
+    }
+
+    private record AccessState(boolean enabled, int tokenVersion) {
+    }
+}
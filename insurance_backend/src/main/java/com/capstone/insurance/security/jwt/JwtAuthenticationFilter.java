@@ -1,7 +1,9 @@
 package com.capstone.insurance.security.jwt;
 
-import com.capstone.insurance.security.CustomUserDetailsService;
+import com.capstone.insurance.security.TokenRevocationCache;
 import com.capstone.insurance.security.model.UserPrincipal;
+import com.capstone.insurance.timing.RequestTiming;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +18,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -23,7 +26,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,29 +34,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
+        long start = System.nanoTime();
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.verifyToken(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                // Everything needed is in the verified token; only revocations are checked, in memory
+                UserPrincipal userDetails = tokenProvider.toPrincipal(claims.get());
+                if (tokenRevocationCache.isAccepted(userDetails.getId(), userDetails.getTokenVersion())) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities());
 
-                UserPrincipal userDetails =
-                        (UserPrincipal) customUserDetailsService.loadUserByUsername(username);
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities());
-
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    log.debug("Rejected access token for disabled or changed user {}", userDetails.getId());
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
+        RequestTiming.add(RequestTiming.Phase.AUTH, System.nanoTime() - start);
 
         filterChain.doFilter(request, response);
     }
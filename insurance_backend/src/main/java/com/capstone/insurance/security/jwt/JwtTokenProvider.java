@@ -1,33 +1,98 @@
 package com.capstone.insurance.security.jwt;
 
+import com.capstone.insurance.entities.enums.Role;
 import com.capstone.insurance.security.model.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_CUSTOMER_ID = "customerId";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     private final Key key;
     private final long jwtExpirationInMs;
+    // Immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser;
+    // Recently verified tokens, keyed by SHA-256 of the token and dropped when the token expires
+    private final Cache<String, Claims> verifiedTokens;
+    // Verification time split by outcome: answered from the cache, parsed and verified, or rejected
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
 
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms}") long jwtExpirationInMs) {
+            @Value("${app.jwt.expiration-ms}") long jwtExpirationInMs,
+            @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry) {
 
         byte[] keyBytes = Decoders.BASE64.decode(
                 isBase64(secret) ? secret : java.util.Base64.getEncoder().encodeToString(secret.getBytes())
         );
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.jwtExpirationInMs = jwtExpirationInMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long remainingMs = expiration != null
+                                ? expiration.getTime() - System.currentTimeMillis()
+                                : jwtExpirationInMs;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.cachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.rejectedTimer = verifyTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Time to verify a bearer token")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     public String generateToken(Authentication authentication) {
@@ -36,25 +101,43 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
-                .claim("role", userPrincipal.getRole().name())
-                .claim("userId", userPrincipal.getId())
+                .claim(CLAIM_ROLE, userPrincipal.getRole().name())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion());
+        if (userPrincipal.getCustomerId() != null) {
+            builder.claim(CLAIM_CUSTOMER_ID, userPrincipal.getCustomerId().toString());
+        }
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = parseClaims(token);
-        return claims.getSubject();
-    }
-
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token once and returns its claims, or empty if it is invalid or expired.
+     * A token seen recently is answered from the cache without parsing or checking the signature
+     * again; invalid tokens are never cached.
+     */
+    public Optional<Claims> verifyToken(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            log.warn("JWT claims string is empty.");
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        String tokenHash = sha256(authToken);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
         try {
-            parseClaims(authToken);
-            return true;
+            Claims claims = parseClaims(authToken);
+            verifiedTokens.put(tokenHash, claims);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(claims);
         } catch (SecurityException | MalformedJwtException ex) {
             log.warn("Invalid JWT signature");
         } catch (ExpiredJwtException ex) {
@@ -64,15 +147,43 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.warn("JWT claims string is empty.");
         }
-        return false;
+        rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+
+    /**
+     * Builds the request principal from verified claims. Tokens issued before the version
+     * claim existed count as version 0.
+     *
+     * @throws MalformedJwtException if the user id or role claim is missing
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            throw new MalformedJwtException("JWT is missing the userId or role claim");
+        }
+        String customerId = claims.get(CLAIM_CUSTOMER_ID, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                Role.valueOf(role),
+                customerId != null ? UUID.fromString(customerId) : null,
+                tokenVersion != null ? tokenVersion.intValue() : 0);
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private static boolean isBase64(String value) {
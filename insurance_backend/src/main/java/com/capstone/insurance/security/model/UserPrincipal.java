@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Getter
 public class UserPrincipal implements UserDetails {
@@ -18,13 +19,35 @@ public class UserPrincipal implements UserDetails {
     private final String password;
     private final Role role;
     private final boolean enabled;
+    private final UUID customerId; // Null for admins
+    private final int tokenVersion;
 
     public UserPrincipal(User user) {
+        this(user, null);
+    }
+
+    public UserPrincipal(User user, UUID customerId) {
         this.id = user.getId();
         this.username = user.getUsername();
         this.password = user.getPassword();
         this.role = user.getRole();
         this.enabled = Boolean.TRUE.equals(user.getEnabled());
+        this.customerId = customerId;
+        this.tokenVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+    }
+
+    /**
+     * Principal rebuilt from verified access token claims, without a database lookup.
+     * Whether the account is still enabled is checked against TokenRevocationCache.
+     */
+    public UserPrincipal(Long id, String username, Role role, UUID customerId, int tokenVersion) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.role = role;
+        this.enabled = true;
+        this.customerId = customerId;
+        this.tokenVersion = tokenVersion;
     }
 
     @Override
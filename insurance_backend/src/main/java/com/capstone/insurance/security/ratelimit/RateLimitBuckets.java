@@ -0,0 +1,31 @@
+package com.capstone.insurance.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Token buckets for one kind of key (user id, client IP, role). The map is bounded and drops
+ * buckets that have not been used for a while; a dropped bucket was full anyway once idle long
+ * enough, so eviction only forgets state that no longer matters.
+ */
+final class RateLimitBuckets {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    RateLimitBuckets(long maximumSize, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    TokenBucket.Probe tryConsume(String key, TokenBucket.Limit limit, long nowNanos) {
+        return buckets.get(key, k -> new TokenBucket(limit, nowNanos)).tryConsume(nowNanos);
+    }
+
+    long size() {
+        return buckets.estimatedSize();
+    }
+}
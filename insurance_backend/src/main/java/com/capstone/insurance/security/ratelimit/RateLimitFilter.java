@@ -0,0 +1,184 @@
+package com.capstone.insurance.security.ratelimit;
+
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.exceptions.ApiError;
+import com.capstone.insurance.security.model.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket throttling, placed right after JWT authentication:
+ * <ul>
+ *   <li>/api/auth/** is limited per client IP, since callers are not signed in yet;</li>
+ *   <li>other requests are limited per user id, with a budget that depends on the role;</li>
+ *   <li>all users of a role also share one bucket, capping the total load a role can cause.</li>
+ * </ul>
+ * Unauthenticated requests outside /api/auth/** are left to Spring Security to reject.
+ *
+ * Every limited response carries RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset for
+ * the tightest bucket involved; rejected requests get 429 with Retry-After. The client IP is
+ * the servlet remote address, so behind a proxy set server.forward-headers-strategy.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final TokenBucket.Limit authLimit;
+    private final Map<Role, TokenBucket.Limit> userLimits = new EnumMap<>(Role.class);
+    private final TokenBucket.Limit roleLimit;
+    private final RateLimitBuckets ipBuckets;
+    private final RateLimitBuckets userBuckets;
+    private final RateLimitBuckets roleBuckets;
+    private final Map<String, Counter> allowed;
+    private final Map<String, Counter> rejected;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.auth-capacity:20}") long authCapacity,
+                           @Value("${app.rate-limit.auth-per-minute:30}") long authPerMinute,
+                           @Value("${app.rate-limit.admin-capacity:200}") long adminCapacity,
+                           @Value("${app.rate-limit.admin-per-minute:1200}") long adminPerMinute,
+                           @Value("${app.rate-limit.customer-capacity:100}") long customerCapacity,
+                           @Value("${app.rate-limit.customer-per-minute:600}") long customerPerMinute,
+                           @Value("${app.rate-limit.role-capacity:2000}") long roleCapacity,
+                           @Value("${app.rate-limit.role-per-minute:30000}") long rolePerMinute,
+                           @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${app.rate-limit.idle-minutes:10}") long idleMinutes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.authLimit = new TokenBucket.Limit(authCapacity, authPerMinute);
+        this.userLimits.put(Role.ADMIN, new TokenBucket.Limit(adminCapacity, adminPerMinute));
+        this.userLimits.put(Role.CUSTOMER, new TokenBucket.Limit(customerCapacity, customerPerMinute));
+        this.roleLimit = new TokenBucket.Limit(roleCapacity, rolePerMinute);
+
+        Duration idle = Duration.ofMinutes(idleMinutes);
+        this.ipBuckets = new RateLimitBuckets(maxKeys, idle);
+        this.userBuckets = new RateLimitBuckets(maxKeys, idle);
+        this.roleBuckets = new RateLimitBuckets(Role.values().length, idle);
+
+        this.allowed = Map.of(
+                "ip", counter(meterRegistry, "ip", "allowed"),
+                "user", counter(meterRegistry, "user", "allowed"),
+                "role", counter(meterRegistry, "role", "allowed"));
+        this.rejected = Map.of(
+                "ip", counter(meterRegistry, "ip", "rejected"),
+                "user", counter(meterRegistry, "user", "rejected"),
+                "role", counter(meterRegistry, "role", "rejected"));
+        gauge(meterRegistry, "ip", ipBuckets);
+        gauge(meterRegistry, "user", userBuckets);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.nanoTime();
+        TokenBucket.Probe probe = null;
+
+        if (request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH)) {
+            probe = consume("ip", ipBuckets, request.getRemoteAddr(), authLimit, now);
+        } else {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                Role role = principal.getRole();
+                probe = consume("user", userBuckets, role + ":" + principal.getId(), userLimits.get(role), now);
+                if (probe.allowed()) {
+                    probe = tighter(probe, consume("role", roleBuckets, role.name(), roleLimit, now));
+                }
+            }
+        }
+
+        if (probe == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader("RateLimit-Limit", String.valueOf(probe.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(probe.resetNanos())));
+        if (probe.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Rate limit exceeded for {} {}", request.getMethod(), request.getRequestURI());
+        ApiError error = new ApiError(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_REQUESTS",
+                "Too many requests. Please retry later.",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(probe.retryNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private TokenBucket.Probe consume(String scope, RateLimitBuckets buckets, String key,
+                                      TokenBucket.Limit limit, long now) {
+        TokenBucket.Probe probe = buckets.tryConsume(key, limit, now);
+        (probe.allowed() ? allowed : rejected).get(scope).increment();
+        return probe;
+    }
+
+    // The headers describe whichever bucket runs out first
+    private static TokenBucket.Probe tighter(TokenBucket.Probe a, TokenBucket.Probe b) {
+        if (!b.allowed()) {
+            return b;
+        }
+        return b.remaining() < a.remaining() ? b : a;
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    private static Counter counter(MeterRegistry registry, String scope, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String scope, RateLimitBuckets buckets) {
+        Gauge.builder("ratelimit.buckets", buckets, RateLimitBuckets::size)
+                .description("Token buckets currently tracked")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
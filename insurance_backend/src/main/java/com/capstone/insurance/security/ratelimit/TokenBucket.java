@@ -0,0 +1,56 @@
+package com.capstone.insurance.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The state is a single "theoretical arrival time" (the GCRA form of
+ * a token bucket): the moment at which the bucket would be full again. Taking a token pushes
+ * it forward by one refill interval, and the request is allowed while it stays within
+ * capacity intervals of now. One CAS per request, no timer thread and no refill bookkeeping.
+ */
+final class TokenBucket {
+
+    record Limit(long capacity, long refillPerMinute) {
+
+        long intervalNanos() {
+            return Math.max(1, 60_000_000_000L / refillPerMinute);
+        }
+    }
+
+    /**
+     * Outcome of one request against the bucket.
+     *
+     * @param remaining  tokens left after this request
+     * @param resetNanos time until the bucket is full again
+     * @param retryNanos time until the next token is available (0 when allowed)
+     */
+    record Probe(boolean allowed, long limit, long remaining, long resetNanos, long retryNanos) {
+    }
+
+    private final Limit limit;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(Limit limit, long nowNanos) {
+        this.limit = limit;
+        this.intervalNanos = limit.intervalNanos();
+        this.toleranceNanos = intervalNanos * limit.capacity();
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    Probe tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > toleranceNanos) {
+                long reset = Math.max(0, current - nowNanos);
+                return new Probe(false, limit.capacity(), 0, reset, ahead - toleranceNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Probe(true, limit.capacity(), (toleranceNanos - ahead) / intervalNanos, ahead, 0);
+            }
+        }
+    }
+}
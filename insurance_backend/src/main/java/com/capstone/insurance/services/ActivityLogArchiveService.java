@@ -0,0 +1,18 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.dto.activity.ActivityArchiveReport;
+import com.capstone.insurance.dto.activity.ActivityArchiveSegmentDto;
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.common.CursorPage;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ActivityLogArchiveService {
+
+    ActivityArchiveReport archiveExpired();
+
+    List<ActivityArchiveSegmentDto> listSegments();
+
+    CursorPage<ActivityLogDto> scanArchive(YearMonth month, String actionType, Long userId, String cursor, int size);
+}
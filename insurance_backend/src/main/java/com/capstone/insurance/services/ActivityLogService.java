@@ -3,6 +3,10 @@ package com.capstone.insurance.services;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.activity.ActivityLogCreateRequest;
 import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.activity.ActivityLogSearchCriteria;
+import com.capstone.insurance.dto.activity.AuditJournalStatusDto;
+import com.capstone.insurance.dto.common.CursorPage;
+import com.capstone.insurance.entities.enums.ClaimStatus;
 
 import java.util.List;
 
@@ -10,9 +14,16 @@ public interface ActivityLogService {
 
     void logAction(Long userId, String actionType, String details);
 
+    void logClaimAction(Long userId, String actionType, Long claimId,
+                        ClaimStatus oldStatus, ClaimStatus newStatus, String details);
+
     List<ActivityLogDto> getAllActivityLogs();
 
     PaginatedResponse<ActivityLogDto> getAllActivityLogsPaginated(int page);
 
     ActivityLogDto createActivityLog(ActivityLogCreateRequest request);
+
+    CursorPage<ActivityLogDto> searchActivityLogs(ActivityLogSearchCriteria criteria, String cursor, int size);
+
+    AuditJournalStatusDto getJournalStatus();
 }
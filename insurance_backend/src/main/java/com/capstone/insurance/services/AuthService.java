@@ -0,0 +1,8 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.security.model.UserPrincipal;
+
+public interface AuthService {
+
+    UserPrincipal authenticate(String usernameOrEmail, String password);
+}
@@ -0,0 +1,13 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.dto.policy.BulkAssignPolicyRequest;
+import com.capstone.insurance.dto.policy.BulkAssignmentJobDto;
+
+import java.util.UUID;
+
+public interface BulkPolicyAssignmentService {
+
+    BulkAssignmentJobDto startBulkAssignment(BulkAssignPolicyRequest request);
+
+    BulkAssignmentJobDto getJob(UUID jobId);
+}
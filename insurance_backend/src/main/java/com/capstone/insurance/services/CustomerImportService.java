@@ -0,0 +1,13 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.dto.customer.CustomerImportJobDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface CustomerImportService {
+
+    CustomerImportJobDto startImport(MultipartFile file);
+
+    CustomerImportJobDto getJob(UUID jobId);
+}
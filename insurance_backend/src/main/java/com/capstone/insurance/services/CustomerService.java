@@ -3,6 +3,8 @@ package com.capstone.insurance.services;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.customer.CustomerCreateRequest;
 import com.capstone.insurance.dto.customer.CustomerDto;
+import com.capstone.insurance.dto.customer.CustomerOverviewDto;
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
 import com.capstone.insurance.dto.customer.CustomerUpdateRequest;
 
 import java.util.List;
@@ -19,4 +21,8 @@ public interface CustomerService {
     CustomerDto getCustomerById(UUID id);
 
     CustomerDto updateCustomer(UUID id, CustomerUpdateRequest request);
+
+    List<CustomerSuggestionDto> suggestCustomers(String query, int limit);
+
+    CustomerOverviewDto getCustomerOverview(UUID id);
 }
@@ -0,0 +1,10 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.dto.batch.BatchRunReport;
+
+public interface PolicyLifecycleService {
+
+    BatchRunReport runExpiryJob();
+
+    BatchRunReport getLastExpiryRun();
+}
@@ -5,6 +5,7 @@ import com.capstone.insurance.dto.policy.AssignPolicyRequest;
 import com.capstone.insurance.dto.policy.CustomerPolicyDto;
 import com.capstone.insurance.dto.policy.PolicyCreateRequest;
 import com.capstone.insurance.dto.policy.PolicyDto;
+import com.capstone.insurance.dto.policy.PolicySearchCriteria;
 import com.capstone.insurance.dto.policy.PolicyUpdateRequest;
 
 import java.util.List;
@@ -18,6 +19,8 @@ public interface PolicyService {
 
     PaginatedResponse<PolicyDto> getAllPoliciesPaginated(int page);
 
+    PaginatedResponse<PolicyDto> searchPolicies(PolicySearchCriteria criteria, int page, int size);
+
     PolicyDto getPolicyById(UUID id);
 
     PolicyDto updatePolicy(UUID id, PolicyUpdateRequest request);
@@ -1,15 +1,16 @@
 package com.capstone.insurance.services;
 
-import com.capstone.insurance.entities.RefreshToken;
+import com.capstone.insurance.dto.auth.IssuedRefreshToken;
 
 public interface RefreshTokenService {
-    
-    RefreshToken createRefreshToken(Long userId);
-    
-    RefreshToken verifyExpiration(RefreshToken token);
-    
-    RefreshToken findByToken(String token);
-    
+
+    IssuedRefreshToken createRefreshToken(Long userId);
+
+    IssuedRefreshToken rotate(String token);
+
+    int revoke(String token);
+
     int deleteByUserId(Long userId);
-}
 
+    int deleteExpired();
+}
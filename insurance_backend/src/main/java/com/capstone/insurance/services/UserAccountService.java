@@ -0,0 +1,11 @@
+package com.capstone.insurance.services;
+
+import com.capstone.insurance.dto.user.UserAccountDto;
+import com.capstone.insurance.entities.enums.Role;
+
+public interface UserAccountService {
+
+    UserAccountDto setEnabled(Long userId, boolean enabled);
+
+    UserAccountDto changeRole(Long userId, Role role);
+}
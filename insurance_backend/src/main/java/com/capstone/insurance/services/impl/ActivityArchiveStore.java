@@ -0,0 +1,243 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.activity.ActivityArchiveSegmentDto;
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.common.CursorPage;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archived activity logs on local disk: one directory per month holding gzip-compressed NDJSON
+ * segments, one row per line in id order. Segments are written once under a temporary name,
+ * synced and renamed into place, and never modified afterwards.
+ *
+ * A {@code .pending} marker sits next to a segment until its rows have been deleted from the
+ * database, so a run that dies in between can finish the delete on the next run instead of
+ * archiving the same rows twice.
+ */
+final class ActivityArchiveStore {
+
+    static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+
+    ActivityArchiveStore(Path root, ObjectMapper objectMapper) {
+        this.root = root;
+        this.objectMapper = objectMapper;
+    }
+
+    final class SegmentWriter implements AutoCloseable {
+
+        private final Path monthDir;
+        private final Path tempFile;
+        private final FileOutputStream fileOut;
+        private final GZIPOutputStream gzip;
+        private final BufferedWriter out;
+        private long firstId = -1;
+        private long rows;
+        private boolean committed;
+
+        private SegmentWriter(YearMonth month) throws IOException {
+            this.monthDir = Files.createDirectories(root.resolve(month.toString()));
+            this.tempFile = Files.createTempFile(monthDir, "segment-", TEMP_SUFFIX);
+            this.fileOut = new FileOutputStream(tempFile.toFile());
+            this.gzip = new GZIPOutputStream(fileOut, 64 * 1024);
+            this.out = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+        }
+
+        void append(ActivityLogDto row) throws IOException {
+            if (firstId < 0) {
+                firstId = row.getId();
+            }
+            out.write(objectMapper.writeValueAsString(row));
+            out.newLine();
+            rows++;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        /**
+         * Makes the segment durable and visible, marked pending until {@link #markArchived} is called.
+         */
+        Path commit() throws IOException {
+            out.flush();
+            gzip.finish();
+            fileOut.getFD().sync();
+            out.close();
+            String name = String.format("%013d-%d-%d%s", System.currentTimeMillis(), firstId, rows, SEGMENT_SUFFIX);
+            Path segment = monthDir.resolve(name);
+            Files.createFile(pendingMarker(segment));
+            Files.move(tempFile, segment, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return segment;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    SegmentWriter openSegment(YearMonth month) throws IOException {
+        return new SegmentWriter(month);
+    }
+
+    void markArchived(Path segment) throws IOException {
+        Files.deleteIfExists(pendingMarker(segment));
+    }
+
+    /**
+     * Segments whose rows may still be in the database. Markers without a segment (the run
+     * died before the rename) and leftover temporary files are removed.
+     */
+    List<Path> pendingSegments() throws IOException {
+        List<Path> pending = new ArrayList<>();
+        for (Path monthDir : monthDirectories()) {
+            try (Stream<Path> files = Files.list(monthDir)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        Files.deleteIfExists(file);
+                    } else if (name.endsWith(PENDING_SUFFIX)) {
+                        Path segment = monthDir.resolve(name.substring(0, name.length() - PENDING_SUFFIX.length()));
+                        if (Files.exists(segment)) {
+                            pending.add(segment);
+                        } else {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                }
+            }
+        }
+        return pending;
+    }
+
+    List<Long> readIds(Path segment) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader in = reader(segment)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    List<ActivityArchiveSegmentDto> listSegments() throws IOException {
+        List<ActivityArchiveSegmentDto> result = new ArrayList<>();
+        for (Path monthDir : monthDirectories()) {
+            for (Path segment : segments(monthDir)) {
+                String name = segment.getFileName().toString();
+                String[] parts = name.substring(0, name.length() - SEGMENT_SUFFIX.length()).split("-");
+                result.add(new ActivityArchiveSegmentDto(
+                        monthDir.getFileName().toString(), name, Long.parseLong(parts[2]), Files.size(segment)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads one month of archived rows in segment order. The cursor is {@code segment:line}
+     * from the previous page.
+     */
+    CursorPage<ActivityLogDto> scan(YearMonth month, Predicate<ActivityLogDto> filter, String cursor, int size)
+            throws IOException {
+        Path monthDir = root.resolve(month.toString());
+        List<ActivityLogDto> content = new ArrayList<>();
+        if (!Files.isDirectory(monthDir)) {
+            return new CursorPage<>(content, null);
+        }
+
+        String startSegment = null;
+        long startLine = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            int colon = cursor.lastIndexOf(':');
+            try {
+                startSegment = cursor.substring(0, colon);
+                startLine = Long.parseLong(cursor.substring(colon + 1));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid archive cursor");
+            }
+        }
+
+        for (Path segment : segments(monthDir)) {
+            String name = segment.getFileName().toString();
+            if (startSegment != null && name.compareTo(startSegment) < 0) {
+                continue;
+            }
+            long skip = name.equals(startSegment) ? startLine : 0;
+            try (BufferedReader in = reader(segment)) {
+                long line = 0;
+                String text;
+                while ((text = in.readLine()) != null) {
+                    line++;
+                    if (line <= skip) {
+                        continue;
+                    }
+                    ActivityLogDto row = objectMapper.readValue(text, ActivityLogDto.class);
+                    if (filter.test(row)) {
+                        content.add(row);
+                        if (content.size() == size) {
+                            return new CursorPage<>(content, name + ":" + line);
+                        }
+                    }
+                }
+            }
+        }
+        return new CursorPage<>(content, null);
+    }
+
+    private List<Path> monthDirectories() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(Files::isDirectory).sorted().toList();
+        }
+    }
+
+    private static List<Path> segments(Path monthDir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(monthDir, "*" + SEGMENT_SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static BufferedReader reader(Path segment) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment), 64 * 1024), StandardCharsets.UTF_8));
+    }
+
+    private static Path pendingMarker(Path segment) {
+        return segment.resolveSibling(segment.getFileName() + PENDING_SUFFIX);
+    }
+}
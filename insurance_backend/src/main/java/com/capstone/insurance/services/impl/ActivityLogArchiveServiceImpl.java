@@ -0,0 +1,213 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.activity.ActivityArchiveReport;
+import com.capstone.insurance.dto.activity.ActivityArchiveSegmentDto;
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.common.CursorPage;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.repositories.ActivityLogRepository;
+import com.capstone.insurance.services.ActivityLogArchiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Moves expired activity logs out of the database, one calendar month at a time.
+ *
+ * The table is partitioned logically by month of created_at: for each month that is old enough,
+ * the action types whose retention has passed are copied in id order into compressed segments
+ * (see ActivityArchiveStore) and then deleted in chunks. Rows are only deleted after their
+ * segment is on disk, and a segment left pending by a crash is finished on the next run.
+ */
+@Slf4j
+@Service
+public class ActivityLogArchiveServiceImpl implements ActivityLogArchiveService {
+
+    private static final int MAX_SCAN_PAGE_SIZE = 500;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final ActivityArchiveStore store;
+    private final ActivityRetentionPolicy retentionPolicy;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${app.activity-log.archive-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.activity-log.segment-max-rows:100000}")
+    private int segmentMaxRows = 100_000;
+
+    public ActivityLogArchiveServiceImpl(ActivityLogRepository activityLogRepository,
+                                         ObjectMapper objectMapper,
+                                         @Value("${app.activity-log.archive-dir:./data/activity-archive}") String archiveDir,
+                                         @Value("${app.activity-log.retention-days:default=730}") String retentionDays) {
+        this.activityLogRepository = activityLogRepository;
+        this.store = new ActivityArchiveStore(Path.of(archiveDir), objectMapper);
+        this.retentionPolicy = ActivityRetentionPolicy.parse(retentionDays);
+    }
+
+    @Override
+    public ActivityArchiveReport archiveExpired() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BadRequestException("Activity log archiving is already running");
+        }
+        try {
+            return doArchiveExpired();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Activity log archiving failed", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ActivityArchiveReport doArchiveExpired() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long recovered = finishPendingSegments();
+
+        LocalDate today = LocalDate.now();
+        YearMonth lastMonth = retentionPolicy.lastExpirableMonth(today);
+        LocalDateTime oldest = activityLogRepository.findOldestCreatedAt();
+
+        List<String> months = new ArrayList<>();
+        int segments = 0;
+        long rows = 0;
+        if (lastMonth != null && oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                YearMonth current = month;
+                LocalDateTime from = month.atDay(1).atStartOfDay();
+                LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+                List<String> expiredTypes = activityLogRepository.findActionTypesBetween(from, to).stream()
+                        .filter(type -> retentionPolicy.isExpired(type, current, today))
+                        .toList();
+                if (expiredTypes.isEmpty()) {
+                    continue;
+                }
+
+                long[] archived = archiveMonth(month, from, to, expiredTypes);
+                if (archived[1] > 0) {
+                    months.add(month.toString());
+                    segments += (int) archived[0];
+                    rows += archived[1];
+                }
+            }
+        }
+
+        ActivityArchiveReport report = ActivityArchiveReport.builder()
+                .monthsArchived(months)
+                .segmentsWritten(segments)
+                .rowsArchived(rows)
+                .rowsRecovered(recovered)
+                .durationMs(System.currentTimeMillis() - startedAt)
+                .build();
+        log.info("Activity log archive completed: {} rows in {} segments across {} months, {} recovered, {} ms",
+                rows, segments, months.size(), recovered, report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * Archives the given action types of one month, in segments of at most segmentMaxRows.
+     *
+     * @return {segments written, rows archived}
+     */
+    private long[] archiveMonth(YearMonth month, LocalDateTime from, LocalDateTime to, List<String> actionTypes)
+            throws IOException {
+        Object[] idRange = activityLogRepository.findIdRangeBetween(from, to).get(0);
+        if (idRange[0] == null) {
+            return new long[]{0, 0};
+        }
+        long afterId = (Long) idRange[0] - 1;
+        long maxId = (Long) idRange[1];
+
+        long segments = 0;
+        long rows = 0;
+        boolean exhausted = false;
+        while (!exhausted) {
+            List<Long> ids = new ArrayList<>();
+            Path segment;
+            try (ActivityArchiveStore.SegmentWriter writer = store.openSegment(month)) {
+                while (writer.rows() < segmentMaxRows) {
+                    int limit = (int) Math.min(chunkSize, segmentMaxRows - writer.rows());
+                    List<ActivityLogDto> chunk = activityLogRepository.findArchiveChunk(
+                            afterId, maxId, from, to, actionTypes, PageRequest.of(0, limit));
+                    for (ActivityLogDto row : chunk) {
+                        writer.append(row);
+                        ids.add(row.getId());
+                    }
+                    if (!chunk.isEmpty()) {
+                        afterId = chunk.get(chunk.size() - 1).getId();
+                    }
+                    if (chunk.size() < limit) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+                if (writer.rows() == 0) {
+                    break;
+                }
+                segment = writer.commit();
+            }
+
+            deleteRows(ids);
+            store.markArchived(segment);
+            segments++;
+            rows += ids.size();
+        }
+        return new long[]{segments, rows};
+    }
+
+    private long finishPendingSegments() throws IOException {
+        long recovered = 0;
+        for (Path segment : store.pendingSegments()) {
+            List<Long> ids = store.readIds(segment);
+            deleteRows(ids);
+            store.markArchived(segment);
+            recovered += ids.size();
+            log.warn("Finished interrupted activity log archive segment {}", segment);
+        }
+        return recovered;
+    }
+
+    // One short transaction per chunk, so archiving never holds a long lock on the table
+    private void deleteRows(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            activityLogRepository.deleteAllByIdInBatch(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+    }
+
+    @Override
+    public List<ActivityArchiveSegmentDto> listSegments() {
+        try {
+            return store.listSegments();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not list activity log archive", ex);
+        }
+    }
+
+    @Override
+    public CursorPage<ActivityLogDto> scanArchive(YearMonth month, String actionType, Long userId, String cursor, int size) {
+        if (size < 1 || size > MAX_SCAN_PAGE_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SCAN_PAGE_SIZE);
+        }
+        Predicate<ActivityLogDto> filter = row ->
+                (actionType == null || actionType.equals(row.getActionType()))
+                        && (userId == null || Objects.equals(userId, row.getUserId()));
+        try {
+            return store.scan(month, filter, cursor, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read activity log archive for " + month, ex);
+        }
+    }
+}
@@ -1,21 +1,38 @@
 package com.capstone.insurance.services.impl;
 
+import com.capstone.insurance.audit.AuditEntry;
+import com.capstone.insurance.audit.AuditJournal;
+import com.capstone.insurance.audit.AuditJournalReplayer;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.activity.ActivityLogCreateRequest;
 import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.activity.ActivityLogSearchCriteria;
+import com.capstone.insurance.dto.activity.AuditJournalStatusDto;
+import com.capstone.insurance.dto.common.CursorPage;
 import com.capstone.insurance.entities.ActivityLog;
 import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.capstone.insurance.exceptions.BadRequestException;
 import com.capstone.insurance.exceptions.ResourceNotFoundException;
 import com.capstone.insurance.repositories.ActivityLogRepository;
 import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.repositories.specifications.ActivityLogSpecifications;
 import com.capstone.insurance.services.ActivityLogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,9 +42,33 @@ public class ActivityLogServiceImpl implements ActivityLogService {
 
     private final ActivityLogRepository activityLogRepository;
     private final UserRepository userRepository;
+    private final AuditJournal auditJournal;
+    private final AuditJournalReplayer auditJournalReplayer;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     @Override
     public void logAction(Long userId, String actionType, String details) {
+        logClaimAction(userId, actionType, null, null, null, details);
+    }
+
+    @Override
+    public void logClaimAction(Long userId, String actionType, Long claimId,
+                               ClaimStatus oldStatus, ClaimStatus newStatus, String details) {
+        if (auditJournal.isEnabled()) {
+            // No lookup here, so a journaled write stays off the database; the replayer skips
+            // entries whose user no longer exists
+            if (userId == null) {
+                throw new ResourceNotFoundException("User not found with id " + userId);
+            }
+            journal(new AuditEntry(userId, actionType, details, claimId,
+                    oldStatus != null ? oldStatus.name() : null,
+                    newStatus != null ? newStatus.name() : null,
+                    LocalDateTime.now()));
+            return;
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
 
@@ -35,6 +76,9 @@ public class ActivityLogServiceImpl implements ActivityLogService {
                 .user(user)
                 .actionType(actionType)
                 .details(details)
+                .claimId(claimId)
+                .oldStatus(oldStatus != null ? oldStatus.name() : null)
+                .newStatus(newStatus != null ? newStatus.name() : null)
                 .build();
 
         activityLogRepository.save(log);
@@ -50,6 +94,7 @@ public class ActivityLogServiceImpl implements ActivityLogService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaginatedResponse<ActivityLogDto> getAllActivityLogsPaginated(int page) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<ActivityLog> activityLogPage = activityLogRepository.findAll(pageable);
@@ -85,6 +130,83 @@ public class ActivityLogServiceImpl implements ActivityLogService {
         return toDto(log);
     }
 
+    @Override
+    public CursorPage<ActivityLogDto> searchActivityLogs(ActivityLogSearchCriteria criteria, String cursor, int size) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new BadRequestException("from must be before to");
+        }
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                afterCreatedAt = LocalDateTime.parse(cursor.substring(0, separator));
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        // One extra row tells whether another page exists, without a count query
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        List<ActivityLog> rows = activityLogRepository.findBy(
+                ActivityLogSpecifications.matching(criteria, afterCreatedAt, afterId),
+                query -> query.sortBy(newestFirst).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ActivityLog> page = hasMore ? rows.subList(0, pageSize) : rows;
+        ActivityLog last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPage.<ActivityLogDto>builder()
+                .content(page.stream().map(this::toDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? last.getCreatedAt() + "_" + last.getId() : null)
+                .build();
+    }
+
+    @Override
+    public AuditJournalStatusDto getJournalStatus() {
+        if (!auditJournal.isEnabled()) {
+            return AuditJournalStatusDto.builder().enabled(false).build();
+        }
+        try {
+            AuditJournal.Verification verification = auditJournal.verify();
+            return AuditJournalStatusDto.builder()
+                    .enabled(true)
+                    .segments(verification.segments())
+                    .firstSequence(verification.firstSequence())
+                    .lastSequence(verification.lastSequence())
+                    .durableSequence(auditJournal.durableSequence())
+                    .replayedSequence(auditJournalReplayer.replayedSequence())
+                    .chainValid(verification.problem() == null)
+                    .problem(verification.problem())
+                    .build();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read the audit journal", ex);
+        }
+    }
+
+    // Inside a transaction the entry is written only once it commits, as a row saved in it would be
+    private void journal(AuditEntry entry) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(entry);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize audit entry", ex);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditJournal.append(payload);
+                }
+            });
+        } else {
+            auditJournal.append(payload);
+        }
+    }
+
     private ActivityLogDto toDto(ActivityLog log) {
         return ActivityLogDto.builder()
                 .id(log.getId())
@@ -92,6 +214,9 @@ public class ActivityLogServiceImpl implements ActivityLogService {
                 .username(log.getUser().getUsername())
                 .actionType(log.getActionType())
                 .details(log.getDetails())
+                .claimId(log.getClaimId())
+                .oldStatus(log.getOldStatus())
+                .newStatus(log.getNewStatus())
                 .createdAt(log.getCreatedAt())
                 .updatedAt(log.getUpdatedAt())
                 .build();
@@ -0,0 +1,70 @@
+package com.capstone.insurance.services.impl;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How long activity logs stay in the database, per action type. Configured as a comma-separated
+ * list such as {@code default=730,CLAIM_STATUS_UPDATED=365}; types without an entry use the
+ * default. A month of a type is archived once the whole month is older than its retention.
+ */
+final class ActivityRetentionPolicy {
+
+    private static final String DEFAULT_KEY = "default";
+
+    private final int defaultDays;
+    private final Map<String, Integer> daysByActionType;
+
+    private ActivityRetentionPolicy(int defaultDays, Map<String, Integer> daysByActionType) {
+        this.defaultDays = defaultDays;
+        this.daysByActionType = daysByActionType;
+    }
+
+    /**
+     * @throws IllegalArgumentException if an entry is not of the form {@code TYPE=days}
+     */
+    static ActivityRetentionPolicy parse(String spec) {
+        int defaultDays = Integer.MAX_VALUE;
+        Map<String, Integer> days = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid activity log retention entry: " + entry.trim());
+            }
+            String key = entry.substring(0, eq).trim();
+            int value = Integer.parseInt(entry.substring(eq + 1).trim());
+            if (value < 1) {
+                throw new IllegalArgumentException("Retention must be at least one day: " + entry.trim());
+            }
+            if (DEFAULT_KEY.equalsIgnoreCase(key)) {
+                defaultDays = value;
+            } else {
+                days.put(key, value);
+            }
+        }
+        return new ActivityRetentionPolicy(defaultDays, Map.copyOf(days));
+    }
+
+    int retentionDays(String actionType) {
+        return daysByActionType.getOrDefault(actionType, defaultDays);
+    }
+
+    boolean isExpired(String actionType, YearMonth month, LocalDate today) {
+        long days = retentionDays(actionType);
+        return days != Integer.MAX_VALUE && month.atEndOfMonth().isBefore(today.minusDays(days));
+    }
+
+    // The newest month in which anything can have expired; later months are never looked at
+    YearMonth lastExpirableMonth(LocalDate today) {
+        int shortest = daysByActionType.values().stream().reduce(defaultDays, Math::min);
+        if (shortest == Integer.MAX_VALUE) {
+            return null;
+        }
+        return YearMonth.from(today.minusDays(shortest)).minusMonths(1);
+    }
+}
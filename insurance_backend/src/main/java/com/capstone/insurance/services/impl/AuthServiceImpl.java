@@ -0,0 +1,156 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.exceptions.ServiceUnavailableException;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.security.CustomUserDetailsService;
+import com.capstone.insurance.security.model.UserPrincipal;
+import com.capstone.insurance.services.AuthService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Login credential check. The user is loaded once and returned to the caller for the token
+ * and response; the BCrypt comparison runs on the bounded login password pool. When that pool
+ * and its queue are full the login fails fast with 503 rather than waiting for CPU.
+ *
+ * Metrics: auth.password.queue (time waiting for a worker), auth.password.verify (BCrypt time),
+ * auth.password.rejected (logins turned away) and auth.password.queue.size.
+ *
+ * After a successful login, a hash with an outdated algorithm or cost is re-encoded with the
+ * current settings in the background, so the response does not wait for the second hash. The
+ * re-encode runs on its own low-priority pool so it never takes a login slot.
+ */
+@Slf4j
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+    private static final String BUSY = "Too many sign-in attempts in progress. Please retry shortly.";
+
+    private final CustomUserDetailsService customUserDetailsService;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor loginPasswordExecutor;
+    private final ThreadPoolTaskExecutor passwordUpgradeExecutor;
+    private final Timer queueTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+    // Unknown users are checked against this so they take as long as a wrong password
+    private final String dummyHash;
+
+    @Value("${app.auth.retry-after-seconds:2}")
+    private long retryAfterSeconds = 2;
+
+    @Value("${app.auth.password-timeout-ms:5000}")
+    private long passwordTimeoutMs = 5000;
+
+    public AuthServiceImpl(CustomUserDetailsService customUserDetailsService,
+                           UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           @Qualifier("loginPasswordExecutor") ThreadPoolTaskExecutor loginPasswordExecutor,
+                           @Qualifier("passwordUpgradeExecutor") ThreadPoolTaskExecutor passwordUpgradeExecutor,
+                           MeterRegistry meterRegistry) {
+        this.customUserDetailsService = customUserDetailsService;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.loginPasswordExecutor = loginPasswordExecutor;
+        this.passwordUpgradeExecutor = passwordUpgradeExecutor;
+        this.queueTimer = Timer.builder("auth.password.queue")
+                .description("Time a login password check waits for a worker")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("Time spent comparing a login password hash")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Logins rejected because the password pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", loginPasswordExecutor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Login password checks waiting for a worker")
+                .register(meterRegistry);
+        this.dummyHash = passwordEncoder.encode("unknown-user-placeholder");
+    }
+
+    @Override
+    public UserPrincipal authenticate(String usernameOrEmail, String password) {
+        UserPrincipal principal;
+        try {
+            principal = (UserPrincipal) customUserDetailsService.loadUserByUsername(usernameOrEmail);
+        } catch (UsernameNotFoundException ex) {
+            principal = null;
+        }
+
+        boolean matches = passwordMatches(password, principal != null ? principal.getPassword() : dummyHash);
+        if (principal == null || !matches) {
+            throw new BadCredentialsException(INVALID_CREDENTIALS);
+        }
+        if (!principal.isEnabled()) {
+            throw new BadCredentialsException("Account is disabled");
+        }
+        if (passwordEncoder.upgradeEncoding(principal.getPassword())) {
+            upgradeHash(principal.getId(), principal.getPassword(), password);
+        }
+        return principal;
+    }
+
+    private void upgradeHash(Long userId, String oldHash, String rawPassword) {
+        try {
+            passwordUpgradeExecutor.execute(() -> {
+                try {
+                    if (userRepository.upgradePasswordHash(userId, oldHash, passwordEncoder.encode(rawPassword)) > 0) {
+                        log.info("Upgraded password hash for user {}", userId);
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Could not upgrade password hash for user {}", userId, ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            // Upgrade backlog is full; the hash is upgraded on a later login instead
+            log.debug("Skipped password hash upgrade for user {}", userId);
+        }
+    }
+
+    private boolean passwordMatches(String rawPassword, String hash) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = loginPasswordExecutor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return verifyTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, hash));
+            });
+        } catch (TaskRejectedException ex) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException(BUSY, retryAfterSeconds);
+        }
+
+        try {
+            return Boolean.TRUE.equals(result.get(passwordTimeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Login password check did not finish within {} ms", passwordTimeoutMs);
+            throw new ServiceUnavailableException(BUSY, retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY, retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password check failed", ex.getCause());
+        }
+    }
+}
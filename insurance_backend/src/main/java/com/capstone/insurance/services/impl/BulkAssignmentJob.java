@@ -0,0 +1,63 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.policy.BulkAssignmentJobDto;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of one bulk assignment. Counters are written by the worker thread
+ * and read by status requests, so they are atomics rather than plain fields.
+ */
+@Getter
+class BulkAssignmentJob {
+
+    private final UUID jobId = UUID.randomUUID();
+    private final UUID policyId;
+    private final long requested;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong assigned = new AtomicLong();
+    private final AtomicLong alreadyAssigned = new AtomicLong();
+    private final AtomicLong unknownCustomers = new AtomicLong();
+
+    private volatile BatchJobStatus status = BatchJobStatus.RUNNING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    BulkAssignmentJob(UUID policyId, long requested) {
+        this.policyId = policyId;
+        this.requested = requested;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = BatchJobStatus.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = BatchJobStatus.FAILED;
+    }
+
+    BulkAssignmentJobDto toDto() {
+        return BulkAssignmentJobDto.builder()
+                .jobId(jobId)
+                .policyId(policyId)
+                .status(status)
+                .requested(requested)
+                .processed(processed.get())
+                .assigned(assigned.get())
+                .alreadyAssigned(alreadyAssigned.get())
+                .unknownCustomers(unknownCustomers.get())
+                .error(error)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.policy.BulkAssignPolicyRequest;
+import com.capstone.insurance.dto.policy.BulkAssignmentJobDto;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.exceptions.ResourceNotFoundException;
+import com.capstone.insurance.exceptions.ServiceUnavailableException;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.services.BulkPolicyAssignmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BulkPolicyAssignmentServiceImpl implements BulkPolicyAssignmentService {
+
+    // Finished jobs are kept for status polling until this many newer jobs have started
+    private static final int MAX_TRACKED_JOBS = 100;
+
+    private final PolicyRepository policyRepository;
+    private final CustomerRepository customerRepository;
+    private final BulkPolicyAssignmentWorker worker;
+
+    @Value("${app.bulk.retry-after-seconds:30}")
+    private long retryAfterSeconds = 30;
+
+    private final Map<UUID, BulkAssignmentJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, BulkAssignmentJob> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+
+    @Override
+    public BulkAssignmentJobDto startBulkAssignment(BulkAssignPolicyRequest request) {
+        if (!policyRepository.existsById(request.getPolicyId())) {
+            throw new ResourceNotFoundException("Policy not found with id " + request.getPolicyId());
+        }
+
+        List<UUID> customerIds = resolveCustomerIds(request);
+        if (customerIds.isEmpty()) {
+            throw new BadRequestException("No customers selected for bulk assignment");
+        }
+
+        BulkAssignmentJob job = new BulkAssignmentJob(request.getPolicyId(), customerIds.size());
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+
+        try {
+            worker.run(job, customerIds);
+        } catch (TaskRejectedException ex) {
+            job.fail("Rejected: too many bulk jobs in progress");
+            throw new ServiceUnavailableException("Too many bulk jobs in progress. Please try again later.",
+                    retryAfterSeconds);
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public BulkAssignmentJobDto getJob(UUID jobId) {
+        BulkAssignmentJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk assignment job not found with id " + jobId);
+        }
+        return job.toDto();
+    }
+
+    private List<UUID> resolveCustomerIds(BulkAssignPolicyRequest request) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (request.getCustomerIds() != null) {
+            ids.addAll(request.getCustomerIds());
+        }
+        String domain = request.getEmailDomain();
+        if (domain != null && !domain.isBlank()) {
+            String normalized = domain.trim().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("@")) {
+                normalized = normalized.substring(1);
+            }
+            if (normalized.contains("%") || normalized.contains("_")) {
+                throw new BadRequestException("Invalid email domain: " + domain);
+            }
+            ids.addAll(customerRepository.findIdsByEmailLike("%@" + normalized));
+        }
+        ids.remove(null);
+        return new ArrayList<>(ids);
+    }
+}
@@ -0,0 +1,128 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.config.CacheConfig;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs a bulk assignment in chunks. Each chunk is one transaction: one query for
+ * known customers, one for existing assignments, one (usually) for policy number
+ * collisions, then a single JDBC batch insert of the new CustomerPolicy rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class BulkPolicyAssignmentWorker {
+
+    private static final String INSERT_SQL =
+            "insert into customer_policies (customer_id, policy_id, policy_number, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?)";
+
+    // A chunk is retried when a concurrent single assignment grabbed the same policy number
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerPolicyRepository customerPolicyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${app.bulk.assignment-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Async("bulkTaskExecutor")
+    public void run(BulkAssignmentJob job, List<UUID> customerIds) {
+        try {
+            for (int from = 0; from < customerIds.size(); from += chunkSize) {
+                List<UUID> chunk = customerIds.subList(from, Math.min(from + chunkSize, customerIds.size()));
+                assignChunkWithRetry(job, chunk);
+                job.getProcessed().addAndGet(chunk.size());
+            }
+            job.complete();
+            log.info("Bulk assignment {} of policy {} completed: {} assigned, {} already assigned, {} unknown",
+                    job.getJobId(), job.getPolicyId(), job.getAssigned().get(),
+                    job.getAlreadyAssigned().get(), job.getUnknownCustomers().get());
+        } catch (RuntimeException ex) {
+            log.error("Bulk assignment {} failed after {} customers", job.getJobId(), job.getProcessed().get(), ex);
+            job.fail(ex.getMessage());
+        }
+    }
+
+    private void assignChunkWithRetry(BulkAssignmentJob job, List<UUID> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ChunkResult result = transactionTemplate.execute(status -> assignChunk(job.getPolicyId(), chunk));
+                evictCustomerPolicies(result.assignedUserIds());
+                job.getAssigned().addAndGet(result.assignedIds().size());
+                job.getAlreadyAssigned().addAndGet(result.alreadyAssigned());
+                job.getUnknownCustomers().addAndGet(result.unknown());
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw ex;
+                }
+                log.warn("Bulk assignment {} chunk hit a constraint violation, retrying ({}/{})",
+                        job.getJobId(), attempt, MAX_CHUNK_ATTEMPTS);
+            }
+        }
+    }
+
+    private ChunkResult assignChunk(UUID policyId, List<UUID> chunk) {
+        Set<UUID> known = new HashSet<>(customerRepository.findExistingIds(chunk));
+        Set<UUID> alreadyAssigned = known.isEmpty()
+                ? Set.of()
+                : new HashSet<>(customerPolicyRepository.findAssignedCustomerIds(policyId, known));
+
+        List<UUID> toAssign = new ArrayList<>(known.size());
+        for (UUID id : chunk) {
+            if (known.contains(id) && !alreadyAssigned.contains(id)) {
+                toAssign.add(id);
+            }
+        }
+
+        List<Long> assignedUserIds = List.of();
+        if (!toAssign.isEmpty()) {
+            List<String> numbers = PolicyNumbers.allocate(toAssign.size(), customerPolicyRepository);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            String policy = policyId.toString();
+
+            List<Object[]> rows = new ArrayList<>(toAssign.size());
+            for (int i = 0; i < toAssign.size(); i++) {
+                rows.add(new Object[]{toAssign.get(i).toString(), policy, numbers.get(i), now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            // The policy list cache is keyed by user id
+            assignedUserIds = customerRepository.findUserIdsByIds(toAssign);
+        }
+
+        return new ChunkResult(toAssign, assignedUserIds, alreadyAssigned.size(), chunk.size() - known.size());
+    }
+
+    private void evictCustomerPolicies(List<Long> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+
+    private record ChunkResult(List<UUID> assignedIds, List<Long> assignedUserIds, int alreadyAssigned, int unknown) {
+    }
+}
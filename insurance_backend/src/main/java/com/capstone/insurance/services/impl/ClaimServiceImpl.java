@@ -11,23 +11,31 @@ import com.capstone.insurance.exceptions.ResourceNotFoundException;
 import com.capstone.insurance.repositories.*;
 import com.capstone.insurance.services.ActivityLogService;
 import com.capstone.insurance.services.ClaimService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class ClaimServiceImpl implements ClaimService {
 
+    // Claim ids per policy number lookup, well under the database's IN-list limits
+    private static final int POLICY_NUMBER_CHUNK_SIZE = 1000;
+
     private final ClaimRepository claimRepository;
     private final CustomerRepository customerRepository;
     private final PolicyRepository policyRepository;
@@ -35,6 +43,7 @@ public class ClaimServiceImpl implements ClaimService {
     private final ActivityLogService activityLogService;
 
     @Override
+    @Transactional
     public ClaimDto createClaim(Long userId, ClaimCreateRequest request) {
         Customer customer = customerRepository.findByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Customer profile not found for user"));
@@ -64,8 +73,11 @@ public class ClaimServiceImpl implements ClaimService {
         String claimNumber = generateClaimNumber(claim.getId(), claim.getCreatedAt());
         
         // Log activity: Claim submitted
-        activityLogService.logAction(userId, 
-                "CLAIM_SUBMITTED", 
+        activityLogService.logClaimAction(userId,
+                "CLAIM_SUBMITTED",
+                claim.getId(),
+                null,
+                claim.getStatus(),
                 String.format("Claim %s submitted for policy %s. Amount: $%s", 
                         claimNumber, 
                         policy.getPolicyCode(), 
@@ -79,11 +91,9 @@ public class ClaimServiceImpl implements ClaimService {
         Customer customer = customerRepository.findByUserId(userId)
                 .orElseThrow(() -> new BadRequestException("Customer profile not found for user"));
 
-        return claimRepository.findByCustomerId(customer.getId())
-                .stream()
-                .sorted(Comparator.comparing(Claim::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<Claim> claims = claimRepository.findByCustomerId(customer.getId());
+        claims.sort(Comparator.comparing(Claim::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return toDtos(claims);
     }
 
     @Override
@@ -118,10 +128,11 @@ public class ClaimServiceImpl implements ClaimService {
             claims.sort(Comparator.comparing(Claim::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
         }
 
-        return claims.stream().map(this::toDto).collect(Collectors.toList());
+        return toDtos(claims);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaginatedResponse<ClaimDto> getAllClaimsPaginated(int page, String status, LocalDate from, LocalDate to) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Claim> claimPage;
@@ -149,10 +160,7 @@ public class ClaimServiceImpl implements ClaimService {
             }
         }
 
-        List<ClaimDto> content = claimPage.getContent()
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<ClaimDto> content = toDtos(claimPage.getContent());
 
         return PaginatedResponse.<ClaimDto>builder()
                 .content(content)
@@ -166,6 +174,7 @@ public class ClaimServiceImpl implements ClaimService {
     }
 
     @Override
+    @Transactional
     public ClaimDto updateClaimStatus(Long claimId, ClaimStatusUpdateRequest request, Long userId) {
         Claim claim = claimRepository.findById(claimId)
                 .orElseThrow(() -> new ResourceNotFoundException("Claim not found with id " + claimId));
@@ -190,27 +199,48 @@ public class ClaimServiceImpl implements ClaimService {
             details += ". Remarks: " + request.getRemarks();
         }
         
-        activityLogService.logAction(userId, "CLAIM_STATUS_UPDATED", details);
+        activityLogService.logClaimAction(userId, "CLAIM_STATUS_UPDATED",
+                claim.getId(), oldStatus, request.getStatus(), details);
 
         return toDto(claim);
     }
 
     private ClaimDto toDto(Claim c) {
-        // Generate claim number (e.g., CLM-2025-001)
-        String claimNumber = generateClaimNumber(c.getId(), c.getCreatedAt());
-        
         // Get policy number from CustomerPolicy
         String policyNumber = customerPolicyRepository
                 .findByCustomerIdAndPolicyId(c.getCustomer().getId(), c.getPolicy().getId())
                 .map(CustomerPolicy::getPolicyNumber)
-                .orElse("N/A");
-        
+                .orElse(null);
+
+        return toDto(c, policyNumber);
+    }
+
+    // Policy numbers for a whole list in one query per chunk, rather than one lookup per claim
+    private List<ClaimDto> toDtos(List<Claim> claims) {
+        Map<Long, String> policyNumbers = new HashMap<>(claims.size() * 2);
+        for (int from = 0; from < claims.size(); from += POLICY_NUMBER_CHUNK_SIZE) {
+            List<Long> ids = claims.subList(from, Math.min(from + POLICY_NUMBER_CHUNK_SIZE, claims.size()))
+                    .stream()
+                    .map(Claim::getId)
+                    .collect(Collectors.toList());
+            for (Object[] row : claimRepository.findPolicyNumbersByClaimIds(ids)) {
+                policyNumbers.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return claims.stream()
+                .map(c -> toDto(c, policyNumbers.get(c.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // For callers that already fetched the policy number alongside the claim
+    static ClaimDto toDto(Claim c, String policyNumber) {
+        String claimNumber = generateClaimNumber(c.getId(), c.getCreatedAt());
         return ClaimDto.builder()
                 .id(c.getId())
                 .claimNumber(claimNumber)
                 .customerId(c.getCustomer().getId())
                 .policyId(c.getPolicy().getId())
-                .policyNumber(policyNumber)
+                .policyNumber(policyNumber != null ? policyNumber : "N/A")
                 .claimDate(c.getClaimDate())
                 .claimAmount(c.getClaimAmount())
                 .status(c.getStatus())
@@ -222,7 +252,8 @@ public class ClaimServiceImpl implements ClaimService {
                 .build();
     }
     
-    private String generateClaimNumber(Long claimId, LocalDateTime createdAt) {
+    // Claim number for display, e.g. CLM-2025-001
+    static String generateClaimNumber(Long claimId, LocalDateTime createdAt) {
         int year = createdAt != null ? createdAt.getYear() : java.time.LocalDateTime.now().getYear();
         return String.format("CLM-%d-%03d", year, claimId);
     }
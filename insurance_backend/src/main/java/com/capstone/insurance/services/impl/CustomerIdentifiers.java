@@ -0,0 +1,39 @@
+package com.capstone.insurance.services.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Customer codes (CUS0001, CUS0002, ...) and generated usernames, shared by single
+ * customer creation and bulk import. The code helpers are public for the perf data generator,
+ * whose customers have to continue the same sequence.
+ */
+public final class CustomerIdentifiers {
+
+    private static final String CODE_PREFIX = "CUS";
+
+    private CustomerIdentifiers() {
+    }
+
+    /** Numeric part of a customer code, or 0 when there is no usable previous code. */
+    public static int codeNumber(String code) {
+        if (code == null || !code.startsWith(CODE_PREFIX)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(code.substring(CODE_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static String customerCode(int number) {
+        return String.format("%s%04d", CODE_PREFIX, number);
+    }
+
+    /** Name (letters and digits only, lower-cased, at most 10 characters) + 5 digit number. */
+    static String username(String name) {
+        String cleanName = name.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
+        String namePart = cleanName.length() > 10 ? cleanName.substring(0, 10) : cleanName;
+        return namePart + ThreadLocalRandom.current().nextInt(10000, 100000);
+    }
+}
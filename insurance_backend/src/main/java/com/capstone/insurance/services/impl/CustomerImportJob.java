@@ -0,0 +1,101 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.customer.CustomerImportJobDto;
+import com.capstone.insurance.dto.customer.CustomerImportRowError;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of one customer import. Only the first {@link #MAX_ROW_ERRORS} row errors
+ * are kept so a badly formatted file cannot fill the heap; the counters stay exact.
+ */
+@Getter
+class CustomerImportJob {
+
+    static final int MAX_ROW_ERRORS = 1000;
+
+    private final UUID jobId = UUID.randomUUID();
+    private final String fileName;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final List<CustomerImportRowError> errors = new ArrayList<>();
+    private volatile boolean errorsTruncated;
+
+    private volatile BatchJobStatus status = BatchJobStatus.RUNNING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    CustomerImportJob(String fileName) {
+        this.fileName = fileName;
+    }
+
+    void duplicate(long line, String email, String message) {
+        duplicates.incrementAndGet();
+        addError(line, email, message);
+    }
+
+    void invalid(long line, String email, String message) {
+        invalid.incrementAndGet();
+        addError(line, email, message);
+    }
+
+    void failed(long line, String email, String message) {
+        failed.incrementAndGet();
+        addError(line, email, message);
+    }
+
+    private void addError(long line, String email, String message) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ROW_ERRORS) {
+                errors.add(new CustomerImportRowError(line, email, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = BatchJobStatus.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = BatchJobStatus.FAILED;
+    }
+
+    CustomerImportJobDto toDto() {
+        List<CustomerImportRowError> snapshot;
+        synchronized (errors) {
+            snapshot = List.copyOf(errors);
+        }
+        return CustomerImportJobDto.builder()
+                .jobId(jobId)
+                .fileName(fileName)
+                .status(status)
+                .processedRows(processedRows.get())
+                .imported(imported.get())
+                .duplicates(duplicates.get())
+                .invalid(invalid.get())
+                .failed(failed.get())
+                .errors(snapshot)
+                .errorsTruncated(errorsTruncated)
+                .error(error)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.customer.CustomerCreateRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads customer rows from an uploaded file one line at a time, so memory use depends on
+ * the chunk size and not on the file size.
+ *
+ * CSV files need a header row naming the columns (name, email, phone, address; any order,
+ * unknown columns are ignored). Quoted fields may contain commas and doubled quotes but not
+ * line breaks. NDJSON files hold one customer object per line. A malformed line becomes a
+ * row with an error instead of failing the whole file.
+ */
+final class CustomerImportReader implements Closeable {
+
+    enum Format {
+        CSV, NDJSON;
+
+        static Optional<Format> detect(String fileName, String contentType) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson")) {
+                return Optional.of(NDJSON);
+            }
+            if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+                return Optional.of(CSV);
+            }
+            return Optional.empty();
+        }
+    }
+
+    record Row(long line, CustomerCreateRequest request, String error) {
+
+        String email() {
+            return request == null ? null : request.getEmail();
+        }
+    }
+
+    private static final String[] COLUMNS = {"name", "email", "phone", "address"};
+
+    private final BufferedReader in;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private int[] columnIndexes;
+
+    CustomerImportReader(Reader in, Format format, ObjectMapper objectMapper) {
+        this.in = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns up to {@code max} rows, or an empty list at the end of the file. Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if a CSV file has no usable header row
+     */
+    List<Row> next(int max) throws IOException {
+        List<Row> rows = new ArrayList<>(max);
+        String line;
+        while (rows.size() < max && (line = in.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.NDJSON) {
+                rows.add(parseJson(line));
+            } else if (columnIndexes == null) {
+                readHeader(line);
+            } else {
+                rows.add(parseCsv(line));
+            }
+        }
+        return rows;
+    }
+
+    private Row parseJson(String line) {
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, CustomerCreateRequest.class), null);
+        } catch (JsonProcessingException ex) {
+            return new Row(lineNumber, null, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private void readHeader(String line) {
+        List<String> header = splitCsv(line);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header row is malformed");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!positions.containsKey("name") || !positions.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must include name and email columns");
+        }
+        columnIndexes = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columnIndexes[i] = positions.getOrDefault(COLUMNS[i], -1);
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            return new Row(lineNumber, null, "Unterminated quoted field");
+        }
+        CustomerCreateRequest request = new CustomerCreateRequest();
+        request.setName(column(fields, 0));
+        request.setEmail(column(fields, 1));
+        request.setPhone(column(fields, 2));
+        request.setAddress(column(fields, 3));
+        return new Row(lineNumber, request, null);
+    }
+
+    private String column(List<String> fields, int column) {
+        int index = columnIndexes[column];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 field splitting for a single line; returns null when a quote is left open
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
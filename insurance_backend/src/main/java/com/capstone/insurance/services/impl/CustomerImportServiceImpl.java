@@ -0,0 +1,96 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.customer.CustomerImportJobDto;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.exceptions.ResourceNotFoundException;
+import com.capstone.insurance.exceptions.ServiceUnavailableException;
+import com.capstone.insurance.services.CustomerImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    // Finished jobs are kept for status polling until this many newer jobs have started
+    private static final int MAX_TRACKED_JOBS = 100;
+
+    private final CustomerImportWorker worker;
+
+    @Value("${app.bulk.retry-after-seconds:30}")
+    private long retryAfterSeconds = 30;
+
+    private final Map<UUID, CustomerImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CustomerImportJob> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+
+    @Override
+    public CustomerImportJobDto startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        CustomerImportReader.Format format = CustomerImportReader.Format
+                .detect(file.getOriginalFilename(), file.getContentType())
+                .orElseThrow(() -> new BadRequestException("Unsupported import file; upload a .csv or .ndjson file"));
+
+        // The upload is only guaranteed to exist for the duration of the request, so the worker gets its own copy
+        Path copy;
+        try {
+            copy = Files.createTempFile("customer-import-", "." + format.name().toLowerCase());
+            file.transferTo(copy);
+        } catch (IOException ex) {
+            log.error("Could not store customer import upload {}", file.getOriginalFilename(), ex);
+            throw new BadRequestException("Could not read the uploaded file");
+        }
+
+        CustomerImportJob job = new CustomerImportJob(file.getOriginalFilename());
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+
+        try {
+            worker.run(job, copy, format);
+        } catch (TaskRejectedException ex) {
+            job.fail("Rejected: too many bulk jobs in progress");
+            deleteQuietly(copy);
+            throw new ServiceUnavailableException("Too many bulk jobs in progress. Please try again later.",
+                    retryAfterSeconds);
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public CustomerImportJobDto getJob(UUID jobId) {
+        CustomerImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Customer import job not found with id " + jobId);
+        }
+        return job.toDto();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete import upload {}", path, ex);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.customer.CustomerCreateRequest;
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.search.CustomerSuggestIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Imports an uploaded customer file chunk by chunk. For each chunk the rows are validated
+ * and checked for duplicate emails with one query, passwords are hashed in parallel on the
+ * password hashing pool outside any transaction, and then a single short transaction
+ * batch-inserts the users and customers. Row problems are recorded on the job and the
+ * import moves on.
+ */
+@Slf4j
+@Component
+class CustomerImportWorker {
+
+    private static final String INSERT_USER_SQL =
+            "insert into users (username, password, role, enabled, token_version, created_at, updated_at) " +
+            "values (?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_CUSTOMER_SQL =
+            "insert into customers (id, customer_code, name, email, phone, address, user_id, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // A chunk is retried when a concurrent single create took the same code, username or email
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+    private static final int MAX_USERNAME_ROUNDS = 10;
+    private static final String DUPLICATE_EMAIL = "Customer with email already exists";
+
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerSuggestIndex customerSuggestIndex;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @Value("${app.customer-import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    CustomerImportWorker(CustomerRepository customerRepository,
+                         UserRepository userRepository,
+                         PasswordEncoder passwordEncoder,
+                         Validator validator,
+                         ObjectMapper objectMapper,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         CustomerSuggestIndex customerSuggestIndex,
+                         @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor) {
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.customerSuggestIndex = customerSuggestIndex;
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    @Async("bulkTaskExecutor")
+    public void run(CustomerImportJob job, Path file, CustomerImportReader.Format format) {
+        Set<String> seenEmails = new HashSet<>();
+        try (CustomerImportReader reader = new CustomerImportReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper)) {
+            List<CustomerImportReader.Row> rows;
+            while (!(rows = reader.next(chunkSize)).isEmpty()) {
+                importChunk(job, rows, seenEmails);
+                job.getProcessedRows().addAndGet(rows.size());
+            }
+            job.complete();
+            log.info("Customer import {} ({}) completed: {} imported, {} duplicates, {} invalid, {} failed",
+                    job.getJobId(), job.getFileName(), job.getImported().get(), job.getDuplicates().get(),
+                    job.getInvalid().get(), job.getFailed().get());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Customer import {} failed after {} rows", job.getJobId(), job.getProcessedRows().get(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete import upload {}", file, ex);
+            }
+        }
+    }
+
+    private void importChunk(CustomerImportJob job, List<CustomerImportReader.Row> rows, Set<String> seenEmails) {
+        List<CustomerImportReader.Row> valid = new ArrayList<>(rows.size());
+        for (CustomerImportReader.Row row : rows) {
+            String problem = row.error() != null ? row.error() : validate(row.request());
+            if (problem != null) {
+                job.invalid(row.line(), row.email(), problem);
+            } else if (!seenEmails.add(emailKey(row.email()))) {
+                job.duplicate(row.line(), row.email(), "Duplicate email earlier in the file");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        // Checked before hashing so rows that will be skipped do not cost a BCrypt round
+        Set<String> existing = existingEmails(valid.stream().map(CustomerImportReader.Row::email).toList());
+        List<CustomerImportReader.Row> fresh = new ArrayList<>(valid.size());
+        for (CustomerImportReader.Row row : valid) {
+            if (existing.contains(emailKey(row.email()))) {
+                job.duplicate(row.line(), row.email(), DUPLICATE_EMAIL);
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<Candidate> candidates = hashPasswords(fresh);
+        ChunkResult result = insertChunkWithRetry(job, candidates);
+        if (result == null) {
+            return;
+        }
+        result.lateDuplicates().forEach(c -> job.duplicate(c.line(), c.request().getEmail(), DUPLICATE_EMAIL));
+        result.usernameFailures().forEach(c -> job.failed(c.line(), c.request().getEmail(),
+                "Unable to generate unique username"));
+        job.getImported().addAndGet(result.inserted().size());
+        result.inserted().forEach(customerSuggestIndex::upsert);
+    }
+
+    private String validate(CustomerCreateRequest request) {
+        Set<ConstraintViolation<CustomerCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<Candidate> hashPasswords(List<CustomerImportReader.Row> rows) {
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(CustomerServiceImpl.DEFAULT_PASSWORD), passwordHashExecutor))
+                .toList();
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CustomerImportReader.Row row = rows.get(i);
+            candidates.add(new Candidate(row.line(), row.request(), hashes.get(i).join()));
+        }
+        return candidates;
+    }
+
+    private ChunkResult insertChunkWithRetry(CustomerImportJob job, List<Candidate> candidates) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertChunk(candidates));
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    log.warn("Customer import {} gave up on a chunk of {} rows after {} attempts",
+                            job.getJobId(), candidates.size(), attempt, ex);
+                    candidates.forEach(c -> job.failed(c.line(), c.request().getEmail(),
+                            "Conflicted with concurrent changes; import this row again"));
+                    return null;
+                }
+                log.warn("Customer import {} chunk hit a constraint violation, retrying ({}/{})",
+                        job.getJobId(), attempt, MAX_CHUNK_ATTEMPTS);
+            }
+        }
+    }
+
+    private ChunkResult insertChunk(List<Candidate> candidates) {
+        // Checked again inside the transaction: customers may have been created since the first check
+        Set<String> existing = existingEmails(candidates.stream().map(c -> c.request().getEmail()).toList());
+        List<Candidate> lateDuplicates = new ArrayList<>();
+        List<Candidate> toInsert = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            (existing.contains(emailKey(c.request().getEmail())) ? lateDuplicates : toInsert).add(c);
+        }
+
+        Map<Candidate, String> usernames = allocateUsernames(toInsert);
+        List<Candidate> usernameFailures = new ArrayList<>();
+        toInsert.removeIf(c -> !usernames.containsKey(c) && usernameFailures.add(c));
+        if (toInsert.isEmpty()) {
+            return new ChunkResult(List.of(), lateDuplicates, usernameFailures);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> userRows = new ArrayList<>(toInsert.size());
+        for (Candidate c : toInsert) {
+            userRows.add(new Object[]{usernames.get(c), c.passwordHash(), Role.CUSTOMER.name(), true, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows);
+
+        Map<String, Long> userIds = new HashMap<>(toInsert.size() * 2);
+        for (Object[] row : userRepository.findIdsByUsernames(usernames.values())) {
+            userIds.put((String) row[0], (Long) row[1]);
+        }
+
+        String lastCode = customerRepository.findLatestCustomerCodes(PageRequest.of(0, 1))
+                .stream().findFirst().orElse(null);
+        int nextCode = CustomerIdentifiers.codeNumber(lastCode) + 1;
+
+        List<Object[]> customerRows = new ArrayList<>(toInsert.size());
+        List<CustomerSuggestionDto> inserted = new ArrayList<>(toInsert.size());
+        for (Candidate c : toInsert) {
+            CustomerCreateRequest r = c.request();
+            UUID id = UUID.randomUUID();
+            String code = CustomerIdentifiers.customerCode(nextCode++);
+            customerRows.add(new Object[]{id.toString(), code, r.getName(), r.getEmail(), r.getPhone(),
+                    r.getAddress(), userIds.get(usernames.get(c)), now, now});
+            inserted.add(new CustomerSuggestionDto(id, code, r.getName(), r.getEmail(), r.getPhone()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, customerRows);
+
+        return new ChunkResult(inserted, lateDuplicates, usernameFailures);
+    }
+
+    /**
+     * Generates a username per candidate and checks each round of proposals with one IN
+     * query, retrying only the collisions. Candidates missing from the result ran out of rounds.
+     */
+    private Map<Candidate, String> allocateUsernames(List<Candidate> candidates) {
+        Map<Candidate, String> result = new HashMap<>(candidates.size() * 2);
+        Set<String> taken = new HashSet<>();
+        List<Candidate> pending = candidates;
+        for (int round = 0; round < MAX_USERNAME_ROUNDS && !pending.isEmpty(); round++) {
+            Map<String, Candidate> proposed = new HashMap<>(pending.size() * 2);
+            for (Candidate c : pending) {
+                String username = CustomerIdentifiers.username(c.request().getName());
+                if (!taken.contains(username)) {
+                    proposed.putIfAbsent(username, c);
+                }
+            }
+            if (!proposed.isEmpty()) {
+                Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(proposed.keySet()));
+                proposed.forEach((username, c) -> {
+                    if (!existing.contains(username)) {
+                        result.put(c, username);
+                        taken.add(username);
+                    }
+                });
+            }
+            pending = pending.stream().filter(c -> !result.containsKey(c)).toList();
+        }
+        return result;
+    }
+
+    private Set<String> existingEmails(List<String> emails) {
+        return customerRepository.findExistingEmails(emails).stream()
+                .map(CustomerImportWorker::emailKey)
+                .collect(Collectors.toSet());
+    }
+
+    // Emails are unique regardless of case or surrounding whitespace
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Candidate(long line, CustomerCreateRequest request, String passwordHash) {
+    }
+
+    private record ChunkResult(List<CustomerSuggestionDto> inserted, List<Candidate> lateDuplicates,
+                               List<Candidate> usernameFailures) {
+    }
+}
@@ -1,17 +1,31 @@
 package com.capstone.insurance.services.impl;
 
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.claim.ClaimDto;
 import com.capstone.insurance.dto.common.PaginatedResponse;
+import com.capstone.insurance.dto.customer.CustomerClaimTotalsDto;
 import com.capstone.insurance.dto.customer.CustomerCreateRequest;
 import com.capstone.insurance.dto.customer.CustomerDto;
+import com.capstone.insurance.dto.customer.CustomerOverviewDto;
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
 import com.capstone.insurance.dto.customer.CustomerUpdateRequest;
+import com.capstone.insurance.dto.policy.CustomerPolicyDto;
+import com.capstone.insurance.entities.Claim;
 import com.capstone.insurance.entities.Customer;
 import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.ClaimStatus;
 import com.capstone.insurance.entities.enums.Role;
 import com.capstone.insurance.exceptions.BadRequestException;
 import com.capstone.insurance.exceptions.ResourceNotFoundException;
+import com.capstone.insurance.querybudget.QueryCounter;
+import com.capstone.insurance.repositories.ActivityLogRepository;
+import com.capstone.insurance.repositories.ClaimRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
 import com.capstone.insurance.repositories.CustomerRepository;
 import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.search.CustomerSuggestIndex;
 import com.capstone.insurance.services.CustomerService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,22 +35,33 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private static final String DEFAULT_PASSWORD = "Admin@123";
-    private static final Random random = new Random();
+    private final CustomerSuggestIndex customerSuggestIndex;
+    private final CustomerPolicyRepository customerPolicyRepository;
+    private final ClaimRepository claimRepository;
+    private final ActivityLogRepository activityLogRepository;
+    static final String DEFAULT_PASSWORD = "Admin@123";
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int OVERVIEW_RECENT_CLAIMS = 10;
+    private static final int OVERVIEW_RECENT_ACTIVITY = 20;
 
     @Override
     @Transactional
@@ -50,12 +75,12 @@ public class CustomerServiceImpl implements CustomerService {
         String customerCode = generateCustomerCode();
 
         // Generate username based on name + 5 digit number
-        String username = generateUsername(request.getName());
+        String username = CustomerIdentifiers.username(request.getName());
 
         // Ensure username is unique
         int attempts = 0;
         while (userRepository.existsByUsername(username) && attempts < 10) {
-            username = generateUsername(request.getName());
+            username = CustomerIdentifiers.username(request.getName());
             attempts++;
         }
         if (userRepository.existsByUsername(username)) {
@@ -87,42 +112,15 @@ public class CustomerServiceImpl implements CustomerService {
                 .updatedAt(now)
                 .build();
         customerRepository.save(customer);
+        customerSuggestIndex.upsertAfterCommit(toSuggestion(customer));
 
         return toDto(customer);
     }
 
     private String generateCustomerCode() {
-        Optional<Customer> lastCustomer = customerRepository.findTopByOrderByCustomerCodeDesc();
-        
-        if (lastCustomer.isEmpty()) {
-            return "CUS0001";
-        }
-        
-        String lastCode = lastCustomer.get().getCustomerCode();
-        if (lastCode == null || !lastCode.startsWith("CUS")) {
-            return "CUS0001";
-        }
-        
-        try {
-            int number = Integer.parseInt(lastCode.substring(3));
-            number++;
-            return String.format("CUS%04d", number);
-        } catch (NumberFormatException e) {
-            return "CUS0001";
-        }
-    }
-
-    private String generateUsername(String name) {
-        // Clean name: remove spaces, special characters, convert to lowercase
-        String cleanName = name.replaceAll("[^a-zA-Z0-9]", "").toLowerCase();
-        
-        // Take first 10 characters of name (or all if less)
-        String namePart = cleanName.length() > 10 ? cleanName.substring(0, 10) : cleanName;
-        
-        // Generate 5 digit random number
-        int randomNumber = 10000 + random.nextInt(90000);
-        
-        return namePart + randomNumber;
+        String lastCode = customerRepository.findLatestCustomerCodes(PageRequest.of(0, 1))
+                .stream().findFirst().orElse(null);
+        return CustomerIdentifiers.customerCode(CustomerIdentifiers.codeNumber(lastCode) + 1);
     }
 
     @Override
@@ -134,6 +132,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaginatedResponse<CustomerDto> getAllCustomersPaginated(int page) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Customer> customerPage = customerRepository.findAll(pageable);
@@ -182,10 +181,119 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setAddress(request.getAddress());
 
         customerRepository.save(customer);
+        customerSuggestIndex.upsertAfterCommit(toSuggestion(customer));
 
         return toDto(customer);
     }
 
+    @Override
+    public List<CustomerSuggestionDto> suggestCustomers(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int k = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        if (customerSuggestIndex.isReady()) {
+            return customerSuggestIndex.suggest(query, k);
+        }
+
+        // Index still loading after startup: answer from the database instead
+        String prefix = query.trim().toLowerCase().replace("\\", "\\\\")
+                .replace("%", "\\%").replace("_", "\\_") + "%";
+        return customerRepository.findSuggestionsByPrefix(prefix, PageRequest.of(0, k));
+    }
+
+    /**
+     * Loads the four sections concurrently, one virtual thread and one query (two for claims)
+     * each, so the response takes about as long as the slowest section. None of the sections
+     * depends on the customer row, so a missing customer is only detected once they finish.
+     */
+    @Override
+    public CustomerOverviewDto getCustomerOverview(UUID id) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Propagated so the request's query budget counts the sections' statements too
+            Future<Optional<Customer>> customer =
+                    executor.submit(QueryCounter.propagate(() -> customerRepository.findById(id)));
+            Future<List<CustomerPolicyDto>> policies = executor.submit(
+                    QueryCounter.propagate(() -> customerPolicyRepository.findPolicyDtosByCustomerId(id)));
+            Future<ClaimsSection> claims = executor.submit(QueryCounter.propagate(() -> loadClaims(id)));
+            Future<List<ActivityLogDto>> activity = executor.submit(QueryCounter.propagate(() -> activityLogRepository
+                    .findRecentDtosByCustomerId(id, PageRequest.of(0, OVERVIEW_RECENT_ACTIVITY))));
+
+            Customer c = await(customer)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + id));
+            ClaimsSection claimsSection = await(claims);
+            return CustomerOverviewDto.builder()
+                    .customer(toDto(c))
+                    .policies(await(policies))
+                    .claimTotals(claimsSection.totals())
+                    .recentClaims(claimsSection.recent())
+                    .recentActivity(await(activity))
+                    .build();
+        }
+    }
+
+    private ClaimsSection loadClaims(UUID customerId) {
+        long total = 0;
+        long pending = 0;
+        long approved = 0;
+        long rejected = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        BigDecimal approvedAmount = BigDecimal.ZERO;
+        for (Object[] row : claimRepository.summarizeByStatusForCustomer(customerId)) {
+            ClaimStatus status = (ClaimStatus) row[0];
+            long count = ((Number) row[1]).longValue();
+            BigDecimal amount = (BigDecimal) row[2];
+            total += count;
+            totalAmount = totalAmount.add(amount);
+            switch (status) {
+                case SUBMITTED, IN_REVIEW -> pending += count;
+                case APPROVED -> {
+                    approved += count;
+                    approvedAmount = approvedAmount.add(amount);
+                }
+                case REJECTED -> rejected += count;
+            }
+        }
+        CustomerClaimTotalsDto totals = CustomerClaimTotalsDto.builder()
+                .totalClaims(total)
+                .pendingClaims(pending)
+                .approvedClaims(approved)
+                .rejectedClaims(rejected)
+                .totalClaimedAmount(totalAmount)
+                .approvedAmount(approvedAmount)
+                .build();
+
+        // Only query the rows when there is something to show
+        List<ClaimDto> recent = total == 0
+                ? List.of()
+                : claimRepository.findRecentWithPolicyNumberByCustomerId(customerId, PageRequest.of(0, OVERVIEW_RECENT_CLAIMS))
+                        .stream()
+                        .map(row -> ClaimServiceImpl.toDto((Claim) row[0], (String) row[1]))
+                        .collect(Collectors.toList());
+        return new ClaimsSection(totals, recent);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading customer overview", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to load customer overview", e.getCause());
+        }
+    }
+
+    private record ClaimsSection(CustomerClaimTotalsDto totals, List<ClaimDto> recent) {
+    }
+
+    private CustomerSuggestionDto toSuggestion(Customer c) {
+        return new CustomerSuggestionDto(c.getId(), c.getCustomerCode(), c.getName(), c.getEmail(), c.getPhone());
+    }
+
     private CustomerDto toDto(Customer c) {
         return CustomerDto.builder()
                 .id(c.getId())
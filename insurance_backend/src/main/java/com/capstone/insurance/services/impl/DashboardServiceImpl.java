@@ -4,9 +4,9 @@ import com.capstone.insurance.dto.dashboard.AdminDashboardStatsDto;
 import com.capstone.insurance.dto.dashboard.CustomerDashboardStatsDto;
 import com.capstone.insurance.dto.dashboard.MonthlyClaimData;
 import com.capstone.insurance.dto.dashboard.PolicyTypeDistribution;
+import com.capstone.insurance.dto.policy.CustomerPolicyDto;
 import com.capstone.insurance.entities.Claim;
 import com.capstone.insurance.entities.Customer;
-import com.capstone.insurance.entities.CustomerPolicy;
 import com.capstone.insurance.entities.Policy;
 import com.capstone.insurance.entities.enums.ClaimStatus;
 import com.capstone.insurance.entities.enums.PolicyStatus;
@@ -17,8 +17,10 @@ import com.capstone.insurance.repositories.CustomerPolicyRepository;
 import com.capstone.insurance.repositories.CustomerRepository;
 import com.capstone.insurance.repositories.PolicyRepository;
 import com.capstone.insurance.services.DashboardService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,10 +29,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
@@ -40,6 +42,7 @@ public class DashboardServiceImpl implements DashboardService {
     private final CustomerPolicyRepository customerPolicyRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public AdminDashboardStatsDto getAdminDashboardStats() {
         // Get basic counts
         long totalCustomers = customerRepository.count();
@@ -146,15 +149,16 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerDashboardStatsDto getCustomerDashboardStats(Long userId) {
         Customer customer = customerRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found for user id " + userId));
 
         // Get customer's assigned policies
-        List<CustomerPolicy> customerPolicies = customerPolicyRepository.findByCustomerId(customer.getId());
+        List<CustomerPolicyDto> customerPolicies = customerPolicyRepository.findPolicyDtosByCustomerId(customer.getId());
         long totalPolicies = customerPolicies.size();
         long activePolicies = customerPolicies.stream()
-                .filter(cp -> cp.getPolicy().getStatus() == PolicyStatus.ACTIVE)
+                .filter(cp -> cp.getStatus() == PolicyStatus.ACTIVE)
                 .count();
 
         // Get customer's claims
@@ -171,7 +175,7 @@ public class DashboardServiceImpl implements DashboardService {
                 .count();
 
         // Get monthly claims data for customer
-        List<MonthlyClaimData> monthlyClaimsData = getCustomerMonthlyClaimsData(customer.getId());
+        List<MonthlyClaimData> monthlyClaimsData = getCustomerMonthlyClaimsData(customerClaims);
 
         return CustomerDashboardStatsDto.builder()
                 .totalPolicies(totalPolicies)
@@ -184,7 +188,8 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    private List<MonthlyClaimData> getCustomerMonthlyClaimsData(UUID customerId) {
+    // Buckets the claims already loaded for the dashboard instead of reloading them for each month
+    private List<MonthlyClaimData> getCustomerMonthlyClaimsData(List<Claim> customerClaims) {
         List<MonthlyClaimData> monthlyData = new ArrayList<>();
         LocalDate now = LocalDate.now();
         
@@ -195,7 +200,7 @@ public class DashboardServiceImpl implements DashboardService {
             LocalDateTime endDateTime = monthEnd.atTime(23, 59, 59);
             
             // Get customer's claims for this month
-            List<Claim> monthClaims = claimRepository.findByCustomerId(customerId).stream()
+            List<Claim> monthClaims = customerClaims.stream()
                     .filter(c -> {
                         LocalDateTime createdAt = c.getCreatedAt();
                         return createdAt != null && 
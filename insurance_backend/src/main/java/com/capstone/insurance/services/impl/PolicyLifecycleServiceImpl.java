@@ -0,0 +1,352 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.config.CacheConfig;
+import com.capstone.insurance.dto.batch.BatchRunReport;
+import com.capstone.insurance.entities.BatchCheckpoint;
+import com.capstone.insurance.entities.CustomerPolicy;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.exceptions.ResourceNotFoundException;
+import com.capstone.insurance.repositories.BatchCheckpointRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.services.PolicyLifecycleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Flips ACTIVE policies whose end date has passed to EXPIRED.
+ *
+ * Policies are walked in id order, one chunk per transaction: a keyset select of ids,
+ * a single bulk UPDATE, optional renewal inserts and a checkpoint write all commit
+ * together, so a crashed run resumes from the last committed id on the next trigger.
+ * After each commit the cached policy lists of that chunk's holders are evicted, so a run
+ * that fails part way leaves no stale entries for the chunks it did commit.
+ *
+ * Meters: policy.expiry.expired, policy.expiry.renewed and policy.expiry.chunks count committed
+ * work, policy.expiry.run times whole runs by outcome, and policy.expiry.throughput holds the
+ * policies per second of the last completed run.
+ */
+@Slf4j
+@Service
+public class PolicyLifecycleServiceImpl implements PolicyLifecycleService {
+
+    static final String EXPIRY_JOB = "policy-expiry";
+
+    // Lowest UUID in string order, used as the keyset start
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private static final Pattern RENEWAL_SUFFIX = Pattern.compile("-R(\\d+)$");
+
+    private final PolicyRepository policyRepository;
+    private final CustomerPolicyRepository customerPolicyRepository;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CacheManager cacheManager;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Counter expiredCounter;
+    private final Counter renewedCounter;
+    private final Counter chunkCounter;
+    private volatile double lastThroughput;
+
+    @Value("${app.policy-lifecycle.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.policy-lifecycle.renewal-enabled:false}")
+    private boolean renewalEnabled;
+
+    @Value("${app.policy-lifecycle.renewal-window-days:30}")
+    private int renewalWindowDays = 30;
+
+    public PolicyLifecycleServiceImpl(PolicyRepository policyRepository,
+                                      CustomerPolicyRepository customerPolicyRepository,
+                                      BatchCheckpointRepository checkpointRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      CacheManager cacheManager) {
+        this.policyRepository = policyRepository;
+        this.customerPolicyRepository = customerPolicyRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.cacheManager = cacheManager;
+        this.expiredCounter = Counter.builder("policy.expiry.expired")
+                .description("Policies flipped from ACTIVE to EXPIRED")
+                .register(meterRegistry);
+        this.renewedCounter = Counter.builder("policy.expiry.renewed")
+                .description("Renewal terms created for expired policies")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("policy.expiry.chunks")
+                .description("Committed expiry chunks")
+                .register(meterRegistry);
+        Gauge.builder("policy.expiry.throughput", this, service -> service.lastThroughput)
+                .description("Policies per second of the last completed expiry run")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BatchRunReport runExpiryJob() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BadRequestException("Policy expiry job is already running");
+        }
+        try {
+            return doRunExpiryJob();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BatchRunReport doRunExpiryJob() {
+        long startNanos = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        BatchCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(today));
+        boolean resumed = checkpoint.getLastKey() != null;
+        UUID afterId = resumed ? UUID.fromString(checkpoint.getLastKey()) : MIN_ID;
+
+        try {
+            while (true) {
+                UUID cursor = afterId;
+                ChunkResult chunk = transactionTemplate.execute(status -> processChunk(today, cursor));
+                if (chunk == null) {
+                    break;
+                }
+                evictCustomerPolicies(chunk.holderUserIds());
+                expiredCounter.increment(chunk.expired());
+                renewedCounter.increment(chunk.renewed());
+                chunkCounter.increment();
+                afterId = chunk.lastId();
+            }
+        } catch (RuntimeException ex) {
+            recordRun(BatchJobStatus.FAILED, startNanos);
+            transactionTemplate.executeWithoutResult(status -> finish(BatchJobStatus.FAILED));
+            log.error("Policy expiry job failed after id {}", afterId, ex);
+            throw ex;
+        }
+
+        BatchCheckpoint done = transactionTemplate.execute(status -> finish(BatchJobStatus.COMPLETED));
+        BatchRunReport report = toReport(done, resumed);
+        recordRun(BatchJobStatus.COMPLETED, startNanos);
+        lastThroughput = report.getItemsPerSecond();
+        log.info("Policy expiry job completed: {} expired, {} renewed in {} chunks, {} ms ({} policies/s)",
+                report.getProcessed(), report.getRenewed(), report.getChunks(),
+                report.getDurationMs(), String.format("%.1f", report.getItemsPerSecond()));
+        return report;
+    }
+
+    private void recordRun(BatchJobStatus status, long startNanos) {
+        Timer.builder("policy.expiry.run")
+                .description("Duration of policy expiry runs")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public BatchRunReport getLastExpiryRun() {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(EXPIRY_JOB)
+                .orElseThrow(() -> new ResourceNotFoundException("Policy expiry job has not run yet"));
+        return toReport(checkpoint, false);
+    }
+
+    private BatchCheckpoint startOrResume(LocalDate today) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(EXPIRY_JOB).orElse(null);
+
+        // Only an unfinished run from the same day is resumed; anything else starts fresh
+        if (checkpoint != null
+                && checkpoint.getStatus() != BatchJobStatus.COMPLETED
+                && today.equals(checkpoint.getRunDate())) {
+            checkpoint.setStatus(BatchJobStatus.RUNNING);
+            checkpoint.setFinishedAt(null);
+            return checkpointRepository.save(checkpoint);
+        }
+
+        if (checkpoint == null) {
+            checkpoint = BatchCheckpoint.builder().jobName(EXPIRY_JOB).build();
+        }
+        checkpoint.setRunDate(today);
+        checkpoint.setLastKey(null);
+        checkpoint.setStatus(BatchJobStatus.RUNNING);
+        checkpoint.setProcessedCount(0);
+        checkpoint.setRenewedCount(0);
+        checkpoint.setChunkCount(0);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setFinishedAt(null);
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * Expires one chunk of policies after the given id.
+     *
+     * @return what the chunk did, or null when nothing is left
+     */
+    private ChunkResult processChunk(LocalDate today, UUID afterId) {
+        List<UUID> ids = policyRepository.findIdsEndedBefore(
+                PolicyStatus.ACTIVE, today, afterId, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        List<Renewal> renewals = renewalEnabled
+                ? buildRenewals(policyRepository.findAllById(ids), today)
+                : List.of();
+
+        List<Long> holderUserIds = customerPolicyRepository.findHolderUserIdsByPolicyIds(ids);
+        LocalDateTime now = LocalDateTime.now();
+        int expired = policyRepository.updateStatusByIds(ids, PolicyStatus.ACTIVE, PolicyStatus.EXPIRED, now);
+        if (!renewals.isEmpty()) {
+            policyRepository.saveAll(renewals.stream().map(Renewal::policy).toList());
+            copyHolders(renewals);
+        }
+
+        UUID lastId = ids.get(ids.size() - 1);
+        BatchCheckpoint checkpoint = checkpointRepository.findById(EXPIRY_JOB)
+                .orElseThrow(() -> new IllegalStateException("Checkpoint missing for " + EXPIRY_JOB));
+        checkpoint.setLastKey(lastId.toString());
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + expired);
+        checkpoint.setRenewedCount(checkpoint.getRenewedCount() + renewals.size());
+        checkpoint.setChunkCount(checkpoint.getChunkCount() + 1);
+        checkpointRepository.save(checkpoint);
+
+        return new ChunkResult(lastId, expired, renewals.size(), holderUserIds);
+    }
+
+    /**
+     * A policy is renewed when it has a complete term and expired within the renewal
+     * window. The new term starts the day after the old one ended and has the same length.
+     */
+    private List<Renewal> buildRenewals(List<Policy> expiring, LocalDate today) {
+        LocalDate windowStart = today.minusDays(renewalWindowDays);
+        List<Renewal> renewals = new ArrayList<>();
+
+        for (Policy p : expiring) {
+            if (p.getStartDate() == null || p.getEndDate() == null
+                    || p.getEndDate().isBefore(windowStart)) {
+                continue;
+            }
+            LocalDate start = p.getEndDate().plusDays(1);
+            LocalDate end = start.plus(Period.between(p.getStartDate(), p.getEndDate()));
+            if (end.isBefore(today)) {
+                continue;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            renewals.add(new Renewal(p.getId(), Policy.builder()
+                    .policyCode(renewalCode(p.getPolicyCode()))
+                    .policyType(p.getPolicyType())
+                    .coverageAmount(p.getCoverageAmount())
+                    .startDate(start)
+                    .endDate(end)
+                    .status(PolicyStatus.ACTIVE)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build()));
+        }
+        return renewals;
+    }
+
+    /**
+     * POL0042 renews as POL0042-R1, which renews as POL0042-R2. A policy expires once, so the
+     * code is unique without consulting the table, and it never meets createPolicy's sequence.
+     */
+    static String renewalCode(String code) {
+        Matcher suffix = RENEWAL_SUFFIX.matcher(code);
+        if (suffix.find()) {
+            return code.substring(0, suffix.start()) + "-R" + (Integer.parseInt(suffix.group(1)) + 1);
+        }
+        return code + "-R1";
+    }
+
+    // Every holder of an expiring policy holds its renewal too, under a new policy number
+    private void copyHolders(List<Renewal> renewals) {
+        Map<UUID, Policy> renewalByOriginal = renewals.stream()
+                .collect(Collectors.toMap(Renewal::originalId, Renewal::policy));
+        List<CustomerPolicy> holders = customerPolicyRepository.findWithCustomerByPolicyIds(renewalByOriginal.keySet());
+        if (holders.isEmpty()) {
+            return;
+        }
+
+        List<String> numbers = PolicyNumbers.allocate(holders.size(), customerPolicyRepository);
+        LocalDateTime now = LocalDateTime.now();
+        List<CustomerPolicy> links = new ArrayList<>(holders.size());
+        for (int i = 0; i < holders.size(); i++) {
+            CustomerPolicy holder = holders.get(i);
+            links.add(CustomerPolicy.builder()
+                    .customer(holder.getCustomer())
+                    .policy(renewalByOriginal.get(holder.getPolicy().getId()))
+                    .policyNumber(numbers.get(i))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        customerPolicyRepository.saveAll(links);
+    }
+
+    private void evictCustomerPolicies(List<Long> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+
+    private BatchCheckpoint finish(BatchJobStatus status) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(EXPIRY_JOB)
+                .orElseThrow(() -> new IllegalStateException("Checkpoint missing for " + EXPIRY_JOB));
+        checkpoint.setStatus(status);
+        checkpoint.setFinishedAt(LocalDateTime.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private BatchRunReport toReport(BatchCheckpoint c, boolean resumed) {
+        LocalDateTime end = c.getFinishedAt() != null ? c.getFinishedAt() : LocalDateTime.now();
+        long durationMs = Math.max(Duration.between(c.getStartedAt(), end).toMillis(), 0);
+        double perSecond = durationMs > 0 ? c.getProcessedCount() * 1000.0 / durationMs : c.getProcessedCount();
+
+        return BatchRunReport.builder()
+                .jobName(c.getJobName())
+                .runDate(c.getRunDate())
+                .status(c.getStatus())
+                .resumed(resumed)
+                .processed(c.getProcessedCount())
+                .renewed(c.getRenewedCount())
+                .chunks(c.getChunkCount())
+                .durationMs(durationMs)
+                .itemsPerSecond(perSecond)
+                .startedAt(c.getStartedAt())
+                .finishedAt(c.getFinishedAt())
+                .build();
+    }
+
+    private record Renewal(UUID originalId, Policy policy) {
+    }
+
+    private record ChunkResult(UUID lastId, int expired, int renewed, List<Long> holderUserIds) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the 10-character alphanumeric numbers stored on CustomerPolicy.
+ * One shared SecureRandom is used; it is thread-safe and seeding a new one per call is costly.
+ */
+final class PolicyNumbers {
+
+    private static final String CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int LENGTH = 10;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PolicyNumbers() {
+    }
+
+    static String next() {
+        char[] buf = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            buf[i] = CHARS.charAt(RANDOM.nextInt(CHARS.length()));
+        }
+        return new String(buf);
+    }
+
+    /**
+     * Draws the requested number of distinct policy numbers and replaces any that are
+     * already taken, checking each round against the table with a single IN query.
+     */
+    static List<String> allocate(int count, CustomerPolicyRepository customerPolicyRepository) {
+        Set<String> result = new LinkedHashSet<>(count * 2);
+        while (result.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (result.size() + candidates.size() < count) {
+                String candidate = next();
+                if (!result.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            candidates.removeAll(customerPolicyRepository.findExistingPolicyNumbers(candidates));
+            result.addAll(candidates);
+        }
+        return new ArrayList<>(result);
+    }
+}
@@ -1,10 +1,12 @@
 package com.capstone.insurance.services.impl;
 
+import com.capstone.insurance.config.CacheConfig;
 import com.capstone.insurance.dto.common.PaginatedResponse;
 import com.capstone.insurance.dto.policy.AssignPolicyRequest;
 import com.capstone.insurance.dto.policy.CustomerPolicyDto;
 import com.capstone.insurance.dto.policy.PolicyCreateRequest;
 import com.capstone.insurance.dto.policy.PolicyDto;
+import com.capstone.insurance.dto.policy.PolicySearchCriteria;
 import com.capstone.insurance.dto.policy.PolicyUpdateRequest;
 import com.capstone.insurance.entities.Customer;
 import com.capstone.insurance.entities.CustomerPolicy;
@@ -14,15 +16,21 @@ import com.capstone.insurance.exceptions.ResourceNotFoundException;
 import com.capstone.insurance.repositories.CustomerPolicyRepository;
 import com.capstone.insurance.repositories.CustomerRepository;
 import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.repositories.specifications.PolicySpecifications;
 import com.capstone.insurance.services.PolicyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -35,8 +43,12 @@ public class PolicyServiceImpl implements PolicyService {
     private final PolicyRepository policyRepository;
     private final CustomerRepository customerRepository;
     private final CustomerPolicyRepository customerPolicyRepository;
+    private final CacheManager cacheManager;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
 
     @Override
+    @Transactional
     public PolicyDto createPolicy(PolicyCreateRequest request) {
         // Auto-generate policy code
         String policyCode = generatePolicyCode();
@@ -57,15 +69,10 @@ public class PolicyServiceImpl implements PolicyService {
     }
 
     private String generatePolicyCode() {
-        Policy lastPolicy = policyRepository.findTopByOrderByPolicyCodeDesc()
-                .orElse(null);
-
-        if (lastPolicy == null || lastPolicy.getPolicyCode() == null) {
-            return "POL0001";
-        }
+        String lastCode = policyRepository.findLatestPolicyCodes(PageRequest.of(0, 1))
+                .stream().findFirst().orElse(null);
 
-        String lastCode = lastPolicy.getPolicyCode();
-        if (lastCode.startsWith("POL")) {
+        if (lastCode != null && lastCode.startsWith("POL")) {
             try {
                 int number = Integer.parseInt(lastCode.substring(3));
                 return String.format("POL%04d", number + 1);
@@ -85,6 +92,7 @@ public class PolicyServiceImpl implements PolicyService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PaginatedResponse<PolicyDto> getAllPoliciesPaginated(int page) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Policy> policyPage = policyRepository.findAll(pageable);
@@ -105,6 +113,42 @@ public class PolicyServiceImpl implements PolicyService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponse<PolicyDto> searchPolicies(PolicySearchCriteria criteria, int page, int size) {
+        if (criteria.getMinCoverage() != null && criteria.getMaxCoverage() != null
+                && criteria.getMinCoverage().compareTo(criteria.getMaxCoverage()) > 0) {
+            throw new BadRequestException("minCoverage must not be greater than maxCoverage");
+        }
+        if (isReversed(criteria.getStartFrom(), criteria.getStartTo())
+                || isReversed(criteria.getEndFrom(), criteria.getEndTo())) {
+            throw new BadRequestException("Date range start must not be after its end");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<Policy> policyPage = policyRepository.findAll(PolicySpecifications.matching(criteria), pageable);
+
+        List<PolicyDto> content = policyPage.getContent()
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+
+        return PaginatedResponse.<PolicyDto>builder()
+                .content(content)
+                .currentPage(page)
+                .pageSize(pageSize)
+                .totalElements(policyPage.getTotalElements())
+                .totalPages(policyPage.getTotalPages())
+                .hasNext(policyPage.hasNext())
+                .hasPrevious(policyPage.hasPrevious())
+                .build();
+    }
+
+    private static boolean isReversed(LocalDate from, LocalDate to) {
+        return from != null && to != null && from.isAfter(to);
+    }
+
     @Override
     public PolicyDto getPolicyById(UUID id) {
         Policy policy = policyRepository.findById(id)
@@ -113,6 +157,8 @@ public class PolicyServiceImpl implements PolicyService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMER_POLICIES, allEntries = true)
+    @Transactional
     public PolicyDto updatePolicy(UUID id, PolicyUpdateRequest request) {
         Policy policy = policyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Policy not found with id " + id));
@@ -128,6 +174,7 @@ public class PolicyServiceImpl implements PolicyService {
     }
 
     @Override
+    @Transactional
     public void assignPolicyToCustomer(UUID customerId, AssignPolicyRequest request) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id " + customerId));
@@ -145,7 +192,7 @@ public class PolicyServiceImpl implements PolicyService {
         }
 
         // Generate random policy number (mix of numbers and characters)
-        String policyNumber = generateRandomPolicyNumber();
+        String policyNumber = PolicyNumbers.next();
 
         LocalDateTime now = LocalDateTime.now();
         CustomerPolicy cp = CustomerPolicy.builder()
@@ -156,53 +203,26 @@ public class PolicyServiceImpl implements PolicyService {
                 .updatedAt(now)
                 .build();
         customerPolicyRepository.save(cp);
+        evictCustomerPolicies(customer);
     }
 
-    private String generateRandomPolicyNumber() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        SecureRandom random = new SecureRandom();
-        StringBuilder sb = new StringBuilder();
-        
-        // Generate 10-character alphanumeric string
-        for (int i = 0; i < 10; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        
-        return sb.toString();
-    }
-
+    // Cached per user as an unmodifiable list, because every caller shares the same instance
     @Override
+    @Cacheable(cacheNames = CacheConfig.CUSTOMER_POLICIES, key = "#p0")
     public List<CustomerPolicyDto> getCustomerPolicies(Long userId) {
-        Customer customer = customerRepository.findByUserId(userId)
+        UUID customerId = customerRepository.findIdByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found for user id " + userId));
 
-        List<CustomerPolicy> customerPolicies = customerPolicyRepository.findByCustomerId(customer.getId());
-        
-        // Sort by createdAt descending (newest first)
-        customerPolicies.sort((a, b) -> {
-            if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-            if (a.getCreatedAt() == null) return 1;
-            if (b.getCreatedAt() == null) return -1;
-            return b.getCreatedAt().compareTo(a.getCreatedAt());
-        });
-
-        return customerPolicies.stream()
-                .map(cp -> {
-                    Policy policy = cp.getPolicy();
-                    return CustomerPolicyDto.builder()
-                            .policyId(policy.getId())
-                            .policyCode(policy.getPolicyCode())
-                            .policyNumber(cp.getPolicyNumber())
-                            .policyType(policy.getPolicyType())
-                            .coverageAmount(policy.getCoverageAmount())
-                            .startDate(policy.getStartDate())
-                            .endDate(policy.getEndDate())
-                            .status(policy.getStatus())
-                            .createdAt(cp.getCreatedAt())
-                            .updatedAt(cp.getUpdatedAt())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Single joined query, sorted by the database
+        return List.copyOf(customerPolicyRepository.findPolicyDtosByCustomerId(customerId));
+    }
+
+    // The cache is keyed by user id, which the assignment only has through the customer
+    private void evictCustomerPolicies(Customer customer) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES);
+        if (cache != null) {
+            cache.evict(customer.getUser().getId());
+        }
     }
 
     private PolicyDto toDto(Policy p) {
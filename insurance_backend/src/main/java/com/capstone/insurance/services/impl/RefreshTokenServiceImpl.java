@@ -1,68 +1,137 @@
 package com.capstone.insurance.services.impl;
 
+import com.capstone.insurance.dto.auth.IssuedRefreshToken;
 import com.capstone.insurance.entities.RefreshToken;
 import com.capstone.insurance.entities.User;
 import com.capstone.insurance.exceptions.BadRequestException;
 import com.capstone.insurance.repositories.RefreshTokenRepository;
 import com.capstone.insurance.repositories.UserRepository;
 import com.capstone.insurance.services.RefreshTokenService;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
+/**
+ * Refresh tokens are opaque random strings; the table keeps only their SHA-256 hash. Each user
+ * has a single row which is rewritten in place, so a login or a refresh is one UPDATE (or one
+ * INSERT for a first login). Two first logins at once both miss the UPDATE and race to INSERT;
+ * the loser hits the unique user_id constraint and retries, and its UPDATE then finds the row.
+ *
+ * Every refresh rotates the token and remembers the hash it replaced. If that replaced token
+ * is presented again, someone else may be holding the current one, so the row is deleted and
+ * the user has to sign in again.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // One retry is enough: after a lost insert race the row exists and the update succeeds
+    private static final int MAX_CREATE_ATTEMPTS = 2;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
-    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${app.jwt.refresh-expiration-ms}")
     private long refreshTokenDurationMs;
 
+    @Value("${app.jwt.refresh-cleanup-chunk-size:1000}")
+    private int cleanupChunkSize = 1000;
+
+    // Each attempt is its own transaction, so a failed insert rolls back cleanly before the retry
     @Override
-    @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new BadRequestException("User not found"));
+    public IssuedRefreshToken createRefreshToken(Long userId) {
+        String token = newToken();
+        String tokenHash = hash(token);
+        Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
 
-        // Delete existing refresh token for this user and flush to ensure it's deleted before insert
-        Optional<RefreshToken> existingToken = refreshTokenRepository.findByUser(user);
-        if (existingToken.isPresent()) {
-            refreshTokenRepository.delete(existingToken.get());
-            entityManager.flush(); // Flush to ensure delete is committed before insert
+        for (int attempt = 1; ; attempt++) {
+            try {
+                User user = transactionTemplate.execute(status -> storeForUser(userId, tokenHash, expiryDate));
+                return new IssuedRefreshToken(token, expiryDate, user);
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= MAX_CREATE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Concurrent first login for user {}; retrying refresh token update", userId);
+            }
         }
+    }
 
-        // Create new refresh token
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
-
-        return refreshTokenRepository.save(refreshToken);
+    private User storeForUser(Long userId, String tokenHash, Instant expiryDate) {
+        // Callers pass an already authenticated user id, so a reference is enough here
+        User user = userRepository.getReferenceById(userId);
+        if (refreshTokenRepository.replaceForUser(userId, tokenHash, expiryDate, LocalDateTime.now()) == 0) {
+            refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+                    .user(user)
+                    .tokenHash(tokenHash)
+                    .expiryDate(expiryDate)
+                    .build());
+        }
+        return user;
     }
 
+    // Rejections delete rows (reuse, expiry) and those deletes must stick
     @Override
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public IssuedRefreshToken rotate(String token) {
+        String currentHash = hash(token);
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(currentHash);
+
+        if (found.isEmpty()) {
+            Optional<RefreshToken> replaced = refreshTokenRepository.findByPreviousTokenHash(currentHash);
+            if (replaced.isPresent()) {
+                log.warn("Rotated-out refresh token presented again for user {}; revoking",
+                        replaced.get().getUser().getId());
+                refreshTokenRepository.delete(replaced.get());
+                throw new BadRequestException("Refresh token was already used. Please make a new signin request");
+            }
+            throw new BadRequestException("Refresh token not found");
+        }
+
+        RefreshToken current = found.get();
+        if (current.getExpiryDate().isBefore(Instant.now())) {
+            refreshTokenRepository.delete(current);
             throw new BadRequestException("Refresh token was expired. Please make a new signin request");
         }
-        return token;
+        // Checked before rotating, so a disabled account never gets a new token
+        if (!Boolean.TRUE.equals(current.getUser().getEnabled())) {
+            throw new BadCredentialsException("Account is disabled");
+        }
+
+        String next = newToken();
+        Instant expiryDate = Instant.now().plusMillis(refreshTokenDurationMs);
+        // Conditional on the current hash, so of two concurrent refreshes only one wins
+        if (refreshTokenRepository.rotate(currentHash, hash(next), expiryDate, LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Refresh token was already used. Please make a new signin request");
+        }
+        return new IssuedRefreshToken(next, expiryDate, current.getUser());
     }
 
     @Override
-    public RefreshToken findByToken(String token) {
-        return refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new BadRequestException("Refresh token not found"));
+    @Transactional
+    public int revoke(String token) {
+        return refreshTokenRepository.deleteByTokenHash(hash(token));
     }
 
     @Override
@@ -72,5 +141,35 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                 .orElseThrow(() -> new BadRequestException("User not found"));
         return refreshTokenRepository.deleteByUser(user);
     }
-}
 
+    // Each chunk is its own short delete, so the sweep never holds locks on the whole table
+    @Override
+    public int deleteExpired() {
+        Instant now = Instant.now();
+        int deleted = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, cleanupChunkSize));
+            if (!ids.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+            }
+        } while (ids.size() == cleanupChunkSize);
+        return deleted;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.dto.user.UserAccountDto;
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.exceptions.ResourceNotFoundException;
+import com.capstone.insurance.repositories.RefreshTokenRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.security.TokenRevocationCache;
+import com.capstone.insurance.services.UserAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Account changes that must invalidate access tokens already handed out. Each change bumps
+ * the user's token version; the revocation cache is updated once the change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAccountServiceImpl implements UserAccountService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+
+    @Override
+    @Transactional
+    public UserAccountDto setEnabled(Long userId, boolean enabled) {
+        User user = findUser(userId);
+        if (Boolean.TRUE.equals(user.getEnabled()) == enabled) {
+            return toDto(user);
+        }
+        user.setEnabled(enabled);
+        if (!enabled) {
+            // Disabled users must not be able to mint new access tokens either
+            refreshTokenRepository.deleteByUser(user);
+        }
+        return bumpTokenVersion(user);
+    }
+
+    @Override
+    @Transactional
+    public UserAccountDto changeRole(Long userId, Role role) {
+        User user = findUser(userId);
+        if (user.getRole() == role) {
+            return toDto(user);
+        }
+        user.setRole(role);
+        return bumpTokenVersion(user);
+    }
+
+    private UserAccountDto bumpTokenVersion(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+
+        long id = user.getId();
+        boolean enabled = Boolean.TRUE.equals(user.getEnabled());
+        int version = user.getTokenVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationCache.apply(id, enabled, version);
+            }
+        });
+        return toDto(user);
+    }
+
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id " + userId));
+    }
+
+    private UserAccountDto toDto(User user) {
+        return UserAccountDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .role(user.getRole())
+                .enabled(Boolean.TRUE.equals(user.getEnabled()))
+                .build();
+    }
+}
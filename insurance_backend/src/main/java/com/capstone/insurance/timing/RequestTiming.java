@@ -0,0 +1,126 @@
+package com.capstone.insurance.timing;
+
+/**
+ * Phase timers for the request running on the current thread, reported as Server-Timing.
+ * Instrumented code calls the static methods, which do nothing when no request is being timed,
+ * so the same code paths run unchanged in jobs and tests.
+ *
+ * Phases overlap the way the code nests: service includes the SQL it runs, and mapping is the
+ * part of service time not spent in SQL (DTO mapping and business logic). The sql phase is JDBC
+ * statement execution only, so reading result sets and building entities count as mapping.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        SERVICE("service"),
+        SQL("sql"),
+        MAPPING("mapping"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private int serviceDepth;
+    private long serviceStartNanos;
+    private long sqlAtServiceStart;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public static void add(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    // Only the outermost service call is timed; calls it makes to other services are part of it
+    void enterService() {
+        if (serviceDepth++ == 0) {
+            serviceStartNanos = System.nanoTime();
+            sqlAtServiceStart = nanos[Phase.SQL.ordinal()];
+        }
+    }
+
+    void exitService() {
+        if (--serviceDepth == 0) {
+            long service = System.nanoTime() - serviceStartNanos;
+            long sql = nanos[Phase.SQL.ordinal()] - sqlAtServiceStart;
+            nanos[Phase.SERVICE.ordinal()] += service;
+            nanos[Phase.MAPPING.ordinal()] += Math.max(0, service - sql);
+        }
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Server-Timing value with every phase that took any time plus the total so far, e.g.
+     * {@code auth;dur=0.04, service;dur=8.31, sql;dur=5.02, mapping;dur=3.29, total;dur=9.10}.
+     */
+    String header() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos > 0) {
+                appendMetric(header, phase.metricName, phaseNanos);
+            }
+        }
+        appendMetric(header, "total", elapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long elapsedNanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=");
+        appendMillis(header, elapsedNanos);
+    }
+
+    // Milliseconds with two decimals, without the cost of String.format
+    static void appendMillis(StringBuilder out, long elapsedNanos) {
+        long hundredths = (elapsedNanos + 5_000) / 10_000;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+}
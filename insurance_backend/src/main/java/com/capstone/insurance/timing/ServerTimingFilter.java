@@ -0,0 +1,146 @@
+package com.capstone.insurance.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each request by phase (see {@link RequestTiming}) and reports the breakdown in a
+ * Server-Timing header, added just before the response is committed. A sample of requests,
+ * plus every request slower than slow-request-ms, is also logged as one key=value line:
+ *
+ * <pre>server-timing method=GET uri=/api/admin/claims status=200 total=41.20 auth=0.03 service=35.12 sql=30.40 mapping=4.72 serialize=2.31</pre>
+ *
+ * Durations are in milliseconds. The cost is a few System.nanoTime() calls per phase.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final boolean enabled;
+    private final double logSampleRate;
+    private final long slowRequestNanos;
+
+    public ServerTimingFilter(@Value("${app.server-timing.enabled:true}") boolean enabled,
+                              @Value("${app.server-timing.log-sample-rate:0.01}") double logSampleRate,
+                              @Value("${app.server-timing.slow-request-ms:1000}") long slowRequestMs) {
+        this.enabled = enabled;
+        this.logSampleRate = logSampleRate;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        TimingResponse timingResponse = new TimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            timing.close();
+            // Bodiless responses are never committed by the application; the header still fits
+            timingResponse.addTimingHeader();
+            long elapsed = timing.elapsedNanos();
+            if (log.isInfoEnabled()
+                    && (elapsed >= slowRequestNanos || ThreadLocalRandom.current().nextDouble() < logSampleRate)) {
+                log.info(logLine(request, response, timing, elapsed));
+            }
+        }
+    }
+
+    private static String logLine(HttpServletRequest request, HttpServletResponse response,
+                                  RequestTiming timing, long elapsed) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        StringBuilder line = new StringBuilder(192)
+                .append("server-timing method=").append(request.getMethod())
+                .append(" uri=").append(pattern != null ? pattern : "UNKNOWN")
+                .append(" status=").append(response.getStatus())
+                .append(" total=");
+        RequestTiming.appendMillis(line, elapsed);
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            line.append(' ').append(phase.metricName()).append('=');
+            RequestTiming.appendMillis(line, timing.nanos(phase));
+        }
+        return line.toString();
+    }
+
+    /** Adds Server-Timing at the first point where the response could be committed. */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void addTimingHeader() {
+            if (!headerAdded) {
+                headerAdded = true;
+                if (!isCommitted()) {
+                    setHeader(HEADER, timing.header());
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.capstone.insurance.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the service phase of {@link RequestTiming} from every {@code @Service} bean call.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.enterService();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exitService();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.capstone.insurance.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing JDBC statements and batches to the sql phase of
+ * {@link RequestTiming}, wherever they run: in a repository call or in a lazy load during
+ * mapping. Hibernate creates one per session through hibernate.session.events.auto.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.add(RequestTiming.Phase.SQL, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.add(RequestTiming.Phase.SQL, System.nanoTime() - batchStart);
+    }
+}
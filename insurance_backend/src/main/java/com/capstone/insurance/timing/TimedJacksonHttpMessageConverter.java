@@ -0,0 +1,112 @@
+package com.capstone.insurance.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON converter, timing serialization for the serialize phase of {@link RequestTiming}.
+ * While a request is timed, bodies up to max-buffered-bytes are rendered into a buffer first,
+ * so the response is not committed until the time is known and Server-Timing can still include
+ * it; those bodies also get a Content-Length. A larger body is streamed once it outgrows the
+ * buffer, and its serialize time only reaches the request log line. Replaces the converter
+ * Spring Boot would otherwise create.
+ */
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int maxBufferedBytes;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper,
+                                            @Value("${app.server-timing.max-buffered-bytes:65536}") int maxBufferedBytes) {
+        super(objectMapper);
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (RequestTiming.current() == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        SpillingOutputStream body = new SpillingOutputStream(outputMessage, maxBufferedBytes);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        RequestTiming.add(RequestTiming.Phase.SERIALIZE, System.nanoTime() - start);
+        body.finish();
+    }
+
+    /**
+     * Buffers up to a limit, then writes what it holds to the response and passes the rest
+     * straight through. Flushes are held back while buffering so they cannot commit the response.
+     */
+    private static final class SpillingOutputStream extends OutputStream {
+
+        private final HttpOutputMessage target;
+        private final int limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        private OutputStream out;
+
+        SpillingOutputStream(HttpOutputMessage target, int limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            reserve(1).write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            reserve(len).write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        // The converter leaves the response stream open; the container closes it
+        @Override
+        public void close() {
+        }
+
+        void finish() throws IOException {
+            if (out == null) {
+                target.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(target.getBody());
+                buffer = null;
+            }
+        }
+
+        private OutputStream reserve(int len) throws IOException {
+            if (out == null && buffer.size() + len > limit) {
+                out = target.getBody();
+                buffer.writeTo(out);
+                buffer = null;
+            }
+            return out != null ? out : buffer;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.capstone.insurance.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditJournalTest {
+
+    // Room for a handful of small records per segment
+    private static final int SEGMENT_SIZE = 512;
+
+    @TempDir Path dir;
+
+    private AuditJournal journal;
+
+    private AuditJournal open() throws Exception {
+        journal = new AuditJournal(true, dir.toString(), SEGMENT_SIZE, 10_000);
+        journal.open();
+        return journal;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return ("{\"n\":" + i + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    // 1) Appends roll over into new segments and read back in order across them
+    @Test
+    void append_shouldRollSegmentsAndReadBackInOrder() throws Exception {
+        open();
+        for (int i = 1; i <= 40; i++) {
+            assertEquals(i, journal.append(payload(i)));
+        }
+
+        assertTrue(segments().size() > 1);
+        List<AuditJournal.Record> first = journal.read(1, 25);
+        List<AuditJournal.Record> rest = journal.read(26, 100);
+        assertEquals(25, first.size());
+        assertEquals(15, rest.size());
+        assertEquals(40, rest.get(14).sequence());
+        assertArrayEquals(payload(26), rest.get(0).payload());
+        assertNull(journal.verify().problem());
+    }
+
+    // 2) Reopening continues the sequence and the chain
+    @Test
+    void open_shouldContinueAfterLastRecord() throws Exception {
+        open();
+        for (int i = 1; i <= 12; i++) {
+            journal.append(payload(i));
+        }
+        journal.close();
+
+        open();
+        assertEquals(12, journal.appendedSequence());
+        assertEquals(13, journal.append(payload(13)));
+        AuditJournal.Verification verification = journal.verify();
+        assertNull(verification.problem());
+        assertEquals(13, verification.lastSequence());
+    }
+
+    // 3) A record torn by a crash is dropped on recovery and its sequence reused
+    @Test
+    void open_shouldDropTornTailRecord() throws Exception {
+        open();
+        journal.append(payload(1));
+        journal.append(payload(2));
+        journal.close();
+        journal = null;
+
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int secondRecord = 44 + 44 + payload(1).length;
+            // Keep the length but corrupt the payload, as if the write stopped halfway
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0}), secondRecord + 44);
+        }
+
+        open();
+        assertEquals(1, journal.appendedSequence());
+        assertEquals(2, journal.append(payload(3)));
+        assertNull(journal.verify().problem());
+    }
+
+    // 4) Editing a record in an older segment is reported and stops reads at that record
+    @Test
+    void verify_shouldDetectTamperedRecord() throws Exception {
+        open();
+        for (int i = 1; i <= 20; i++) {
+            journal.append(payload(i));
+        }
+        journal.flush();
+
+        Path first = segments().get(0);
+        try (FileChannel channel = FileChannel.open(first, StandardOpenOption.WRITE)) {
+            // First payload byte of record 1
+            channel.write(ByteBuffer.wrap(new byte[]{'['}), 44 + 44);
+        }
+
+        AuditJournal.Verification verification = journal.verify();
+        assertNotNull(verification.problem());
+        assertTrue(verification.problem().contains("record 1"));
+        assertThrows(IllegalStateException.class, () -> journal.read(1, 10));
+    }
+
+    // 5) Only fully replayed segments are deleted, keeping the requested number
+    @Test
+    void deleteReplayedSegments_shouldKeepUnreplayedAndRetained() throws Exception {
+        open();
+        for (int i = 1; i <= 40; i++) {
+            journal.append(payload(i));
+        }
+        int before = segments().size();
+
+        assertEquals(0, journal.deleteReplayedSegments(0, 0));
+        int deleted = journal.deleteReplayedSegments(40, 1);
+
+        // Every segment but the one being written is replayed; one of those is retained
+        assertEquals(before - 2, deleted);
+        assertEquals(2, segments().size());
+        assertNull(journal.verify().problem());
+        assertEquals(40, journal.read(journal.verify().firstSequence(), 100).get(
+                (int) (40 - journal.verify().firstSequence())).sequence());
+    }
+
+    // 6) Reads and verification run alongside appends and only see records appended before they started
+    @Test
+    void read_shouldSeeConsistentSnapshotWhileAppending() throws Exception {
+        open();
+        int total = 2_000;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread appender = Thread.ofPlatform().start(() -> {
+            try {
+                for (int i = 1; i <= total; i++) {
+                    journal.append(payload(i));
+                }
+            } catch (Throwable ex) {
+                failure.set(ex);
+            }
+        });
+
+        List<AuditJournal.Record> replayed = new ArrayList<>();
+        while (appender.isAlive() || replayed.size() < total) {
+            AuditJournal.Verification verification = journal.verify();
+            assertNull(verification.problem());
+            replayed.addAll(journal.read(replayed.size() + 1, 100));
+        }
+        appender.join();
+
+        assertNull(failure.get());
+        assertEquals(total, replayed.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, replayed.get(i).sequence());
+            assertArrayEquals(payload(i + 1), replayed.get(i).payload());
+        }
+    }
+}
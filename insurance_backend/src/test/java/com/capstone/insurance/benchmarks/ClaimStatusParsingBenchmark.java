@@ -0,0 +1,37 @@
+package com.capstone.insurance.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capstone.insurance.entities.enums.ClaimStatus;
+
+/**
+ * {@link ClaimStatus#fromString}, which Jackson calls for every status in a request body.
+ * The inputs cover each branch: enum name, name with a space, display name and the trimmed fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimStatusParsingBenchmark {
+
+    @Param({"SUBMITTED", "in_review", "In Review", "REJECTED", " approved "})
+    public String value;
+
+    @Benchmark
+    public ClaimStatus fromString() {
+        return ClaimStatus.fromString(value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.capstone.insurance.benchmarks;
+
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.capstone.insurance.security.jwt.JwtTokenProvider;
+import com.capstone.insurance.security.model.UserPrincipal;
+import com.capstone.insurance.entities.enums.Role;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token issue on login/refresh and the claims-to-principal step every authenticated request takes.
+ * Raw signature verification is covered by {@link JwtVerificationBenchmark}.
+ *
+ * Run with {@code mvn -Pbenchmarks test -Djmh.include=JwtTokenProviderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET =
+            Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret-0123456789".getBytes());
+
+    private JwtTokenProvider provider;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000L, new SimpleMeterRegistry());
+        UserPrincipal principal = new UserPrincipal(42L, "bench.user", Role.CUSTOMER, UUID.randomUUID(), 3);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = provider.generateToken(authentication);
+        claims = provider.verifyToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public UserPrincipal toPrincipal() {
+        return provider.toPrincipal(claims);
+    }
+
+    // What JwtAuthenticationFilter does for a token seen recently
+    @Benchmark
+    public UserPrincipal verifyCachedAndResolvePrincipal() {
+        return provider.toPrincipal(provider.verifyToken(token).orElseThrow());
+    }
+}
@@ -0,0 +1,86 @@
+package com.capstone.insurance.benchmarks;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.security.jwt.JwtTokenProvider;
+import com.capstone.insurance.security.model.UserPrincipal;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ *
+ * Run with {@code mvn -Pbenchmarks test -Djmh.include=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret-0123456789".getBytes());
+
+    private Key key;
+    private JwtParser parser;
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        provider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000L, new SimpleMeterRegistry());
+
+        User user = User.builder().id(42L).username("bench.user").password("x").role(Role.CUSTOMER).build();
+        UserPrincipal principal = new UserPrincipal(user);
+        token = provider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // The filter before: validate, then parse again for the subject, building a parser each time
+    @Benchmark
+    public String doubleParseNewParser() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    // One parse with the shared parser, as on a cache miss
+    @Benchmark
+    public String singleParseSharedParser() {
+        return parser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    // The filter now, for a token seen recently
+    @Benchmark
+    public String verifyTokenCached() {
+        return provider.verifyToken(token).orElseThrow().getSubject();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.capstone.insurance.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.capstone.insurance.dto.claim.ClaimDto;
+import com.capstone.insurance.dto.common.PaginatedResponse;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writing a page of claims to JSON with the same ObjectMapper settings Spring Boot applies.
+ * pageSize 10 is what the list endpoints return; 100 shows how the cost scales per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatedResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponse<ClaimDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 10, 30);
+        List<ClaimDto> claims = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            claims.add(ClaimDto.builder()
+                    .id((long) i)
+                    .claimNumber("CLM-2025-" + i)
+                    .customerId(UUID.randomUUID())
+                    .policyId(UUID.randomUUID())
+                    .policyNumber("AB12CD34EF")
+                    .claimDate(LocalDate.of(2025, 5, 1 + i % 28))
+                    .claimAmount(new BigDecimal("12500.00").add(BigDecimal.valueOf(i)))
+                    .status(ClaimStatus.values()[i % ClaimStatus.values().length])
+                    .description("Water damage in the kitchen after a pipe burst, claim " + i)
+                    .remarks(i % 2 == 0 ? "Verified by adjuster" : null)
+                    .evidenceUrl("https://files.example.com/evidence/" + i + ".pdf")
+                    .createdAt(now.plusMinutes(i))
+                    .updatedAt(now.plusMinutes(i))
+                    .build());
+        }
+        page = PaginatedResponse.<ClaimDto>builder()
+                .content(claims)
+                .currentPage(0)
+                .pageSize(pageSize)
+                .totalElements(1000)
+                .totalPages(1000 / pageSize)
+                .hasNext(true)
+                .hasPrevious(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,112 @@
+package com.capstone.insurance.benchmarks;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capstone.insurance.datasource.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A burst of requests that each hold a pooled connection briefly and then wait off the database,
+ * served by a 200-thread platform pool (Tomcat's default), by one virtual thread per request, and
+ * by virtual threads behind {@link BulkheadDataSource}. The score is the average time per request
+ * across the burst.
+ *
+ * Run with {@code mvn -Pbenchmarks test -Djmh.include=VirtualThreadBulkheadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBulkheadBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long DB_HOLD_MILLIS = 2;
+    private static final long OFF_DB_MILLIS = 5;
+
+    @Param({"platform", "virtual", "virtual-bulkhead"})
+    public String mode;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:bulkhead-bench;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setMinimumIdle(POOL_SIZE);
+        pool.setConnectionTimeout(30_000);
+        dataSource = mode.equals("virtual-bulkhead")
+                ? new BulkheadDataSource(pool, POOL_SIZE, REQUESTS, Duration.ofSeconds(30), new SimpleMeterRegistry())
+                : pool;
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long burst() throws Exception {
+        List<Future<Integer>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(executor.submit(this::request));
+        }
+        long sum = 0;
+        for (Future<Integer> result : results) {
+            sum += result.get();
+        }
+        return sum;
+    }
+
+    private int request() throws Exception {
+        int value;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select 1")) {
+            resultSet.next();
+            value = resultSet.getInt(1);
+            Thread.sleep(DB_HOLD_MILLIS);
+        }
+        Thread.sleep(OFF_DB_MILLIS);
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.capstone.insurance.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BulkheadDataSource bulkhead(DataSource target, int permits) {
+        return new BulkheadDataSource(target, permits, 10, Duration.ofMillis(50), meterRegistry);
+    }
+
+    // 1) The permit goes back when the connection closes, and only once
+    @Test
+    void close_shouldReleasePermitOnce() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = bulkhead(target, 1);
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(0, meterRegistry.get("db.bulkhead.available").gauge().value());
+
+        connection.close();
+        connection.close();
+        assertEquals(1, meterRegistry.get("db.bulkhead.available").gauge().value());
+        dataSource.getConnection().close();
+    }
+
+    // 2) With every permit held, callers time out instead of reaching the pool
+    @Test
+    void getConnection_shouldTimeOutWhenPermitsAreHeld() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = bulkhead(target, 1);
+
+        try (Connection held = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        verify(target, times(1)).getConnection();
+        assertEquals(1, meterRegistry.get("db.bulkhead.rejected").counter().count());
+    }
+
+    // 3) A pool failure does not leak the permit
+    @Test
+    void getConnection_shouldReleasePermitWhenPoolFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        BulkheadDataSource dataSource = bulkhead(target, 1);
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, meterRegistry.get("db.bulkhead.available").gauge().value());
+    }
+}
@@ -0,0 +1,184 @@
+package com.capstone.insurance.datasource;
+
+import com.capstone.insurance.config.DataSourceRoutingConfig;
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica. Each holds a marker row
+ * naming itself, so a query shows which one served the transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataSourceRoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "app.db.replicas.urls=" + ReadWriteRoutingTest.REPLICA_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.db.replicas.lag-query=select seconds from replica_lag",
+        "app.db.replicas.max-lag-seconds=5",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class ReadWriteRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ReplicaSet replicaSet;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired UserRepository userRepository;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class TestBeans {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        execute(PRIMARY_URL,
+                "create table if not exists db_marker (name varchar(20))",
+                "delete from db_marker",
+                "insert into db_marker values ('primary')");
+        execute(REPLICA_URL,
+                "create table if not exists db_marker (name varchar(20))",
+                "delete from db_marker",
+                "insert into db_marker values ('replica')",
+                "create table if not exists replica_lag (seconds int)",
+                "delete from replica_lag",
+                "insert into replica_lag values (0)");
+        replicaSet.check();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertEquals("replica", servedBy(true));
+        assertEquals("primary", servedBy(false));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws SQLException {
+        execute(REPLICA_URL, "update replica_lag set seconds = 60");
+        replicaSet.check();
+        double fallbacksBefore = primaryReads();
+
+        assertEquals("primary", servedBy(true));
+        assertEquals(fallbacksBefore + 1, primaryReads());
+
+        execute(REPLICA_URL, "update replica_lag set seconds = 1");
+        replicaSet.check();
+        assertEquals("replica", servedBy(true));
+    }
+
+    // Spring Data runs findById in a read-only transaction of its own. Outside a service transaction,
+    // as in a write method that loads an entity before saving it, that read must stay on the primary
+    @Test
+    void repositoryReadsOutsideAServiceTransactionStayOnThePrimary() {
+        double replicaReadsBefore = readsServedByReplicas();
+
+        User admin = userRepository.findByUsername("admin@exe.in").orElseThrow();
+        assertTrue(userRepository.findById(admin.getId()).isPresent());
+        assertTrue(userRepository.count() > 0);
+
+        assertEquals(replicaReadsBefore, readsServedByReplicas());
+
+        // Inside a read-only transaction of the caller's the same call joins it and reads from the
+        // replica, which has no users table here
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertThrows(DataAccessException.class, () -> readOnly.execute(status -> userRepository.count()));
+        assertEquals(replicaReadsBefore + 1, readsServedByReplicas());
+    }
+
+    // As in open session in view: one entity manager runs a read-only and then a writing transaction
+    @Test
+    void sharedEntityManagerSwitchesConnectionsBetweenTransactions() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            assertEquals("replica", servedBy(true));
+            assertEquals("primary", servedBy(false));
+            assertEquals("replica", servedBy(true));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    private String servedBy(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> (String) EntityManagerFactoryUtils
+                .getTransactionalEntityManager(entityManagerFactory)
+                .createNativeQuery("select name from db_marker")
+                .getSingleResult());
+    }
+
+    private double readsServedByReplicas() {
+        return meterRegistry.find("db.replica.reads").counters().stream()
+                .filter(counter -> !"primary".equals(counter.getId().getTag("target")))
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private double primaryReads() {
+        var counter = meterRegistry.find("db.replica.reads").tag("target", "primary").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.capstone.insurance.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Replays the requests of the Postman collection against a running backend and reports latency
+ * percentiles and throughput per request.
+ *
+ * Before the run, every {@code <role>_token} environment variable is filled by sending the
+ * collection's login request whose name mentions that role. Credentials come from
+ * {@code --login.<role>=user:password}; a username containing a format pattern plus
+ * {@code --login.<role>-count=N} logs in N accounts (e.g. the perf profile's generated
+ * customers), which are then spread over the virtual users.
+ *
+ * Two load models:
+ * <ul>
+ *   <li>closed ({@code --model=closed --users=N}): N virtual users each send a request, wait for
+ *   the response and optional think time, then send the next.</li>
+ *   <li>open ({@code --model=open --rate=R}): R requests per second start on schedule whether or
+ *   not earlier ones finished. Latency is measured from the scheduled start, so a stalled server
+ *   shows up in the percentiles instead of silently lowering the request rate.</li>
+ * </ul>
+ * Each request runs on its own virtual thread. Requests are picked by weight from
+ * {@code --scenario="Get My Claims=4,Get All Claims=1"}; the default is every non-login GET
+ * with weight 1.
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.args="--model=open --rate=200 --duration=60s \
+ *     --login.admin=admin@exe.in:Admin@123 --login.customer=perf.%07d@example.com:Perf@123 --login.customer-count=50 \
+ *     '--scenario=Get My Claims=4,Get All Claims=1'"
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(5).toNanos() / 1_000;
+
+    record Scenario(PostmanCollection.Request request, int weight) {
+    }
+
+    static final class EndpointStats {
+        final String name;
+        final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();
+
+        EndpointStats(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, int status) {
+            latencyMicros.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 200 || status >= 400) {
+                failures.increment();
+            }
+        }
+    }
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong lastCompletion = new AtomicLong();
+    private long measureFrom;
+
+    private List<Scenario> scenarios;
+    private int[] cumulativeWeights;
+    // Prepared requests per scenario and session; HttpRequest is immutable, so they are reused
+    private HttpRequest[][] prepared;
+    private EndpointStats[] stats;
+
+    LoadGenerator(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout)
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadGenerator generator = new LoadGenerator(options);
+        try {
+            generator.prepare();
+            generator.run();
+            generator.report();
+        } finally {
+            generator.executor.shutdownNow();
+        }
+    }
+
+    void prepare() throws IOException, InterruptedException {
+        PostmanCollection collection = PostmanCollection.load(options.collection, options.environment, objectMapper);
+        Map<String, String> variables = new HashMap<>(collection.variables());
+        if (options.baseUrl != null) {
+            variables.put("base_url", options.baseUrl);
+        }
+
+        Map<String, List<String>> tokens = login(collection, variables);
+        int sessions = Math.max(1, tokens.values().stream().mapToInt(List::size).max().orElse(1));
+
+        scenarios = selectScenarios(collection.requests(), options.scenario);
+        cumulativeWeights = new int[scenarios.size()];
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+
+        prepared = new HttpRequest[scenarios.size()][sessions];
+        stats = new EndpointStats[scenarios.size()];
+        for (int i = 0; i < scenarios.size(); i++) {
+            stats[i] = new EndpointStats(scenarios.get(i).request().name());
+            for (int session = 0; session < sessions; session++) {
+                Map<String, String> sessionVariables = new HashMap<>(variables);
+                for (Map.Entry<String, List<String>> token : tokens.entrySet()) {
+                    sessionVariables.put(token.getKey(), token.getValue().get(session % token.getValue().size()));
+                }
+                prepared[i][session] = build(scenarios.get(i).request(), sessionVariables, null);
+            }
+        }
+        System.out.printf("Scenarios: %s; %d session(s)%n", describe(scenarios), sessions);
+    }
+
+    // Fills each <role>_token variable using the collection's login request for that role
+    private Map<String, List<String>> login(PostmanCollection collection, Map<String, String> variables)
+            throws IOException, InterruptedException {
+        Map<String, List<String>> tokens = new LinkedHashMap<>();
+        for (String variable : variables.keySet()) {
+            if (!variable.endsWith("_token")) {
+                continue;
+            }
+            String role = variable.substring(0, variable.length() - "_token".length());
+            PostmanCollection.Request loginRequest = collection.requests().stream()
+                    .filter(r -> r.isLogin() && r.name().toLowerCase(Locale.ROOT).contains(role.toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElse(null);
+            if (loginRequest == null) {
+                continue;
+            }
+
+            String credentials = options.logins.get(role);
+            int count = Integer.parseInt(options.logins.getOrDefault(role + "-count", "1"));
+            List<String> roleTokens = new ArrayList<>(count);
+            for (int i = 1; i <= count; i++) {
+                String body = loginRequest.body();
+                if (credentials != null) {
+                    int separator = credentials.indexOf(':');
+                    ObjectNode login = objectMapper.createObjectNode();
+                    login.put("username", String.format(credentials.substring(0, separator), i));
+                    login.put("password", credentials.substring(separator + 1));
+                    body = login.toString();
+                }
+                HttpResponse<String> response = client.send(build(loginRequest, variables, body),
+                        HttpResponse.BodyHandlers.ofString());
+                JsonNode token = response.statusCode() == 200 ? objectMapper.readTree(response.body()).path("token") : null;
+                if (token == null || !token.isTextual()) {
+                    throw new IllegalStateException("Login for " + role + " failed with " + response.statusCode()
+                            + ": " + response.body() + " (set --login." + role + "=user:password)");
+                }
+                roleTokens.add(token.asText());
+            }
+            tokens.put(variable, roleTokens);
+            System.out.printf("Logged in %d %s account(s)%n", roleTokens.size(), role);
+        }
+        return tokens;
+    }
+
+    static List<Scenario> selectScenarios(List<PostmanCollection.Request> requests, String spec) {
+        List<Scenario> selected = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            for (PostmanCollection.Request request : requests) {
+                if ("GET".equalsIgnoreCase(request.method()) && !request.isLogin()) {
+                    selected.add(new Scenario(request, 1));
+                }
+            }
+            return selected;
+        }
+        for (String part : spec.split(",")) {
+            int equals = part.lastIndexOf('=');
+            String name = (equals < 0 ? part : part.substring(0, equals)).trim();
+            int weight = equals < 0 ? 1 : Integer.parseInt(part.substring(equals + 1).trim());
+            PostmanCollection.Request request = requests.stream()
+                    .filter(r -> r.name().equalsIgnoreCase(name) || (r.folder() + "/" + r.name()).equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No request named '" + name + "' in the collection"));
+            if (weight > 0) {
+                selected.add(new Scenario(request, weight));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No scenario has a positive weight");
+        }
+        return selected;
+    }
+
+    void run() throws InterruptedException {
+        long warmupNanos = options.warmup.toNanos();
+        long start = System.nanoTime();
+        measureFrom = start + warmupNanos;
+        long end = measureFrom + options.duration.toNanos();
+        System.out.printf("Running %s model for %s after %s warm-up%n", options.model, options.duration, options.warmup);
+
+        if ("open".equals(options.model)) {
+            runOpen(start, measureFrom, end);
+        } else {
+            runClosed(measureFrom, end);
+        }
+    }
+
+    private void runClosed(long measureFrom, long end) throws InterruptedException {
+        List<Thread> users = new ArrayList<>(options.users);
+        for (int user = 0; user < options.users; user++) {
+            int session = user;
+            users.add(Thread.ofVirtual().name("load-user-", user).start(() -> {
+                while (System.nanoTime() < end) {
+                    long started = System.nanoTime();
+                    send(pick(), session, started, measureFrom);
+                    if (options.thinkTime.toNanos() > 0) {
+                        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(options.thinkTime.toNanos() * 2));
+                    }
+                }
+            }));
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+
+    private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+        long interval = (long) (1_000_000_000L / options.rate);
+        AtomicInteger inFlight = new AtomicInteger();
+        long sequence = 0;
+        for (long intended = start; intended < end; intended = start + (++sequence) * interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= options.maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long scheduled = intended;
+            int session = (int) (sequence % Integer.MAX_VALUE);
+            executor.execute(() -> {
+                try {
+                    send(pick(), session, scheduled, measureFrom);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        while (inFlight.get() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private int pick() {
+        int target = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private void send(int scenario, int session, long startedNanos, long measureFrom) {
+        HttpRequest[] sessions = prepared[scenario];
+        int status;
+        try {
+            status = client.send(sessions[session % sessions.length], HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            status = 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (startedNanos >= measureFrom) {
+            long now = System.nanoTime();
+            stats[scenario].record(now - startedNanos, status);
+            lastCompletion.accumulateAndGet(now, Math::max);
+        }
+    }
+
+    void report() throws IOException {
+        // Until the last measured response, so an overloaded open run reports what the server achieved
+        double seconds = Math.max(options.duration.toNanos(), lastCompletion.get() - measureFrom) / 1e9;
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        long allFailures = 0;
+
+        System.out.printf("%n%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("model", options.model);
+        json.put("durationSeconds", seconds);
+        if ("open".equals(options.model)) {
+            json.put("offeredRatePerSecond", options.rate);
+        }
+        ArrayNode endpoints = json.putArray("endpoints");
+        for (EndpointStats endpoint : stats) {
+            Histogram histogram = endpoint.latencyMicros.copy();
+            all.add(histogram);
+            allFailures += endpoint.failures.sum();
+            printRow(endpoint.name, histogram, endpoint.failures.sum(), seconds);
+            ObjectNode row = toJson(endpoint.name, histogram, endpoint.failures.sum(), seconds);
+            ObjectNode statuses = row.putObject("statuses");
+            endpoint.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            endpoints.add(row);
+        }
+        printRow("TOTAL", all, allFailures, seconds);
+        json.set("total", toJson("TOTAL", all, allFailures, seconds));
+        json.put("dropped", dropped.sum());
+        if (dropped.sum() > 0) {
+            System.out.printf("%d scheduled requests were dropped at --max-in-flight=%d%n", dropped.sum(), options.maxInFlight);
+        }
+
+        Files.createDirectories(options.report.toAbsolutePath().getParent());
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report.toFile(), json);
+        System.out.println("Report written to " + options.report);
+    }
+
+    private static void printRow(String name, Histogram histogram, long failures, double seconds) {
+        System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name.length() > 28 ? name.substring(0, 28) : name, histogram.getTotalCount(), failures,
+                histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private ObjectNode toJson(String name, Histogram histogram, long failures, double seconds) {
+        ObjectNode row = objectMapper.createObjectNode();
+        row.put("name", name);
+        row.put("count", histogram.getTotalCount());
+        row.put("errors", failures);
+        row.put("throughputPerSecond", histogram.getTotalCount() / seconds);
+        ObjectNode percentiles = row.putObject("latencyMs");
+        for (double percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            percentiles.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile)), millis(histogram, percentile));
+        }
+        percentiles.put("max", histogram.getMaxValue() / 1000.0);
+        percentiles.put("mean", histogram.getMean() / 1000.0);
+        return row;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private HttpRequest build(PostmanCollection.Request request, Map<String, String> variables, String bodyOverride) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(PostmanCollection.substitute(request.url(), variables)))
+                .timeout(options.timeout);
+        request.headers().forEach((key, value) -> builder.header(key, PostmanCollection.substitute(value, variables)));
+        String body = bodyOverride != null ? bodyOverride : PostmanCollection.substitute(request.body(), variables);
+        builder.method(request.method(), body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        return builder.build();
+    }
+
+    private static String describe(List<Scenario> scenarios) {
+        StringBuilder out = new StringBuilder();
+        for (Scenario scenario : scenarios) {
+            out.append(out.isEmpty() ? "" : ", ").append(scenario.request().name()).append('=').append(scenario.weight());
+        }
+        return out.toString();
+    }
+
+    /** Command line options, each given as --name=value. */
+    static final class Options {
+        Path collection = Path.of("postman/insurance-backend-postman-collection.json");
+        Path environment = Path.of("postman/insurance-backend-postman-environment.json");
+        String baseUrl;
+        String model = "closed";
+        int users = 16;
+        double rate = 50;
+        int maxInFlight = 10_000;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(5);
+        Duration thinkTime = Duration.ZERO;
+        Duration timeout = Duration.ofSeconds(30);
+        String scenario;
+        Path report = Path.of("target/loadtest-report.json");
+        final Map<String, String> logins = new HashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (arg.isBlank()) {
+                    continue;
+                }
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, equals);
+                String value = arg.substring(equals + 1);
+                switch (name) {
+                    case "collection" -> options.collection = Path.of(value);
+                    case "environment" -> options.environment = value.isEmpty() ? null : Path.of(value);
+                    case "base-url" -> options.baseUrl = value;
+                    case "model" -> options.model = value.toLowerCase(Locale.ROOT);
+                    case "users" -> options.users = Integer.parseInt(value);
+                    case "rate" -> options.rate = Double.parseDouble(value);
+                    case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                    case "duration" -> options.duration = duration(value);
+                    case "warmup" -> options.warmup = duration(value);
+                    case "think-time" -> options.thinkTime = duration(value);
+                    case "timeout" -> options.timeout = duration(value);
+                    case "scenario" -> options.scenario = value;
+                    case "report" -> options.report = Path.of(value);
+                    default -> {
+                        if (!name.startsWith("login.")) {
+                            throw new IllegalArgumentException("Unknown option --" + name);
+                        }
+                        options.logins.put(name.substring("login.".length()), value);
+                    }
+                }
+            }
+            if (!"open".equals(options.model) && !"closed".equals(options.model)) {
+                throw new IllegalArgumentException("--model must be open or closed");
+            }
+            return options;
+        }
+
+        // 30s, 500ms, 2m; a bare number is seconds
+        static Duration duration(String value) {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+    }
+}
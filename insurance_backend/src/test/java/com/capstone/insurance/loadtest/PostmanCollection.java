@@ -0,0 +1,101 @@
+package com.capstone.insurance.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The requests and variables of a Postman v2.1 collection and its environment. Only what the
+ * load generator needs is read: folders, method, URL, headers and raw bodies.
+ */
+final class PostmanCollection {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^{}]+)}}");
+
+    record Request(String folder, String name, String method, String url, Map<String, String> headers, String body) {
+
+        boolean isLogin() {
+            return url.endsWith("/api/auth/login");
+        }
+    }
+
+    private final List<Request> requests;
+    private final Map<String, String> variables;
+
+    private PostmanCollection(List<Request> requests, Map<String, String> variables) {
+        this.requests = requests;
+        this.variables = variables;
+    }
+
+    static PostmanCollection load(Path collection, Path environment, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(collection.toFile());
+        List<Request> requests = new ArrayList<>();
+        collect(root.path("item"), "", requests);
+
+        // Environment values override collection variables, as in Postman
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            variables.put(variable.path("key").asText(), variable.path("value").asText());
+        }
+        if (environment != null) {
+            for (JsonNode value : objectMapper.readTree(environment.toFile()).path("values")) {
+                if (value.path("enabled").asBoolean(true)) {
+                    variables.put(value.path("key").asText(), value.path("value").asText());
+                }
+            }
+        }
+        return new PostmanCollection(requests, variables);
+    }
+
+    private static void collect(JsonNode items, String folder, List<Request> into) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.path("item"), item.path("name").asText(), into);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (JsonNode header : request.path("header")) {
+                if (!header.path("disabled").asBoolean(false)) {
+                    headers.put(header.path("key").asText(), header.path("value").asText());
+                }
+            }
+            JsonNode body = request.path("body");
+            into.add(new Request(folder, item.path("name").asText(), request.path("method").asText("GET"),
+                    url.isTextual() ? url.asText() : url.path("raw").asText(), headers,
+                    "raw".equals(body.path("mode").asText()) ? body.path("raw").asText() : null));
+        }
+    }
+
+    List<Request> requests() {
+        return requests;
+    }
+
+    Map<String, String> variables() {
+        return variables;
+    }
+
+    /** Replaces {{name}} with its value; unknown names are left as they are. */
+    static String substitute(String template, Map<String, String> variables) {
+        if (template == null || template.indexOf('{') < 0) {
+            return template;
+        }
+        Matcher matcher = VARIABLE.matcher(template);
+        StringBuilder out = new StringBuilder(template.length());
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1).trim());
+            matcher.appendReplacement(out, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+}
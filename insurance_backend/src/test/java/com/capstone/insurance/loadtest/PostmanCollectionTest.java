@@ -0,0 +1,61 @@
+package com.capstone.insurance.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PostmanCollectionTest {
+
+    private static final Path COLLECTION = Path.of("postman/insurance-backend-postman-collection.json");
+    private static final Path ENVIRONMENT = Path.of("postman/insurance-backend-postman-environment.json");
+
+    // 1) The shipped collection loads with its folders, logins and environment variables
+    @Test
+    void load_shouldReadShippedCollection() throws Exception {
+        PostmanCollection collection = PostmanCollection.load(COLLECTION, ENVIRONMENT, new ObjectMapper());
+
+        assertEquals("http://localhost:8080", collection.variables().get("base_url"));
+        assertTrue(collection.variables().containsKey("customer_token"));
+        PostmanCollection.Request myClaims = collection.requests().stream()
+                .filter(r -> r.name().equals("Get My Claims"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Customer", myClaims.folder());
+        assertEquals("GET", myClaims.method());
+        assertEquals("Bearer {{customer_token}}", myClaims.headers().get("Authorization"));
+        assertEquals(2, collection.requests().stream().filter(PostmanCollection.Request::isLogin).count());
+    }
+
+    // 2) Known variables are replaced, unknown ones are left for the server to reject
+    @Test
+    void substitute_shouldReplaceKnownVariables() {
+        Map<String, String> variables = Map.of("base_url", "http://host:1", "token", "a$b");
+
+        assertEquals("http://host:1/api/claims", PostmanCollection.substitute("{{base_url}}/api/claims", variables));
+        assertEquals("Bearer a$b {{missing}}", PostmanCollection.substitute("Bearer {{token}} {{missing}}", variables));
+        assertNull(PostmanCollection.substitute(null, variables));
+    }
+
+    // 3) Scenario weights select requests by name or folder/name; the default is every non-login GET
+    @Test
+    void selectScenarios_shouldParseWeights() throws Exception {
+        List<PostmanCollection.Request> requests =
+                PostmanCollection.load(COLLECTION, ENVIRONMENT, new ObjectMapper()).requests();
+
+        List<LoadGenerator.Scenario> defaults = LoadGenerator.selectScenarios(requests, null);
+        assertEquals(4, defaults.size());
+        assertTrue(defaults.stream().allMatch(s -> s.request().method().equals("GET")));
+
+        List<LoadGenerator.Scenario> weighted =
+                LoadGenerator.selectScenarios(requests, "Get My Claims=4, Admin - Claims/Get All Claims=1");
+        assertEquals(2, weighted.size());
+        assertEquals(4, weighted.get(0).weight());
+        assertThrows(IllegalArgumentException.class, () -> LoadGenerator.selectScenarios(requests, "Nope=1"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.capstone.insurance.perf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.capstone.insurance.dto.customer.CustomerCreateRequest;
+import com.capstone.insurance.dto.customer.CustomerDto;
+import com.capstone.insurance.repositories.ActivityLogRepository;
+import com.capstone.insurance.repositories.ClaimRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.search.CustomerSuggestIndex;
+import com.capstone.insurance.services.impl.CustomerServiceImpl;
+
+/**
+ * A small generation run into embedded H2. Generation commits its own batches, so the test
+ * methods run outside a test transaction and clear the generated rows themselves.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:perfgen;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class PerfDataGeneratorTest {
+
+    private static final int CUSTOMERS = 40;
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired UserRepository userRepository;
+    @Autowired CustomerRepository customerRepository;
+    @Autowired PolicyRepository policyRepository;
+    @Autowired CustomerPolicyRepository customerPolicyRepository;
+    @Autowired ClaimRepository claimRepository;
+    @Autowired ActivityLogRepository activityLogRepository;
+    @Autowired PasswordEncoder passwordEncoder;
+
+    CustomerSuggestIndex suggestIndex;
+    PerfDataGenerator generator;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        deleteGenerated();
+        suggestIndex = new CustomerSuggestIndex(customerRepository);
+        generator = new PerfDataGenerator(jdbcTemplate, new TransactionTemplate(transactionManager),
+                userRepository, customerRepository, policyRepository, passwordEncoder, suggestIndex);
+        ReflectionTestUtils.setField(generator, "customers", CUSTOMERS);
+        ReflectionTestUtils.setField(generator, "policies", 12);
+        ReflectionTestUtils.setField(generator, "claims", 150);
+        ReflectionTestUtils.setField(generator, "loginActivityLogs", 60);
+        ReflectionTestUtils.setField(generator, "months", 6);
+        ReflectionTestUtils.setField(generator, "batchSize", 25);
+        ReflectionTestUtils.setField(generator, "asOf", "2024-06-15");
+    }
+
+    // 1) The same seed and as-of date over the same starting data produce the same rows
+    @Test
+    void generateAll_shouldBeDeterministic() {
+        generator.generateAll();
+        Map<String, List<Map<String, Object>>> first = dump();
+
+        deleteGenerated();
+        generator.generateAll();
+
+        assertEquals(first, dump());
+        assertEquals(CUSTOMERS, first.get("customers").size());
+    }
+
+    // 2) Generated codes continue the application's sequence, so new customers do not collide with them
+    @Test
+    void createCustomer_shouldContinueAfterGeneratedCodes() {
+        generator.generateAll();
+        assertEquals(List.of("CUS0041", "CUS0040"),
+                customerRepository.findLatestCustomerCodes(PageRequest.of(0, 2)));
+        assertEquals("POL0012", policyRepository.findLatestPolicyCodes(PageRequest.of(0, 1)).get(0));
+
+        CustomerServiceImpl customerService = new CustomerServiceImpl(customerRepository, userRepository,
+                passwordEncoder, suggestIndex, customerPolicyRepository, claimRepository, activityLogRepository);
+        CustomerDto first = customerService.createCustomer(request("First Added", "first@codes.test"));
+        CustomerDto second = customerService.createCustomer(request("Second Added", "second@codes.test"));
+
+        assertEquals("CUS0042", first.getCustomerCode());
+        assertEquals("CUS0043", second.getCustomerCode());
+        // Reloaded after generation, so generated customers are in the typeahead index
+        assertTrue(suggestIndex.isReady());
+        assertEquals(1, suggestIndex.suggest("perf.0000040", 10).size());
+    }
+
+    private static CustomerCreateRequest request(String name, String email) {
+        CustomerCreateRequest request = new CustomerCreateRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setPhone("9000000000");
+        request.setAddress("1 Test Street");
+        return request;
+    }
+
+    // Generated tables in a stable order; customers and users created by the seed runner are left alone
+    private Map<String, List<Map<String, Object>>> dump() {
+        return Map.of(
+                "users", jdbcTemplate.queryForList("select id, username, role, created_at from users "
+                        + "where username like 'perf.%' order by id"),
+                "customers", jdbcTemplate.queryForList("select id, customer_code, name, email, phone, address, "
+                        + "user_id, created_at from customers where email like 'perf.%' order by customer_code"),
+                "policies", jdbcTemplate.queryForList("select id, policy_code, coverage_amount, policy_type, "
+                        + "start_date, end_date, status from policies order by policy_code"),
+                "links", jdbcTemplate.queryForList("select id, customer_id, policy_id, policy_number "
+                        + "from customer_policies order by id"),
+                "claims", jdbcTemplate.queryForList("select id, customer_id, policy_id, claim_date, claim_amount, "
+                        + "status, description, remarks, evidence_url, created_at, updated_at from claims order by id"),
+                "activity", jdbcTemplate.queryForList("select id, user_id, action_type, details, claim_id, "
+                        + "old_status, new_status, created_at from activity_logs order by id"));
+    }
+
+    private void deleteGenerated() {
+        jdbcTemplate.update("delete from activity_logs");
+        jdbcTemplate.update("delete from claims");
+        jdbcTemplate.update("delete from customer_policies");
+        jdbcTemplate.update("delete from policies");
+        jdbcTemplate.update("delete from customers where email like 'perf.%' or email like '%@codes.test'");
+        jdbcTemplate.update("delete from users where id not in (select user_id from customers where user_id is not null) "
+                + "and username <> 'admin@exe.in'");
+        // Identities restart too, so both runs of the determinism test get the same generated ids
+        for (String table : List.of("users", "customer_policies", "claims", "activity_logs")) {
+            Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+            jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (max == null ? 1 : max + 1));
+        }
+    }
+}
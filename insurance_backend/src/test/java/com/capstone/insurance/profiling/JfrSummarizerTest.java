@@ -0,0 +1,76 @@
+package com.capstone.insurance.profiling;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrSummarizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void cpuProfileRanksTheBusyApplicationMethod() throws Exception {
+        Path file = tempDir.resolve("cpu.jfr");
+        try (Recording recording = new Recording(JfrProfile.CPU.settings())) {
+            recording.start();
+            burn(800);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrSummary summary = JfrSummarizer.summarize(1, JfrProfile.CPU, file, 5);
+
+        assertTrue(summary.executionSamples() > 0);
+        assertFalse(summary.hotApplicationMethods().isEmpty());
+        assertTrue(summary.hotApplicationMethods().get(0).site().endsWith("JfrSummarizerTest.burn"),
+                summary.hotApplicationMethods().toString());
+    }
+
+    @Test
+    void allocationProfileAttributesBytesToTheAllocatingMethod() throws Exception {
+        Path file = tempDir.resolve("allocation.jfr");
+        try (Recording recording = new Recording(JfrProfile.ALLOCATION.settings())) {
+            recording.start();
+            allocate(500);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrSummary summary = JfrSummarizer.summarize(2, JfrProfile.ALLOCATION, file, 5);
+
+        assertTrue(summary.allocationSites().stream()
+                        .anyMatch(site -> site.site().endsWith("JfrSummarizerTest.allocate") && site.total() > 0),
+                summary.allocationSites().toString());
+    }
+
+    private static long burn(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000;
+        long x = 0;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 10_000; i++) {
+                x += (x * 31) ^ i;
+            }
+        }
+        return x;
+    }
+
+    private static int allocate(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000;
+        List<byte[]> retained = new ArrayList<>();
+        while (System.nanoTime() < end) {
+            retained.add(new byte[64 * 1024]);
+            if (retained.size() > 100) {
+                retained.clear();
+            }
+        }
+        return retained.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.capstone.insurance.querybudget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when its body runs more SQL statements than {@link #value()}, or one statement
+ * shape more than {@link #maxRepeats()} times. Only statements prepared through Hibernate on the
+ * test thread, or in tasks wrapped with {@link QueryCounter#propagate}, count. That covers
+ * repository calls and MockMvc requests but not {@code @BeforeEach} set-up or flushes at
+ * transaction rollback.
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;MaxQueries(value = 3, maxRepeats = 1)
+ * void listsClaimsWithoutNPlusOne() { ... }
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface MaxQueries {
+
+    int value();
+
+    int maxRepeats() default Integer.MAX_VALUE;
+}
@@ -0,0 +1,54 @@
+package com.capstone.insurance.querybudget;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Backs {@link MaxQueries}: records around the test method itself and compares the counts with
+ * the budget of the method, or of the class when the method has none.
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCounter.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCounter.Recording recording = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), QueryCounter.Recording.class);
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        MaxQueries budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class))
+                .orElseThrow();
+        int repeats = recording.mostRepeated().map(Map.Entry::getValue).orElse(0);
+        if (recording.total() > budget.value() || repeats > budget.maxRepeats()) {
+            String repeatLimit = budget.maxRepeats() == Integer.MAX_VALUE ? "" : " (max " + budget.maxRepeats() + ")";
+            throw new AssertionFailedError(String.format(
+                    "Query budget exceeded: %d statements (max %d), most repeated %d times%s%n%s",
+                    recording.total(), budget.value(), repeats, repeatLimit, describe(recording)));
+        }
+    }
+
+    private static String describe(QueryCounter.Recording recording) {
+        return recording.shapes().entrySet().stream()
+                .map(entry -> String.format("  %3dx %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
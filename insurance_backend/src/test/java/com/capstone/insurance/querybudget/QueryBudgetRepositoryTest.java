@@ -0,0 +1,55 @@
+package com.capstone.insurance.querybudget;
+
+import com.capstone.insurance.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The statement inspector is wired through application.yml, so repository calls in a JPA slice
+ * are counted the same way they are in a running server.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class QueryBudgetRepositoryTest {
+
+    @Autowired UserRepository userRepository;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Test
+    @MaxQueries(1)
+    void lookupByUsernameIsOneStatement() {
+        userRepository.findByUsername("admin@exe.in");
+    }
+
+    @Test
+    void lookupsPerIdShowUpAsOneRepeatedShape() {
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            for (long id = 1000; id < 1003; id++) {
+                userRepository.findById(id);
+            }
+            assertEquals(3, recording.total());
+            assertEquals(1, recording.distinct());
+        }
+    }
+}
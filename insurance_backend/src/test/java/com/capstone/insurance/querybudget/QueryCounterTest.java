@@ -0,0 +1,51 @@
+package com.capstone.insurance.querybudget;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryCounterTest {
+
+    @Test
+    void shapeBlanksLiteralsAndInListLengths() {
+        assertEquals("select c1_0.id from claims c1_0 where c1_0.status=? and c1_0.id in (?)",
+                QueryCounter.shape("select c1_0.id from claims c1_0\n where c1_0.status='PENDING'"
+                        + " and c1_0.id in (?, ?, ?)"));
+        assertEquals("select * from users where id=? limit ?",
+                QueryCounter.shape("select * from users where id=42 limit 10"));
+    }
+
+    @Test
+    void repeatedShapeCountsOnceWithItsRepetitions() {
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            for (int i = 0; i < 4; i++) {
+                QueryCounter.record("select * from policies where id=" + i);
+            }
+            QueryCounter.record("select count(*) from claims");
+
+            assertEquals(5, recording.total());
+            assertEquals(2, recording.distinct());
+            assertEquals(Map.entry("select * from policies where id=?", 4), recording.mostRepeated().orElseThrow());
+        }
+    }
+
+    @Test
+    void nestedRecordingsBothCountAndOuterResumes() {
+        try (QueryCounter.Recording outer = QueryCounter.start()) {
+            QueryCounter.record("select 1");
+            try (QueryCounter.Recording inner = QueryCounter.start()) {
+                QueryCounter.record("select 2");
+                assertEquals(1, inner.total());
+            }
+            QueryCounter.record("select 3");
+            assertEquals(3, outer.total());
+        }
+        QueryCounter.record("select 4");
+        try (QueryCounter.Recording fresh = QueryCounter.start()) {
+            assertTrue(fresh.shapes().isEmpty());
+        }
+    }
+}
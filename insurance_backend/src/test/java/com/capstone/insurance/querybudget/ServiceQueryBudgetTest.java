@@ -0,0 +1,179 @@
+package com.capstone.insurance.querybudget;
+
+import com.capstone.insurance.dto.claim.ClaimDto;
+import com.capstone.insurance.dto.customer.CustomerOverviewDto;
+import com.capstone.insurance.entities.Claim;
+import com.capstone.insurance.entities.Customer;
+import com.capstone.insurance.entities.CustomerPolicy;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.repositories.ActivityLogRepository;
+import com.capstone.insurance.repositories.ClaimRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.search.CustomerSuggestIndex;
+import com.capstone.insurance.services.ActivityLogService;
+import com.capstone.insurance.services.impl.ClaimServiceImpl;
+import com.capstone.insurance.services.impl.CustomerServiceImpl;
+import com.capstone.insurance.services.impl.DashboardServiceImpl;
+import com.capstone.insurance.services.impl.PolicyServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement budgets for the service paths that used to run one lookup per row. The rows are
+ * committed rather than rolled back, because the customer overview reads them on other threads.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:servicebudget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class ServiceQueryBudgetTest {
+
+    private static final int POLICIES = 3;
+    private static final int CLAIMS_PER_POLICY = 4;
+
+    @Autowired CustomerRepository customerRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired PolicyRepository policyRepository;
+    @Autowired CustomerPolicyRepository customerPolicyRepository;
+    @Autowired ClaimRepository claimRepository;
+    @Autowired ActivityLogRepository activityLogRepository;
+    @Autowired PasswordEncoder passwordEncoder;
+
+    ClaimServiceImpl claimService;
+    DashboardServiceImpl dashboardService;
+    PolicyServiceImpl policyService;
+    CustomerServiceImpl customerService;
+    Customer customer;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        claimService = new ClaimServiceImpl(claimRepository, customerRepository, policyRepository,
+                customerPolicyRepository, mock(ActivityLogService.class));
+        dashboardService = new DashboardServiceImpl(customerRepository, policyRepository, claimRepository,
+                customerPolicyRepository);
+        policyService = new PolicyServiceImpl(policyRepository, customerRepository, customerPolicyRepository,
+                new NoOpCacheManager());
+        customerService = new CustomerServiceImpl(customerRepository, userRepository, passwordEncoder,
+                new CustomerSuggestIndex(customerRepository), customerPolicyRepository, claimRepository,
+                activityLogRepository);
+
+        // The customer created by the seed-data runner, with a few policies and claims on each
+        customer = customerRepository.findAll().get(0);
+        for (int p = 0; p < POLICIES; p++) {
+            Policy policy = policyRepository.save(Policy.builder()
+                    .policyCode("POL90" + p)
+                    .policyType(PolicyType.values()[p % PolicyType.values().length])
+                    .coverageAmount(new BigDecimal("100000"))
+                    .startDate(LocalDate.now().minusMonths(6))
+                    .endDate(LocalDate.now().plusMonths(6))
+                    .build());
+            customerPolicyRepository.save(CustomerPolicy.builder()
+                    .customer(customer)
+                    .policy(policy)
+                    .policyNumber("PN-BUDGET-" + p)
+                    .build());
+            for (int c = 0; c < CLAIMS_PER_POLICY; c++) {
+                claimRepository.save(Claim.builder()
+                        .customer(customer)
+                        .policy(policy)
+                        .claimDate(LocalDate.now().minusDays(c))
+                        .claimAmount(new BigDecimal("500"))
+                        .status(ClaimStatus.values()[c % ClaimStatus.values().length])
+                        .description("Budget claim " + c)
+                        .build());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAllInBatch();
+        customerPolicyRepository.deleteAllInBatch();
+        policyRepository.deleteAllInBatch();
+    }
+
+    // 1) A customer's claim list fetches every policy number in one statement
+    @Test
+    @MaxQueries(value = 4, maxRepeats = 1)
+    void getMyClaims_shouldNotLookUpPolicyNumbersPerClaim() {
+        List<ClaimDto> claims = claimService.getMyClaims(customer.getUser().getId());
+
+        assertEquals(POLICIES * CLAIMS_PER_POLICY, claims.size());
+        assertEquals(POLICIES, claims.stream().map(ClaimDto::getPolicyNumber).distinct().count());
+    }
+
+    // 2) So does a page of the admin claim list
+    @Test
+    @MaxQueries(value = 3, maxRepeats = 1)
+    void getAllClaimsPaginated_shouldNotLookUpPolicyNumbersPerClaim() {
+        List<ClaimDto> page = claimService.getAllClaimsPaginated(0, null, null, null).getContent();
+
+        assertEquals(10, page.size());
+        assertEquals(0, page.stream().filter(c -> "N/A".equals(c.getPolicyNumber())).count());
+    }
+
+    // 3) The dashboard buckets the claims it already loaded instead of reloading them per month
+    @Test
+    @MaxQueries(value = 4, maxRepeats = 1)
+    void getCustomerDashboardStats_shouldLoadClaimsOnce() {
+        assertEquals(6, dashboardService.getCustomerDashboardStats(customer.getUser().getId())
+                .getMonthlyClaimsData().size());
+    }
+
+    // 4) Assigned policies are the customer id lookup plus one joined query
+    @Test
+    @MaxQueries(value = 2, maxRepeats = 1)
+    void getCustomerPolicies_shouldUseOneJoinedQuery() {
+        assertEquals(POLICIES, policyService.getCustomerPolicies(customer.getUser().getId()).size());
+    }
+
+    // 5) Statements the overview runs on its own threads count towards the caller's recording
+    @Test
+    void getCustomerOverview_shouldCountStatementsFromChildThreads() {
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            CustomerOverviewDto overview = customerService.getCustomerOverview(customer.getId());
+
+            assertEquals(POLICIES, overview.getPolicies().size());
+            assertEquals(POLICIES * CLAIMS_PER_POLICY, overview.getClaimTotals().getTotalClaims());
+            // Customer, policies, claim totals, recent claims and recent activity, one statement each
+            assertEquals(5, recording.total(), () -> recording.shapes().toString());
+            assertEquals(1, recording.mostRepeated().orElseThrow().getValue());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.capstone.insurance.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.capstone.insurance.audit.AuditJournal;
+import com.capstone.insurance.audit.AuditJournalReplayer;
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.activity.ActivityLogSearchCriteria;
+import com.capstone.insurance.dto.common.CursorPage;
+import com.capstone.insurance.entities.ActivityLog;
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.services.impl.ActivityLogServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Activity log search against embedded H2: the filters built by ActivityLogSpecifications and
+ * the keyset cursor handled by ActivityLogServiceImpl.searchActivityLogs.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:activitysearch;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class ActivityLogSearchTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired ActivityLogRepository activityLogRepository;
+    @Autowired UserRepository userRepository;
+
+    ActivityLogServiceImpl service;
+    User alice;
+    User bob;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new ActivityLogServiceImpl(activityLogRepository, userRepository,
+                mock(AuditJournal.class), mock(AuditJournalReplayer.class), new ObjectMapper());
+        activityLogRepository.deleteAllInBatch();
+        alice = userRepository.save(User.builder().username("alice@search.test").password("x")
+                .role(Role.ADMIN).enabled(true).build());
+        bob = userRepository.save(User.builder().username("bob@search.test").password("x")
+                .role(Role.CUSTOMER).enabled(true).build());
+    }
+
+    // 1) Paging walks rows sharing a createdAt by id, without skipping or repeating any
+    @Test
+    void search_shouldPageThroughTiesOnCreatedAt() {
+        List<Long> expected = new ArrayList<>();
+        ActivityLog newest = save(alice, "LOGIN", T.plusMinutes(5), null, null);
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tied.add(save(alice, "LOGIN", T, null, null).getId());
+        }
+        ActivityLog oldest = save(alice, "LOGIN", T.minusMinutes(5), null, null);
+        expected.add(newest.getId());
+        expected.addAll(tied.reversed());
+        expected.add(oldest.getId());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ActivityLogDto> page = service.searchActivityLogs(new ActivityLogSearchCriteria(), cursor, 2);
+            page.getContent().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    // 2) Each filter narrows the result on its own column
+    @Test
+    void search_shouldApplyEachFilter() {
+        ActivityLog login = save(alice, "LOGIN", T.minusDays(2), null, null);
+        ActivityLog approved = save(alice, "CLAIM_STATUS_CHANGED", T.minusDays(1), 11L, ClaimStatus.APPROVED);
+        ActivityLog rejected = save(bob, "CLAIM_STATUS_CHANGED", T, 12L, ClaimStatus.REJECTED);
+        ActivityLog later = save(bob, "LOGIN", T.plusDays(1), null, null);
+
+        assertEquals(List.of(approved.getId(), login.getId()), search(c -> c.setUserId(alice.getId())));
+        assertEquals(List.of(rejected.getId(), approved.getId()),
+                search(c -> c.setActionType(" CLAIM_STATUS_CHANGED ")));
+        assertEquals(List.of(rejected.getId()), search(c -> c.setClaimId(12L)));
+        assertEquals(List.of(approved.getId()), search(c -> c.setNewStatus(ClaimStatus.APPROVED)));
+        // from is inclusive and to is exclusive
+        assertEquals(List.of(rejected.getId(), approved.getId()), search(c -> {
+            c.setFrom(T.minusDays(1));
+            c.setTo(T.plusDays(1));
+        }));
+        assertEquals(List.of(later.getId()), search(c -> {
+            c.setUserId(bob.getId());
+            c.setActionType("LOGIN");
+        }));
+    }
+
+    // 3) An empty or inverted time range is rejected
+    @Test
+    void search_shouldRejectFromNotBeforeTo() {
+        assertThrows(BadRequestException.class, () -> search(c -> {
+            c.setFrom(T);
+            c.setTo(T);
+        }));
+        assertThrows(BadRequestException.class, () -> search(c -> {
+            c.setFrom(T.plusHours(1));
+            c.setTo(T);
+        }));
+    }
+
+    // 4) Cursors that do not parse are rejected rather than ignored
+    @Test
+    void search_shouldRejectMalformedCursor() {
+        ActivityLogSearchCriteria criteria = new ActivityLogSearchCriteria();
+        for (String cursor : List.of("garbage", "2024-03-01T12:00_abc", "yesterday_5", "_")) {
+            assertThrows(BadRequestException.class, () -> service.searchActivityLogs(criteria, cursor, 10),
+                    cursor);
+        }
+    }
+
+    private List<Long> search(Consumer<ActivityLogSearchCriteria> filters) {
+        ActivityLogSearchCriteria criteria = new ActivityLogSearchCriteria();
+        filters.accept(criteria);
+        return service.searchActivityLogs(criteria, null, 100).getContent().stream()
+                .map(ActivityLogDto::getId)
+                .toList();
+    }
+
+    private ActivityLog save(User user, String actionType, LocalDateTime createdAt,
+                             Long claimId, ClaimStatus newStatus) {
+        return activityLogRepository.saveAndFlush(ActivityLog.builder()
+                .user(user)
+                .actionType(actionType)
+                .details(actionType)
+                .claimId(claimId)
+                .newStatus(newStatus == null ? null : newStatus.name())
+                .createdAt(createdAt)
+                .build());
+    }
+}
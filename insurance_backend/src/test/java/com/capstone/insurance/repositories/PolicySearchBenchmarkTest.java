@@ -0,0 +1,165 @@
+package com.capstone.insurance.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.capstone.insurance.dto.policy.PolicySearchCriteria;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.repositories.specifications.PolicySpecifications;
+
+/**
+ * Policy search latency at volume. Skipped in the normal build; run with
+ *
+ *   mvn test -Dtest=PolicySearchBenchmarkTest -Dbenchmark.policies=1000000
+ *
+ * Rows are loaded into embedded H2 (MySQL mode) with the same indexes Hibernate
+ * creates on MySQL, then each search shape is timed over repeated page requests.
+ */
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.policies", matches = "\\d+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:policybench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class PolicySearchBenchmarkTest {
+
+    private static final int ITERATIONS = 50;
+
+    @Autowired PolicyRepository policyRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeAll
+    void loadPolicies() {
+        int total = Integer.getInteger("benchmark.policies");
+        Random random = new Random(42);
+        PolicyType[] types = PolicyType.values();
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 1; i <= total; i++) {
+            LocalDate start = base.plusDays(random.nextInt(2000));
+            batch.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    String.format("POL%07d", i),
+                    BigDecimal.valueOf(1_000L + random.nextInt(1_000_000)),
+                    types[random.nextInt(types.length)].name(),
+                    Date.valueOf(start),
+                    Date.valueOf(start.plusYears(1)),
+                    random.nextInt(4) == 0 ? PolicyStatus.EXPIRED.name() : PolicyStatus.ACTIVE.name(),
+                    now, now
+            });
+            if (batch.size() == 10_000 || i == total) {
+                jdbcTemplate.batchUpdate(
+                        "insert into policies (id, policy_code, coverage_amount, policy_type, start_date, " +
+                        "end_date, status, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        System.out.printf("Loaded %,d policies in %d ms%n", total, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Test
+    void typeAndStatus() {
+        PolicySearchCriteria c = new PolicySearchCriteria();
+        c.setPolicyType(PolicyType.HEALTH);
+        c.setStatus(PolicyStatus.ACTIVE);
+        measure("type+status", c);
+    }
+
+    @Test
+    void typeStatusAndStartRange() {
+        PolicySearchCriteria c = new PolicySearchCriteria();
+        c.setPolicyType(PolicyType.AUTO);
+        c.setStatus(PolicyStatus.ACTIVE);
+        c.setStartFrom(LocalDate.of(2021, 1, 1));
+        c.setStartTo(LocalDate.of(2021, 3, 31));
+        measure("type+status+start range", c);
+    }
+
+    @Test
+    void coverageRange() {
+        PolicySearchCriteria c = new PolicySearchCriteria();
+        c.setMinCoverage(BigDecimal.valueOf(500_000));
+        c.setMaxCoverage(BigDecimal.valueOf(510_000));
+        measure("coverage range", c);
+    }
+
+    @Test
+    void codePrefix() {
+        PolicySearchCriteria c = new PolicySearchCriteria();
+        c.setCodePrefix("POL00012");
+        measure("code prefix", c);
+    }
+
+    @Test
+    void endDateRangeAndStatus() {
+        PolicySearchCriteria c = new PolicySearchCriteria();
+        c.setStatus(PolicyStatus.ACTIVE);
+        c.setEndFrom(LocalDate.of(2024, 6, 1));
+        c.setEndTo(LocalDate.of(2024, 6, 30));
+        measure("status+end range", c);
+    }
+
+    private void measure(String label, PolicySearchCriteria criteria) {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<Policy> first = policyRepository.findAll(PolicySpecifications.matching(criteria), pageable);
+        assertTrue(first.getContent().size() <= 10);
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            policyRepository.findAll(PolicySpecifications.matching(criteria), pageable);
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-26s matches=%,10d  p50=%7.2f ms  p95=%7.2f ms  max=%7.2f ms%n",
+                label, first.getTotalElements(),
+                samples[ITERATIONS / 2] / 1e6, samples[(int) (ITERATIONS * 0.95)] / 1e6,
+                samples[ITERATIONS - 1] / 1e6);
+    }
+}
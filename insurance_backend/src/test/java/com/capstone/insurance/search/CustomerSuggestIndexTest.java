@@ -0,0 +1,153 @@
+package com.capstone.insurance.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.capstone.insurance.dto.customer.CustomerSuggestionDto;
+import com.capstone.insurance.repositories.CustomerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerSuggestIndexTest {
+
+    @Mock CustomerRepository customerRepository;
+
+    CustomerSuggestIndex index;
+
+    final CustomerSuggestionDto john = customer("CUS0001", "John Smith", "john.smith@acme.com", "+91 98765 43210");
+    final CustomerSuggestionDto jane = customer("CUS0002", "Jane Doe", "jdoe@example.org", "1234567890");
+    final CustomerSuggestionDto amit = customer("CUS0010", "Amit Smithers", "amit@acme.com", null);
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerSuggestIndex(customerRepository);
+        when(customerRepository.findSuggestionPage(any(), any())).thenReturn(List.of(john, jane, amit));
+        index.reload();
+    }
+
+    // 1) Matches every word of the name, case-insensitively
+    @Test
+    void suggest_shouldMatchNameWords() {
+        assertEquals(List.of(john.getId(), amit.getId()), ids(index.suggest("SMITH", 10)));
+        assertEquals(List.of(jane.getId()), ids(index.suggest("doe", 10)));
+    }
+
+    // 2) Matches email from the start and from the domain, plus customer code
+    @Test
+    void suggest_shouldMatchEmailDomainAndCode() {
+        assertEquals(2, index.suggest("acme", 10).size());
+        assertEquals(List.of(jane.getId()), ids(index.suggest("jdoe@", 10)));
+        assertEquals(List.of(amit.getId()), ids(index.suggest("cus001", 10)));
+    }
+
+    // 3) Phone queries ignore formatting on both sides
+    @Test
+    void suggest_shouldMatchPhoneDigits() {
+        assertEquals(List.of(john.getId()), ids(index.suggest("+91 987", 10)));
+    }
+
+    // 4) Results are capped at the requested limit
+    @Test
+    void suggest_shouldRespectLimit() {
+        assertEquals(1, index.suggest("cus", 1).size());
+        assertEquals(3, index.suggest("cus", 10).size());
+    }
+
+    // 5) Updates replace the previous entry instead of adding a second one
+    @Test
+    void upsert_shouldReplaceExistingCustomer() {
+        index.upsert(new CustomerSuggestionDto(jane.getId(), "CUS0002", "Jane Roe", "jroe@example.org", null));
+
+        assertTrue(index.suggest("doe", 10).isEmpty());
+        assertEquals(List.of(jane.getId()), ids(index.suggest("roe", 10)));
+        assertEquals(3, index.size());
+    }
+
+    // 6) New customers are searchable immediately and survive compaction
+    @Test
+    void upsert_shouldStaySearchableAcrossCompaction() {
+        List<CustomerSuggestionDto> added = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            CustomerSuggestionDto c = customer(String.format("BLK%05d", i), "Bulk " + i, "bulk" + i + "@corp.io", null);
+            index.upsert(c);
+            added.add(c);
+        }
+
+        assertEquals(60_003, index.size());
+        assertEquals(List.of(added.get(59_999).getId()), ids(index.suggest("blk59999", 10)));
+        assertEquals(List.of(john.getId(), amit.getId()), ids(index.suggest("smith", 10)));
+    }
+
+    // 7) Compaction runs off the writing thread, once, and keeps writes made before it swaps
+    @Test
+    void upsert_shouldCompactInBackground() {
+        List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(index, "deltaThreshold", 10);
+        ReflectionTestUtils.setField(index, "compactionExecutor", (Executor) scheduled::add);
+
+        List<CustomerSuggestionDto> added = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CustomerSuggestionDto c = customer(String.format("BLK%05d", i), "Bulk " + i, "bulk" + i + "@corp.io", null);
+            index.upsert(c);
+            added.add(c);
+        }
+
+        // The writes crossed the threshold but the writer only scheduled the rebuild
+        assertEquals(1, scheduled.size());
+        assertTrue(index.deltaSize() > 10);
+
+        scheduled.get(0).run();
+
+        assertEquals(0, index.deltaSize());
+        assertEquals(23, index.size());
+        assertEquals(List.of(added.get(19).getId()), ids(index.suggest("blk00019", 10)));
+        assertEquals(List.of(john.getId(), amit.getId()), ids(index.suggest("smith", 10)));
+
+        // Once finished, a new compaction can be scheduled
+        for (int i = 0; i < 10; i++) {
+            index.upsert(customer(String.format("NEW%05d", i), "New " + i, "new" + i + "@corp.io", null));
+        }
+        assertEquals(2, scheduled.size());
+    }
+
+    // 8) Reloading replaces what the index held with the table, but keeps writes made during the load
+    @Test
+    void reload_shouldReplaceHeldEntriesAndKeepConcurrentWrites() {
+        // The index missed an update: it still has an entry the table no longer matches
+        index.upsert(new CustomerSuggestionDto(jane.getId(), "CUS0002", "Jane Roe", "jroe@example.org", null));
+        CustomerSuggestionDto renamed =
+                new CustomerSuggestionDto(jane.getId(), "CUS0002", "Jane Kapoor", "jkapoor@example.org", null);
+        CustomerSuggestionDto late = customer("CUS0011", "Late Arrival", "late@acme.com", null);
+        when(customerRepository.findSuggestionPage(any(), any())).thenAnswer(inv -> {
+            index.upsert(late);
+            return List.of(john, renamed, amit);
+        });
+
+        index.reload();
+
+        assertTrue(index.suggest("roe", 10).isEmpty());
+        assertEquals(List.of(jane.getId()), ids(index.suggest("kapoor", 10)));
+        assertEquals(List.of(late.getId()), ids(index.suggest("late", 10)));
+        assertEquals(4, index.size());
+    }
+
+    private static CustomerSuggestionDto customer(String code, String name, String email, String phone) {
+        return new CustomerSuggestionDto(UUID.randomUUID(), code, name, email, phone);
+    }
+
+    private static List<UUID> ids(List<CustomerSuggestionDto> results) {
+        return results.stream().map(CustomerSuggestionDto::getId).toList();
+    }
+}
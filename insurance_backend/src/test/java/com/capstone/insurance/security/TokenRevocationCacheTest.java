@@ -0,0 +1,48 @@
+package com.capstone.insurance.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.capstone.insurance.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCacheTest {
+
+    @Mock UserRepository userRepository;
+
+    @InjectMocks TokenRevocationCache cache;
+
+    // 1) Unknown users are accepted; disabled users and outdated token versions are not
+    @Test
+    void isAccepted_shouldHonourDisabledAndVersion() {
+        when(userRepository.findAccessOverrides()).thenReturn(List.of(
+                new Object[]{1L, false, 1},
+                new Object[]{2L, true, 2}));
+
+        cache.refresh();
+
+        assertTrue(cache.isAccepted(99L, 0));
+        assertFalse(cache.isAccepted(1L, 1));
+        assertFalse(cache.isAccepted(2L, 1));
+        assertTrue(cache.isAccepted(2L, 2));
+    }
+
+    // 2) A reload with older data does not undo a newer local change
+    @Test
+    void refresh_shouldNotOverwriteNewerLocalChange() {
+        cache.apply(5L, false, 4);
+        when(userRepository.findAccessOverrides()).thenReturn(List.<Object[]>of(new Object[]{5L, true, 3}));
+
+        cache.refresh();
+
+        assertFalse(cache.isAccepted(5L, 4));
+    }
+}
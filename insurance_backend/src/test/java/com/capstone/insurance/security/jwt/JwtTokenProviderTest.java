@@ -0,0 +1,78 @@
+package com.capstone.insurance.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.security.model.UserPrincipal;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            Base64.getEncoder().encodeToString("test-secret-test-secret-test-secret-0123".getBytes());
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000L, 100L, new SimpleMeterRegistry());
+
+    private String tokenFor(JwtTokenProvider p, String username) {
+        User user = User.builder().id(7L).username(username).password("x").role(Role.ADMIN).build();
+        UserPrincipal principal = new UserPrincipal(user);
+        return p.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // 1) A valid token yields its claims, and the second lookup is served from the cache
+    @Test
+    void verifyToken_shouldReturnClaimsAndCacheThem() {
+        String token = tokenFor(provider, "admin");
+
+        Claims first = provider.verifyToken(token).orElseThrow();
+        Claims second = provider.verifyToken(token).orElseThrow();
+
+        assertEquals("admin", first.getSubject());
+        assertEquals("ADMIN", first.get("role", String.class));
+        assertSame(first, second);
+    }
+
+    // 2) The principal is rebuilt from claims alone, including customer id and token version
+    @Test
+    void toPrincipal_shouldRestoreUserFromClaims() {
+        UUID customerId = UUID.randomUUID();
+        User user = User.builder().id(9L).username("jane").password("x").role(Role.CUSTOMER).tokenVersion(3).build();
+        UserPrincipal issued = new UserPrincipal(user, customerId);
+        String token = provider.generateToken(
+                new UsernamePasswordAuthenticationToken(issued, null, issued.getAuthorities()));
+
+        UserPrincipal principal = provider.toPrincipal(provider.verifyToken(token).orElseThrow());
+
+        assertEquals(9L, principal.getId());
+        assertEquals("jane", principal.getUsername());
+        assertEquals(Role.CUSTOMER, principal.getRole());
+        assertEquals(customerId, principal.getCustomerId());
+        assertEquals(3, principal.getTokenVersion());
+        assertNull(principal.getPassword());
+    }
+
+    // 3) Tampered, foreign, expired and empty tokens are rejected
+    @Test
+    void verifyToken_shouldRejectInvalidTokens() {
+        String token = tokenFor(provider, "admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String otherKey = Base64.getEncoder().encodeToString("another-secret-another-secret-0123456".getBytes());
+        String foreign = tokenFor(new JwtTokenProvider(otherKey, 60_000L, 100L, new SimpleMeterRegistry()), "admin");
+        String expired = tokenFor(new JwtTokenProvider(SECRET, -1_000L, 100L, new SimpleMeterRegistry()), "admin");
+
+        assertTrue(provider.verifyToken(tampered).isEmpty());
+        assertTrue(provider.verifyToken(foreign).isEmpty());
+        assertTrue(provider.verifyToken(expired).isEmpty());
+        assertTrue(provider.verifyToken("").isEmpty());
+        assertTrue(provider.verifyToken("not-a-jwt").isEmpty());
+    }
+}
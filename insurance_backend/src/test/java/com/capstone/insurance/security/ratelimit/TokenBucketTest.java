@@ -0,0 +1,41 @@
+package com.capstone.insurance.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // 1) A full bucket allows a burst of exactly its capacity
+    @Test
+    void tryConsume_shouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(new TokenBucket.Limit(5, 60), 0);
+
+        for (int i = 4; i >= 0; i--) {
+            TokenBucket.Probe probe = bucket.tryConsume(0);
+            assertTrue(probe.allowed());
+            assertEquals(i, probe.remaining());
+        }
+        TokenBucket.Probe denied = bucket.tryConsume(0);
+        assertFalse(denied.allowed());
+        assertEquals(SECOND, denied.retryNanos());
+    }
+
+    // 2) Tokens come back at the refill rate, never above capacity
+    @Test
+    void tryConsume_shouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(new TokenBucket.Limit(2, 60), 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.tryConsume(SECOND / 2).allowed());
+        assertTrue(bucket.tryConsume(SECOND).allowed());
+
+        // A long idle period refills to capacity only
+        assertEquals(1, bucket.tryConsume(100 * SECOND).remaining());
+    }
+}
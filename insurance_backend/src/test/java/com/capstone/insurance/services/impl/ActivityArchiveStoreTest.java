@@ -0,0 +1,81 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.capstone.insurance.dto.activity.ActivityLogDto;
+import com.capstone.insurance.dto.common.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class ActivityArchiveStoreTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    @TempDir Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Path writeSegment(ActivityArchiveStore store, long firstId, int rows) throws Exception {
+        try (ActivityArchiveStore.SegmentWriter writer = store.openSegment(MONTH)) {
+            for (long id = firstId; id < firstId + rows; id++) {
+                LocalDateTime at = MONTH.atDay(1).atStartOfDay().plusMinutes(id);
+                writer.append(new ActivityLogDto(id, id % 2, "user" + id % 2,
+                        id % 3 == 0 ? "LOGIN" : "CLAIM_SUBMITTED", "row " + id, null, null, null, at, at));
+            }
+            return writer.commit();
+        }
+    }
+
+    // 1) Committed segments stay pending until their rows are marked archived
+    @Test
+    void commit_shouldLeaveSegmentPendingUntilMarked() throws Exception {
+        ActivityArchiveStore store = new ActivityArchiveStore(dir, objectMapper);
+        Path segment = writeSegment(store, 1, 5);
+
+        assertEquals(List.of(segment), store.pendingSegments());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), store.readIds(segment));
+
+        store.markArchived(segment);
+        assertTrue(store.pendingSegments().isEmpty());
+        assertEquals(5, store.listSegments().get(0).getRows());
+    }
+
+    // 2) Scans filter rows and continue across segments with the returned cursor
+    @Test
+    void scan_shouldPageAcrossSegments() throws Exception {
+        ActivityArchiveStore store = new ActivityArchiveStore(dir, objectMapper);
+        writeSegment(store, 1, 4);
+        Thread.sleep(2);
+        writeSegment(store, 101, 4);
+
+        CursorPage<ActivityLogDto> first = store.scan(MONTH, row -> row.getUserId() == 1, null, 3);
+        assertEquals(List.of(1L, 3L, 101L), first.getContent().stream().map(ActivityLogDto::getId).toList());
+        assertNotNull(first.getNextCursor());
+
+        CursorPage<ActivityLogDto> second = store.scan(MONTH, row -> row.getUserId() == 1, first.getNextCursor(), 3);
+        assertEquals(List.of(103L), second.getContent().stream().map(ActivityLogDto::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    // 3) An abandoned writer leaves nothing behind
+    @Test
+    void close_withoutCommit_shouldDeleteTemporaryFile() throws Exception {
+        ActivityArchiveStore store = new ActivityArchiveStore(dir, objectMapper);
+        try (ActivityArchiveStore.SegmentWriter writer = store.openSegment(MONTH)) {
+            writer.append(new ActivityLogDto(1L, 1L, "u", "LOGIN", null, null, null, null, null, null));
+        }
+
+        try (var files = Files.list(dir.resolve(MONTH.toString()))) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+
+class ActivityRetentionPolicyTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    // 1) Types use their own retention, others the default; a month expires only as a whole
+    @Test
+    void isExpired_shouldUsePerTypeRetention() {
+        ActivityRetentionPolicy policy = ActivityRetentionPolicy.parse("default=365, LOGIN=30");
+
+        assertTrue(policy.isExpired("LOGIN", YearMonth.of(2025, 4), TODAY));
+        assertFalse(policy.isExpired("LOGIN", YearMonth.of(2025, 5), TODAY));
+        assertFalse(policy.isExpired("CLAIM_SUBMITTED", YearMonth.of(2025, 4), TODAY));
+        assertTrue(policy.isExpired("CLAIM_SUBMITTED", YearMonth.of(2024, 5), TODAY));
+        assertEquals(YearMonth.of(2025, 4), policy.lastExpirableMonth(TODAY));
+    }
+
+    // 2) Without a default, unlisted types are kept forever
+    @Test
+    void parse_withoutDefault_shouldKeepOtherTypes() {
+        ActivityRetentionPolicy policy = ActivityRetentionPolicy.parse("LOGIN=30");
+
+        assertFalse(policy.isExpired("CLAIM_SUBMITTED", YearMonth.of(2000, 1), TODAY));
+        assertThrows(IllegalArgumentException.class, () -> ActivityRetentionPolicy.parse("LOGIN"));
+    }
+}
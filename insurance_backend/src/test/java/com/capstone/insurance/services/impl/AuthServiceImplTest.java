@@ -0,0 +1,132 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.entities.enums.Role;
+import com.capstone.insurance.exceptions.ServiceUnavailableException;
+import com.capstone.insurance.repositories.UserRepository;
+import com.capstone.insurance.security.CustomUserDetailsService;
+import com.capstone.insurance.security.model.UserPrincipal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthServiceImplTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor upgradeExecutor;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        upgradeExecutor = new ThreadPoolTaskExecutor();
+        upgradeExecutor.setCorePoolSize(1);
+        upgradeExecutor.setMaxPoolSize(1);
+        upgradeExecutor.setQueueCapacity(1);
+        upgradeExecutor.setThreadNamePrefix("pw-upgrade-");
+        upgradeExecutor.initialize();
+        authService = new AuthServiceImpl(userDetailsService, userRepository, encoder, executor, upgradeExecutor,
+                meterRegistry);
+
+        User user = User.builder().id(7L).username("jane").password(encoder.encode("secret"))
+                .role(Role.CUSTOMER).enabled(true).build();
+        when(userDetailsService.loadUserByUsername("jane")).thenReturn(new UserPrincipal(user));
+        when(userDetailsService.loadUserByUsername("nobody")).thenThrow(new UsernameNotFoundException("nobody"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        upgradeExecutor.shutdown();
+    }
+
+    // 1) Correct password returns the principal that was loaded, with a single lookup
+    @Test
+    void authenticate_shouldReturnPrincipal() {
+        UserPrincipal principal = authService.authenticate("jane", "secret");
+
+        assertEquals(7L, principal.getId());
+        verify(userDetailsService, times(1)).loadUserByUsername("jane");
+        assertEquals(1, meterRegistry.get("auth.password.verify").timer().count());
+    }
+
+    // 2) A hash with a lower cost than configured is re-encoded after a successful login
+    @Test
+    void authenticate_shouldUpgradeOutdatedHash() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+        User user = User.builder().id(8L).username("legacy").password(oldHash)
+                .role(Role.CUSTOMER).enabled(true).build();
+        when(userDetailsService.loadUserByUsername("legacy")).thenReturn(new UserPrincipal(user));
+        AtomicReference<String> upgradeThread = new AtomicReference<>();
+        when(userRepository.upgradePasswordHash(eq(8L), anyString(), anyString())).thenAnswer(inv -> {
+            upgradeThread.set(Thread.currentThread().getName());
+            return 1;
+        });
+
+        authService.authenticate("legacy", "secret");
+        authService.authenticate("jane", "secret");
+
+        verify(userRepository, timeout(2000)).upgradePasswordHash(eq(8L), eq(oldHash),
+                argThat(hash -> hash.startsWith("$2a$05$") && encoder.matches("secret", hash)));
+        verify(userRepository, never()).upgradePasswordHash(eq(7L), anyString(), anyString());
+        // The re-encode ran on the upgrade pool, not on the one logins are checked on
+        assertTrue(upgradeThread.get().startsWith("pw-upgrade-"));
+    }
+
+    // 3) Wrong passwords and unknown users fail the same way
+    @Test
+    void authenticate_shouldRejectBadCredentials() {
+        BadCredentialsException wrong = assertThrows(BadCredentialsException.class,
+                () -> authService.authenticate("jane", "nope"));
+        BadCredentialsException unknown = assertThrows(BadCredentialsException.class,
+                () -> authService.authenticate("nobody", "secret"));
+
+        assertEquals(wrong.getMessage(), unknown.getMessage());
+    }
+
+    // 4) A saturated pool fails fast with 503 instead of queueing the login
+    @Test
+    void authenticate_shouldFailFastWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blocker); // occupies the only worker
+        executor.execute(blocker); // fills the queue
+
+        try {
+            ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                    () -> authService.authenticate("jane", "secret"));
+            assertEquals(2, ex.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.get("auth.password.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
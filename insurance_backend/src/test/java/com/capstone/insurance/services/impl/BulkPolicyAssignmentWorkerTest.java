@@ -0,0 +1,160 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.capstone.insurance.config.CacheConfig;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BulkPolicyAssignmentWorkerTest {
+
+    @Mock CustomerRepository customerRepository;
+    @Mock CustomerPolicyRepository customerPolicyRepository;
+    @Mock JdbcTemplate jdbcTemplate;
+    @Mock PlatformTransactionManager transactionManager;
+
+    @Captor ArgumentCaptor<List<Object[]>> rows;
+
+    final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMER_POLICIES);
+    final UUID policyId = UUID.randomUUID();
+
+    BulkPolicyAssignmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new BulkPolicyAssignmentWorker(customerRepository, customerPolicyRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), cacheManager);
+        ReflectionTestUtils.setField(worker, "chunkSize", 2);
+
+        // Every customer exists and none holds the policy unless a test says otherwise
+        lenient().when(customerRepository.findExistingIds(anyCollection()))
+                .thenAnswer(inv -> new ArrayList<>(inv.<Collection<UUID>>getArgument(0)));
+        lenient().when(customerPolicyRepository.findAssignedCustomerIds(eq(policyId), anyCollection()))
+                .thenReturn(List.of());
+        lenient().when(customerPolicyRepository.findExistingPolicyNumbers(anyCollection()))
+                .thenReturn(List.of());
+    }
+
+    // 1) Customers are assigned chunk by chunk, skipping unknown and already assigned ones
+    @Test
+    void run_shouldAssignInChunksAndCountSkippedCustomers() {
+        UUID c1 = UUID.randomUUID(), c2 = UUID.randomUUID(), c3 = UUID.randomUUID(),
+             unknown = UUID.randomUUID(), c5 = UUID.randomUUID();
+        List<UUID> ids = List.of(c1, c2, c3, unknown, c5);
+
+        when(customerRepository.findExistingIds(anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<UUID>>getArgument(0).stream()
+                        .filter(id -> !id.equals(unknown)).toList());
+        when(customerPolicyRepository.findAssignedCustomerIds(eq(policyId), anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<UUID>>getArgument(1).contains(c2) ? List.of(c2) : List.of());
+        when(customerRepository.findUserIdsByIds(anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<UUID>>getArgument(0).contains(c1) ? List.of(101L) : List.of());
+        cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES).put(101L, List.of());
+
+        BulkAssignmentJob job = new BulkAssignmentJob(policyId, ids.size());
+        worker.run(job, ids);
+
+        assertEquals(BatchJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessed().get());
+        assertEquals(3, job.getAssigned().get());
+        assertEquals(1, job.getAlreadyAssigned().get());
+        assertEquals(1, job.getUnknownCustomers().get());
+
+        // Three chunks of at most two customers, one batch insert each
+        verify(customerRepository, times(3)).findExistingIds(anyCollection());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), rows.capture());
+        List<String> inserted = rows.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(row -> (String) row[0])
+                .toList();
+        assertEquals(List.of(c1.toString(), c3.toString(), c5.toString()), inserted);
+        assertNull(cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES).get(101L));
+    }
+
+    // 2) A chunk that hits a constraint violation is retried and counted once
+    @Test
+    void run_shouldRetryChunkAfterConstraintViolation() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("policy_number"))
+                .thenReturn(new int[]{1, 1});
+
+        BulkAssignmentJob job = new BulkAssignmentJob(policyId, ids.size());
+        worker.run(job, ids);
+
+        assertEquals(BatchJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getAssigned().get());
+        assertEquals(2, job.getProcessed().get());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(transactionManager).rollback(any());
+    }
+
+    // 3) The job fails once a chunk has used up its attempts
+    @Test
+    void run_shouldFailAfterThreeConstraintViolations() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("policy_number"));
+
+        BulkAssignmentJob job = new BulkAssignmentJob(policyId, ids.size());
+        worker.run(job, ids);
+
+        assertEquals(BatchJobStatus.FAILED, job.getStatus());
+        assertEquals("policy_number", job.getError());
+        assertEquals(0, job.getProcessed().get());
+        assertEquals(0, job.getAssigned().get());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+    }
+
+    // 4) Policy numbers already in the table are replaced before the insert
+    @Test
+    void run_shouldReplaceTakenPolicyNumbers() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Set<String> taken = new HashSet<>();
+        when(customerPolicyRepository.findExistingPolicyNumbers(anyCollection()))
+                .thenAnswer(inv -> {
+                    if (!taken.isEmpty()) {
+                        return List.of();
+                    }
+                    String first = inv.<Collection<String>>getArgument(0).iterator().next();
+                    taken.add(first);
+                    return List.of(first);
+                });
+
+        BulkAssignmentJob job = new BulkAssignmentJob(policyId, ids.size());
+        worker.run(job, ids);
+
+        assertEquals(BatchJobStatus.COMPLETED, job.getStatus());
+        verify(customerPolicyRepository, times(2)).findExistingPolicyNumbers(anyCollection());
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        List<String> numbers = rows.getValue().stream().map(row -> (String) row[2]).toList();
+        assertEquals(2, new HashSet<>(numbers).size());
+        assertTrue(numbers.stream().allMatch(n -> n.matches("[A-Z0-9]{10}")));
+        assertTrue(numbers.stream().noneMatch(taken::contains));
+    }
+}
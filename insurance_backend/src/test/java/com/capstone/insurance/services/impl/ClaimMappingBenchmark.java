@@ -0,0 +1,66 @@
+package com.capstone.insurance.services.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capstone.insurance.dto.claim.ClaimDto;
+import com.capstone.insurance.entities.Claim;
+import com.capstone.insurance.entities.Customer;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+
+/**
+ * Claim to ClaimDto mapping, run once per row on every claim list page. Lives in this package
+ * because {@code ClaimServiceImpl.toDto} and {@code generateClaimNumber} are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimMappingBenchmark {
+
+    private Claim claim;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 10, 30);
+        claim = Claim.builder()
+                .id(1234L)
+                .customer(Customer.builder().id(UUID.randomUUID()).build())
+                .policy(Policy.builder().id(UUID.randomUUID()).build())
+                .claimDate(LocalDate.of(2025, 5, 20))
+                .claimAmount(new BigDecimal("12500.00"))
+                .status(ClaimStatus.IN_REVIEW)
+                .description("Water damage in the kitchen after a pipe burst")
+                .evidenceUrl("https://files.example.com/evidence/1234.pdf")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public ClaimDto toDto() {
+        return ClaimServiceImpl.toDto(claim, "AB12CD34EF");
+    }
+
+    @Benchmark
+    public String generateClaimNumber() {
+        return ClaimServiceImpl.generateClaimNumber(claim.getId(), claim.getCreatedAt());
+    }
+}
@@ -0,0 +1,80 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CustomerImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CustomerImportReader reader(String content, CustomerImportReader.Format format) {
+        return new CustomerImportReader(new StringReader(content), format, objectMapper);
+    }
+
+    // 1) Columns are matched by header name, quoted fields keep commas and quotes
+    @Test
+    void csv_shouldMapColumnsByHeader() throws Exception {
+        String csv = "\uFEFFEmail,Name,Phone,Address,Notes\n"
+                + "a@x.io,\"Smith, John\",123,\"12 \"\"Main\"\" St\",vip\n"
+                + "\n"
+                + "b@x.io,Jane\n";
+
+        List<CustomerImportReader.Row> rows = reader(csv, CustomerImportReader.Format.CSV).next(10);
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Smith, John", rows.get(0).request().getName());
+        assertEquals("12 \"Main\" St", rows.get(0).request().getAddress());
+        assertEquals("123", rows.get(0).request().getPhone());
+        assertEquals(4, rows.get(1).line());
+        assertNull(rows.get(1).request().getAddress());
+    }
+
+    // 2) Rows come back in chunks until the file is exhausted
+    @Test
+    void next_shouldReturnChunks() throws Exception {
+        CustomerImportReader reader = reader("name,email\na,a@x\nb,b@x\nc,c@x\n", CustomerImportReader.Format.CSV);
+
+        assertEquals(2, reader.next(2).size());
+        assertEquals(1, reader.next(2).size());
+        assertTrue(reader.next(2).isEmpty());
+    }
+
+    // 3) A broken line becomes a row error and reading continues
+    @Test
+    void malformedLines_shouldBecomeRowErrors() throws Exception {
+        List<CustomerImportReader.Row> csv = reader("name,email\n\"open,a@x\nok,ok@x\n",
+                CustomerImportReader.Format.CSV).next(10);
+        assertEquals("Unterminated quoted field", csv.get(0).error());
+        assertEquals("ok@x", csv.get(1).email());
+
+        List<CustomerImportReader.Row> json = reader("{\"name\":\"A\",\"email\":\"a@x\"}\n{oops\n",
+                CustomerImportReader.Format.NDJSON).next(10);
+        assertEquals("A", json.get(0).request().getName());
+        assertTrue(json.get(1).error().startsWith("Invalid JSON"));
+    }
+
+    // 4) CSV without name and email columns is rejected outright
+    @Test
+    void csv_shouldRejectHeaderWithoutRequiredColumns() {
+        CustomerImportReader reader = reader("foo,bar\n1,2\n", CustomerImportReader.Format.CSV);
+
+        assertThrows(IllegalArgumentException.class, () -> reader.next(10));
+    }
+
+    // 5) Format comes from the file extension or content type
+    @Test
+    void detect_shouldUseExtensionOrContentType() {
+        assertEquals(CustomerImportReader.Format.CSV,
+                CustomerImportReader.Format.detect("members.CSV", null).orElseThrow());
+        assertEquals(CustomerImportReader.Format.NDJSON,
+                CustomerImportReader.Format.detect("upload", "application/x-ndjson").orElseThrow());
+        assertTrue(CustomerImportReader.Format.detect("members.xlsx", "application/octet-stream").isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.capstone.insurance.services.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capstone.insurance.dto.dashboard.AdminDashboardStatsDto;
+import com.capstone.insurance.dto.dashboard.CustomerDashboardStatsDto;
+import com.capstone.insurance.entities.Claim;
+import com.capstone.insurance.entities.Customer;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.ClaimStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.repositories.ClaimRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+
+/**
+ * In-memory aggregation behind both dashboards. Repositories are stubbed to return prebuilt
+ * entity lists, so the numbers cover the streams and grouping, not the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardAggregationBenchmark {
+
+    private static final long USER_ID = 7L;
+
+    @Param({"1000", "10000"})
+    public int claims;
+
+    private DashboardServiceImpl dashboardService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        PolicyType[] types = PolicyType.values();
+        ClaimStatus[] statuses = ClaimStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < Math.max(10, claims / 20); i++) {
+            policies.add(Policy.builder()
+                    .id(UUID.randomUUID())
+                    .policyType(types[i % types.length])
+                    .coverageAmount(BigDecimal.valueOf(50_000 + random.nextInt(450_000)))
+                    .build());
+        }
+
+        Customer customer = Customer.builder().id(UUID.randomUUID()).build();
+        List<Claim> allClaims = new ArrayList<>(claims);
+        for (int i = 0; i < claims; i++) {
+            allClaims.add(Claim.builder()
+                    .id((long) i)
+                    .customer(customer)
+                    .policy(policies.get(i % policies.size()))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .claimAmount(BigDecimal.valueOf(1_000 + random.nextInt(99_000), 2))
+                    .createdAt(now.minusHours(random.nextInt(24 * 180)))
+                    .build());
+        }
+
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        PolicyRepository policyRepository = mock(PolicyRepository.class);
+        ClaimRepository claimRepository = mock(ClaimRepository.class);
+        CustomerPolicyRepository customerPolicyRepository = mock(CustomerPolicyRepository.class);
+
+        when(customerRepository.count()).thenReturn(1L);
+        when(customerRepository.findByUserId(USER_ID)).thenReturn(Optional.of(customer));
+        when(policyRepository.count()).thenReturn((long) policies.size());
+        when(policyRepository.findAll()).thenReturn(policies);
+        when(claimRepository.count()).thenReturn((long) claims);
+        when(claimRepository.findAll()).thenReturn(allClaims);
+        when(claimRepository.findByCustomerId(customer.getId())).thenReturn(allClaims);
+        when(customerPolicyRepository.findPolicyDtosByCustomerId(customer.getId())).thenReturn(List.of());
+        // Each month is filtered once and then served from the map, like a warm query cache
+        Map<LocalDateTime, List<Claim>> claimsByMonth = new ConcurrentHashMap<>();
+        when(claimRepository.findByCreatedAtBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime from = invocation.getArgument(0);
+                    LocalDateTime to = invocation.getArgument(1);
+                    return claimsByMonth.computeIfAbsent(from, key -> allClaims.stream()
+                            .filter(c -> !c.getCreatedAt().isBefore(from) && !c.getCreatedAt().isAfter(to))
+                            .toList());
+                });
+
+        dashboardService = new DashboardServiceImpl(
+                customerRepository, policyRepository, claimRepository, customerPolicyRepository);
+    }
+
+    @Benchmark
+    public AdminDashboardStatsDto adminDashboard() {
+        return dashboardService.getAdminDashboardStats();
+    }
+
+    @Benchmark
+    public CustomerDashboardStatsDto customerDashboard() {
+        return dashboardService.getCustomerDashboardStats(USER_ID);
+    }
+}
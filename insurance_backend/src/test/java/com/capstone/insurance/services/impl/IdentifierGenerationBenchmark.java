@@ -0,0 +1,44 @@
+package com.capstone.insurance.services.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Code and number generation used on customer creation, bulk import and policy assignment,
+ * where it runs once per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierGenerationBenchmark {
+
+    public String lastCustomerCode = "CUS0417";
+    public String customerName = "Priya Ramanathan-Iyer";
+
+    @Benchmark
+    public String nextCustomerCode() {
+        return CustomerIdentifiers.customerCode(CustomerIdentifiers.codeNumber(lastCustomerCode) + 1);
+    }
+
+    @Benchmark
+    public String username() {
+        return CustomerIdentifiers.username(customerName);
+    }
+
+    @Benchmark
+    public String policyNumber() {
+        return PolicyNumbers.next();
+    }
+}
@@ -0,0 +1,222 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.capstone.insurance.config.CacheConfig;
+import com.capstone.insurance.dto.batch.BatchRunReport;
+import com.capstone.insurance.entities.BatchCheckpoint;
+import com.capstone.insurance.entities.Customer;
+import com.capstone.insurance.entities.CustomerPolicy;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.BatchJobStatus;
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.repositories.BatchCheckpointRepository;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyLifecycleServiceImplTest {
+
+    @Mock PolicyRepository policyRepository;
+    @Mock CustomerPolicyRepository customerPolicyRepository;
+    @Mock BatchCheckpointRepository checkpointRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    PolicyLifecycleServiceImpl service;
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMER_POLICIES);
+
+    // In-memory stand-in for the single checkpoint row
+    final AtomicReference<BatchCheckpoint> stored = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new PolicyLifecycleServiceImpl(policyRepository, customerPolicyRepository,
+                checkpointRepository, new TransactionTemplate(transactionManager), meterRegistry, cacheManager);
+
+        lenient().when(checkpointRepository.findById(PolicyLifecycleServiceImpl.EXPIRY_JOB))
+                .thenAnswer(inv -> Optional.ofNullable(stored.get()));
+        lenient().when(checkpointRepository.save(any(BatchCheckpoint.class)))
+                .thenAnswer(inv -> {
+                    stored.set(inv.getArgument(0));
+                    return inv.getArgument(0);
+                });
+    }
+
+    // 1) Chunks are processed until the keyset query returns nothing
+    @Test
+    void runExpiryJob_shouldExpireEveryChunkAndComplete() {
+        UUID a = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID b = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        when(policyRepository.findIdsEndedBefore(eq(PolicyStatus.ACTIVE), any(), any(), any()))
+                .thenReturn(List.of(a, b))
+                .thenReturn(List.of());
+        when(policyRepository.updateStatusByIds(anyCollection(), eq(PolicyStatus.ACTIVE),
+                eq(PolicyStatus.EXPIRED), any())).thenReturn(2);
+
+        BatchRunReport report = service.runExpiryJob();
+
+        assertEquals(BatchJobStatus.COMPLETED, report.getStatus());
+        assertEquals(2, report.getProcessed());
+        assertEquals(1, report.getChunks());
+        assertFalse(report.isResumed());
+        assertEquals(b.toString(), stored.get().getLastKey());
+        verify(policyRepository, never()).findAllById(any());
+        assertEquals(2, meterRegistry.get("policy.expiry.expired").counter().count());
+        assertEquals(1, meterRegistry.get("policy.expiry.chunks").counter().count());
+        assertEquals(1, meterRegistry.get("policy.expiry.run").tag("status", "completed").timer().count());
+    }
+
+    // 2) An unfinished run from today resumes after its committed cursor
+    @Test
+    void runExpiryJob_shouldResumeFromCheckpoint() {
+        UUID cursor = UUID.fromString("00000000-0000-0000-0000-0000000000aa");
+        stored.set(BatchCheckpoint.builder()
+                .jobName(PolicyLifecycleServiceImpl.EXPIRY_JOB)
+                .runDate(LocalDate.now())
+                .status(BatchJobStatus.FAILED)
+                .lastKey(cursor.toString())
+                .processedCount(10)
+                .chunkCount(1)
+                .startedAt(LocalDate.now().atStartOfDay())
+                .build());
+
+        when(policyRepository.findIdsEndedBefore(eq(PolicyStatus.ACTIVE), any(), eq(cursor), any()))
+                .thenReturn(List.of());
+
+        BatchRunReport report = service.runExpiryJob();
+
+        assertTrue(report.isResumed());
+        assertEquals(10, report.getProcessed());
+        verify(policyRepository, never()).updateStatusByIds(any(), any(), any(), any());
+    }
+
+    // 3) A completed checkpoint from an earlier day is reset
+    @Test
+    void runExpiryJob_shouldStartFreshAfterCompletedRun() {
+        stored.set(BatchCheckpoint.builder()
+                .jobName(PolicyLifecycleServiceImpl.EXPIRY_JOB)
+                .runDate(LocalDate.now().minusDays(1))
+                .status(BatchJobStatus.COMPLETED)
+                .lastKey(UUID.randomUUID().toString())
+                .processedCount(99)
+                .startedAt(LocalDate.now().minusDays(1).atStartOfDay())
+                .build());
+
+        when(policyRepository.findIdsEndedBefore(eq(PolicyStatus.ACTIVE), any(), eq(new UUID(0L, 0L)), any()))
+                .thenReturn(List.of());
+
+        BatchRunReport report = service.runExpiryJob();
+
+        assertFalse(report.isResumed());
+        assertEquals(0, report.getProcessed());
+        assertEquals(LocalDate.now(), report.getRunDate());
+    }
+
+    // 4) A renewal gets a derived code and a new holder row for every holder of the old term
+    @SuppressWarnings("unchecked")
+    @Test
+    void runExpiryJob_shouldRenewWithHoldersAndDerivedCode() {
+        ReflectionTestUtils.setField(service, "renewalEnabled", true);
+        LocalDate today = LocalDate.now();
+        Policy expiring = Policy.builder()
+                .id(UUID.randomUUID())
+                .policyCode("POL0042")
+                .policyType(PolicyType.HEALTH)
+                .coverageAmount(BigDecimal.TEN)
+                .startDate(today.minusYears(1))
+                .endDate(today.minusDays(1))
+                .build();
+        Customer first = Customer.builder().id(UUID.randomUUID()).build();
+        Customer second = Customer.builder().id(UUID.randomUUID()).build();
+
+        when(policyRepository.findIdsEndedBefore(eq(PolicyStatus.ACTIVE), any(), any(), any()))
+                .thenReturn(List.of(expiring.getId()))
+                .thenReturn(List.of());
+        when(policyRepository.findAllById(List.of(expiring.getId()))).thenReturn(List.of(expiring));
+        when(policyRepository.updateStatusByIds(anyCollection(), any(), any(), any())).thenReturn(1);
+        when(customerPolicyRepository.findWithCustomerByPolicyIds(anyCollection())).thenReturn(List.of(
+                CustomerPolicy.builder().customer(first).policy(expiring).policyNumber("A").build(),
+                CustomerPolicy.builder().customer(second).policy(expiring).policyNumber("B").build()));
+        when(customerPolicyRepository.findExistingPolicyNumbers(anyCollection())).thenReturn(List.of());
+
+        BatchRunReport report = service.runExpiryJob();
+
+        ArgumentCaptor<List<Policy>> policies = ArgumentCaptor.forClass(List.class);
+        verify(policyRepository).saveAll(policies.capture());
+        Policy renewal = policies.getValue().get(0);
+        assertEquals("POL0042-R1", renewal.getPolicyCode());
+        assertEquals(today, renewal.getStartDate());
+
+        ArgumentCaptor<List<CustomerPolicy>> links = ArgumentCaptor.forClass(List.class);
+        verify(customerPolicyRepository).saveAll(links.capture());
+        assertEquals(List.of(first, second), links.getValue().stream().map(CustomerPolicy::getCustomer).toList());
+        assertTrue(links.getValue().stream().allMatch(link -> link.getPolicy() == renewal));
+        assertEquals(2, links.getValue().stream().map(CustomerPolicy::getPolicyNumber).distinct().count());
+        assertEquals(1, report.getRenewed());
+        assertEquals(1, meterRegistry.get("policy.expiry.renewed").counter().count());
+    }
+
+    // 5) Renewal codes count up from the original code
+    @Test
+    void renewalCode_shouldIncrementSuffix() {
+        assertEquals("POL0042-R1", PolicyLifecycleServiceImpl.renewalCode("POL0042"));
+        assertEquals("POL0042-R3", PolicyLifecycleServiceImpl.renewalCode("POL0042-R2"));
+        assertEquals("POL10000-R10", PolicyLifecycleServiceImpl.renewalCode("POL10000-R9"));
+    }
+
+    // 6) A failed run has still evicted the cached policies of holders in committed chunks
+    @Test
+    void runExpiryJob_shouldEvictCommittedChunksWhenLaterChunkFails() {
+        UUID committedPolicy = UUID.randomUUID();
+        UUID failedPolicy = UUID.randomUUID();
+        Long committedHolder = 11L;
+        Long failedHolder = 12L;
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES);
+        cache.put(committedHolder, List.of());
+        cache.put(failedHolder, List.of());
+
+        when(policyRepository.findIdsEndedBefore(eq(PolicyStatus.ACTIVE), any(), any(), any()))
+                .thenReturn(List.of(committedPolicy))
+                .thenReturn(List.of(failedPolicy));
+        when(customerPolicyRepository.findHolderUserIdsByPolicyIds(List.of(committedPolicy)))
+                .thenReturn(List.of(committedHolder));
+        when(customerPolicyRepository.findHolderUserIdsByPolicyIds(List.of(failedPolicy)))
+                .thenReturn(List.of(failedHolder));
+        when(policyRepository.updateStatusByIds(anyCollection(), any(), any(), any()))
+                .thenReturn(1)
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> service.runExpiryJob());
+
+        assertNull(cache.get(committedHolder));
+        assertNotNull(cache.get(failedHolder));
+        assertEquals(BatchJobStatus.FAILED, stored.get().getStatus());
+    }
+}
@@ -0,0 +1,141 @@
+package com.capstone.insurance.services.impl;
+
+import com.capstone.insurance.config.CacheConfig;
+import com.capstone.insurance.dto.policy.AssignPolicyRequest;
+import com.capstone.insurance.dto.policy.CustomerPolicyDto;
+import com.capstone.insurance.dto.policy.PolicyUpdateRequest;
+import com.capstone.insurance.entities.Customer;
+import com.capstone.insurance.entities.Policy;
+import com.capstone.insurance.entities.enums.PolicyStatus;
+import com.capstone.insurance.entities.enums.PolicyType;
+import com.capstone.insurance.querybudget.QueryCounter;
+import com.capstone.insurance.repositories.CustomerPolicyRepository;
+import com.capstone.insurance.repositories.CustomerRepository;
+import com.capstone.insurance.repositories.PolicyRepository;
+import com.capstone.insurance.services.PolicyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The "my policies" cache through the real caching and transaction proxies. The service
+ * commits its own transactions, so the test methods run outside a test transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, PolicyServiceImpl.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:policycache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class PolicyServiceCachingTest {
+
+    @Autowired PolicyService policyService;
+    @Autowired CacheManager cacheManager;
+    @Autowired CustomerRepository customerRepository;
+    @Autowired PolicyRepository policyRepository;
+    @Autowired CustomerPolicyRepository customerPolicyRepository;
+
+    Customer customer;
+    Long userId;
+
+    // The seed-data runner in InsuranceApplication needs an encoder; security is not part of this slice
+    @TestConfiguration
+    static class EncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // The customer created by the seed-data runner, holding one policy
+        customer = customerRepository.findAll().get(0);
+        userId = customer.getUser().getId();
+        policyService.assignPolicyToCustomer(customer.getId(), assign(savePolicy("POL80001")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerPolicyRepository.deleteAllInBatch();
+        policyRepository.deleteAllInBatch();
+        cacheManager.getCache(CacheConfig.CUSTOMER_POLICIES).clear();
+    }
+
+    // 1) A repeated lookup is served from the cache without touching the database
+    @Test
+    void getCustomerPolicies_shouldNotQueryOnSecondCall() {
+        List<CustomerPolicyDto> first = policyService.getCustomerPolicies(userId);
+
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            List<CustomerPolicyDto> second = policyService.getCustomerPolicies(userId);
+
+            assertSame(first, second);
+            assertEquals(0, recording.total(), () -> recording.shapes().toString());
+        }
+    }
+
+    // 2) Assigning another policy evicts the customer's entry
+    @Test
+    void assignPolicyToCustomer_shouldEvictCachedPolicies() {
+        assertEquals(1, policyService.getCustomerPolicies(userId).size());
+
+        policyService.assignPolicyToCustomer(customer.getId(), assign(savePolicy("POL80002")));
+
+        assertEquals(2, policyService.getCustomerPolicies(userId).size());
+    }
+
+    // 3) Changing a policy evicts the lists that show it
+    @Test
+    void updatePolicy_shouldEvictCachedPolicies() {
+        CustomerPolicyDto held = policyService.getCustomerPolicies(userId).get(0);
+        assertEquals(PolicyStatus.ACTIVE, held.getStatus());
+
+        PolicyUpdateRequest request = new PolicyUpdateRequest();
+        request.setPolicyType(held.getPolicyType());
+        request.setCoverageAmount(held.getCoverageAmount());
+        request.setStartDate(held.getStartDate());
+        request.setEndDate(held.getEndDate());
+        request.setStatus(PolicyStatus.EXPIRED);
+        policyService.updatePolicy(held.getPolicyId(), request);
+
+        assertEquals(PolicyStatus.EXPIRED, policyService.getCustomerPolicies(userId).get(0).getStatus());
+    }
+
+    private Policy savePolicy(String code) {
+        return policyRepository.save(Policy.builder()
+                .policyCode(code)
+                .policyType(PolicyType.HEALTH)
+                .coverageAmount(new BigDecimal("100000"))
+                .startDate(LocalDate.now().minusMonths(1))
+                .endDate(LocalDate.now().plusMonths(11))
+                .build());
+    }
+
+    private static AssignPolicyRequest assign(Policy policy) {
+        AssignPolicyRequest request = new AssignPolicyRequest();
+        request.setPolicyId(policy.getId());
+        return request;
+    }
+}
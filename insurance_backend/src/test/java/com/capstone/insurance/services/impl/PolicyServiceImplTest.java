@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 
 import com.capstone.insurance.dto.policy.AssignPolicyRequest;
 import com.capstone.insurance.entities.*;
@@ -23,6 +24,7 @@ class PolicyServiceImplTest {
     @Mock PolicyRepository policyRepository;
     @Mock CustomerRepository customerRepository;
     @Mock CustomerPolicyRepository customerPolicyRepository;
+    @Mock CacheManager cacheManager;
 
     @InjectMocks PolicyServiceImpl policyService;
 
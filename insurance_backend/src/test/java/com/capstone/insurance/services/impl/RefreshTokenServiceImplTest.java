@@ -0,0 +1,113 @@
+package com.capstone.insurance.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.capstone.insurance.dto.auth.IssuedRefreshToken;
+import com.capstone.insurance.entities.RefreshToken;
+import com.capstone.insurance.entities.User;
+import com.capstone.insurance.exceptions.BadRequestException;
+import com.capstone.insurance.repositories.RefreshTokenRepository;
+import com.capstone.insurance.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock RefreshTokenRepository refreshTokenRepository;
+    @Mock UserRepository userRepository;
+    @Mock PlatformTransactionManager transactionManager;
+
+    RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, userRepository,
+                new TransactionTemplate(transactionManager));
+    }
+
+    // 1) Login rewrites the existing row and does not insert when one was updated
+    @Test
+    void createRefreshToken_shouldUpdateInPlace() {
+        when(refreshTokenRepository.replaceForUser(eq(5L), anyString(), any(), any())).thenReturn(1);
+
+        IssuedRefreshToken issued = service.createRefreshToken(5L);
+
+        assertNotNull(issued.getToken());
+        verify(refreshTokenRepository).replaceForUser(eq(5L),
+                eq(RefreshTokenServiceImpl.hash(issued.getToken())), any(), any());
+        verify(refreshTokenRepository, never()).saveAndFlush(any());
+    }
+
+    // 2) Refresh stores the hash of the new token and remembers the old one
+    @Test
+    void rotate_shouldReplaceCurrentToken() {
+        User user = User.builder().id(5L).build();
+        String currentHash = RefreshTokenServiceImpl.hash("current");
+        when(refreshTokenRepository.findByTokenHash(currentHash)).thenReturn(Optional.of(RefreshToken.builder()
+                .user(user).tokenHash(currentHash).expiryDate(Instant.now().plusSeconds(60)).build()));
+        when(refreshTokenRepository.rotate(eq(currentHash), anyString(), any(), any())).thenReturn(1);
+
+        IssuedRefreshToken issued = service.rotate("current");
+
+        assertNotEquals("current", issued.getToken());
+        assertSame(user, issued.getUser());
+        verify(refreshTokenRepository).rotate(eq(currentHash),
+                eq(RefreshTokenServiceImpl.hash(issued.getToken())), any(), any());
+    }
+
+    // 3) Replaying a rotated-out token revokes the user's current token
+    @Test
+    void rotate_shouldRevokeOnReuse() {
+        String oldHash = RefreshTokenServiceImpl.hash("old");
+        RefreshToken current = RefreshToken.builder()
+                .user(User.builder().id(5L).build()).tokenHash("newer").previousTokenHash(oldHash).build();
+        when(refreshTokenRepository.findByTokenHash(oldHash)).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByPreviousTokenHash(oldHash)).thenReturn(Optional.of(current));
+
+        assertThrows(BadRequestException.class, () -> service.rotate("old"));
+        verify(refreshTokenRepository).delete(current);
+    }
+
+    // 4) A first login that loses the insert race retries and updates the winner's row
+    @Test
+    void createRefreshToken_shouldRetryUpdateAfterConcurrentInsert() {
+        when(refreshTokenRepository.replaceForUser(eq(5L), anyString(), any(), any()))
+                .thenReturn(0)
+                .thenReturn(1);
+        when(refreshTokenRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_refresh_tokens_user_id"));
+
+        IssuedRefreshToken issued = service.createRefreshToken(5L);
+
+        verify(refreshTokenRepository, times(2)).replaceForUser(eq(5L),
+                eq(RefreshTokenServiceImpl.hash(issued.getToken())), any(), any());
+        verify(refreshTokenRepository).saveAndFlush(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    // 5) A disabled account is rejected before its token is rotated
+    @Test
+    void rotate_shouldRejectDisabledUserWithoutRotating() {
+        String currentHash = RefreshTokenServiceImpl.hash("current");
+        when(refreshTokenRepository.findByTokenHash(currentHash)).thenReturn(Optional.of(RefreshToken.builder()
+                .user(User.builder().id(5L).enabled(false).build())
+                .tokenHash(currentHash).expiryDate(Instant.now().plusSeconds(60)).build()));
+
+        assertThrows(BadCredentialsException.class, () -> service.rotate("current"));
+        verify(refreshTokenRepository, never()).rotate(any(), any(), any(), any());
+    }
+}
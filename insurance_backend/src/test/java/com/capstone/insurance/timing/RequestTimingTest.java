@@ -0,0 +1,55 @@
+package com.capstone.insurance.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingTest {
+
+    @Test
+    void millisAreRoundedToTwoDecimals() {
+        assertEquals("0.00", millis(4_999));
+        assertEquals("0.05", millis(50_000));
+        assertEquals("12.35", millis(12_345_678));
+        assertEquals("1500.00", millis(TimeUnit.MILLISECONDS.toNanos(1500)));
+    }
+
+    @Test
+    void nestedServiceCallsCountOnceAndMappingExcludesSql() {
+        RequestTiming timing = RequestTiming.start();
+        try {
+            timing.enterService();
+            timing.enterService();
+            RequestTiming.add(RequestTiming.Phase.SQL, TimeUnit.MILLISECONDS.toNanos(2));
+            timing.exitService();
+            timing.exitService();
+        } finally {
+            timing.close();
+        }
+
+        long service = timing.nanos(RequestTiming.Phase.SERVICE);
+        assertTrue(service > 0);
+        assertEquals(Math.max(0, service - TimeUnit.MILLISECONDS.toNanos(2)),
+                timing.nanos(RequestTiming.Phase.MAPPING));
+    }
+
+    @Test
+    void headerListsPhasesThatTookTimeAndTheTotal() {
+        RequestTiming timing = RequestTiming.start();
+        timing.close();
+        RequestTiming.add(RequestTiming.Phase.AUTH, 1_000_000);
+        assertEquals(0, timing.nanos(RequestTiming.Phase.AUTH), "closed timing must not collect");
+
+        String header = timing.header();
+        assertTrue(header.startsWith("total;dur="), header);
+    }
+
+    private static String millis(long nanos) {
+        StringBuilder out = new StringBuilder();
+        RequestTiming.appendMillis(out, nanos);
+        return out.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.capstone.insurance.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimedJacksonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TimedJacksonHttpMessageConverter converter =
+            new TimedJacksonHttpMessageConverter(objectMapper, 1024);
+
+    @Test
+    void smallBodiesAreBufferedWithContentLength() throws IOException {
+        Map<String, String> body = Map.of("status", "ok");
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        RequestTiming timing = RequestTiming.start();
+        try {
+            converter.write(body, MediaType.APPLICATION_JSON, message);
+        } finally {
+            timing.close();
+        }
+
+        String json = objectMapper.writeValueAsString(body);
+        assertEquals(json, message.getBodyAsString());
+        assertEquals(json.length(), message.getHeaders().getContentLength());
+        assertTrue(timing.nanos(RequestTiming.Phase.SERIALIZE) > 0);
+    }
+
+    @Test
+    void largeBodiesAreStreamedOnceTheyOutgrowTheBuffer() throws IOException {
+        List<String> body = IntStream.range(0, 500).mapToObj(i -> "row-" + i).toList();
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        RequestTiming timing = RequestTiming.start();
+        try {
+            converter.write(body, MediaType.APPLICATION_JSON, message);
+        } finally {
+            timing.close();
+        }
+
+        String json = objectMapper.writeValueAsString(body);
+        assertTrue(json.length() > 1024);
+        assertEquals(json, message.getBodyAsString());
+        assertEquals(-1, message.getHeaders().getContentLength());
+        assertTrue(timing.nanos(RequestTiming.Phase.SERIALIZE) > 0);
+    }
+}